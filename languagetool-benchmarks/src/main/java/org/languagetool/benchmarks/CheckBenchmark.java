@@ -0,0 +1,65 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.tools.RuleMatchAsXmlSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checking the complete corpus with all default rules, and creating the XML output
+ * (as used by the server) for the matches.
+ * @since 3.4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CheckBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Matches {
+
+    LanguageState state;
+    List<RuleMatch> matches;
+
+    @Setup
+    public void setup(LanguageState state) throws IOException {
+      this.state = state;
+      matches = state.lt.check(state.text);
+    }
+  }
+
+  @Benchmark
+  public List<RuleMatch> check(LanguageState state) throws IOException {
+    return state.lt.check(state.text);
+  }
+
+  @Benchmark
+  public String ruleMatchesToXml(Matches matches) {
+    LanguageState state = matches.state;
+    return new RuleMatchAsXmlSerializer().ruleMatchesToXml(matches.matches, state.text, 40, state.language);
+  }
+
+}
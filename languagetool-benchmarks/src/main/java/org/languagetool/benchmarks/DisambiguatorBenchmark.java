@@ -0,0 +1,66 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.tagging.disambiguation.Disambiguator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disambiguating all sentences of the corpus. As the disambiguator may modify the
+ * sentences, they are analyzed again before every invocation (not included in the time).
+ * @since 3.4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DisambiguatorBenchmark {
+
+  @State(Scope.Thread)
+  public static class RawSentences {
+
+    Disambiguator disambiguator;
+    List<AnalyzedSentence> sentences;
+
+    @Setup(Level.Invocation)
+    public void setup(LanguageState state) throws IOException {
+      disambiguator = state.language.getDisambiguator();
+      sentences = new ArrayList<>();
+      for (String sentence : state.sentences) {
+        sentences.add(state.lt.getRawAnalyzedSentence(sentence));
+      }
+    }
+  }
+
+  @Benchmark
+  public void disambiguate(RawSentences rawSentences, Blackhole blackhole) throws IOException {
+    for (AnalyzedSentence sentence : rawSentences.sentences) {
+      blackhole.consume(rawSentences.disambiguator.disambiguate(sentence));
+    }
+  }
+
+}
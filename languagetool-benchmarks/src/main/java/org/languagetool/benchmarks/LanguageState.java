@@ -0,0 +1,75 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.Languages;
+import org.languagetool.tools.StringTools;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A language with its {@link JLanguageTool} and the checked-in corpus for that language
+ * ({@code org/languagetool/benchmarks/<language code>.txt}), already split into sentences and words.
+ * The corpora must not be changed, otherwise results can't be compared to earlier results anymore.
+ * @since 3.4
+ */
+@State(Scope.Benchmark)
+public class LanguageState {
+
+  @Param({"en-US", "de-DE", "fr", "pl-PL"})
+  public String languageCode;
+
+  Language language;
+  JLanguageTool lt;
+  String text;
+  List<String> sentences;
+  List<List<String>> tokenizedSentences;
+
+  @Setup
+  public void setup() throws IOException {
+    language = Languages.getLanguageForShortName(languageCode);
+    lt = new JLanguageTool(language);
+    text = getCorpus(language);
+    sentences = lt.sentenceTokenize(text);
+    tokenizedSentences = new ArrayList<>();
+    for (String sentence : sentences) {
+      tokenizedSentences.add(language.getWordTokenizer().tokenize(sentence));
+    }
+  }
+
+  static String getCorpus(Language language) throws IOException {
+    String path = "/org/languagetool/benchmarks/" + language.getShortName() + ".txt";
+    try (InputStream stream = LanguageState.class.getResourceAsStream(path)) {
+      if (stream == null) {
+        throw new IOException("No corpus found for " + language + " at " + path);
+      }
+      return StringTools.streamToString(stream, "utf-8");
+    }
+  }
+
+}
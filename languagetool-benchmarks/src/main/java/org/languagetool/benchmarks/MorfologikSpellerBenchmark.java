@@ -0,0 +1,88 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.Languages;
+import org.languagetool.rules.spelling.morfologik.MorfologikSpeller;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spell checking all words of the corpus with the Morfologik speller, and getting
+ * suggestions for misspelled words, created from the corpus by removing a character
+ * from every fifth word.
+ * @since 3.4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MorfologikSpellerBenchmark {
+
+  @Param({"en-US:/en/hunspell/en_US.dict", "pl-PL:/pl/hunspell/pl_PL.dict"})
+  public String dictionary;
+
+  private MorfologikSpeller speller;
+  private List<String> words;
+  private List<String> misspelledWords;
+
+  @Setup
+  public void setup() throws IOException {
+    String[] parts = dictionary.split(":");
+    Language language = Languages.getLanguageForShortName(parts[0]);
+    speller = new MorfologikSpeller(parts[1], 1);
+    words = new ArrayList<>();
+    misspelledWords = new ArrayList<>();
+    JLanguageTool lt = new JLanguageTool(language);
+    for (String sentence : lt.sentenceTokenize(LanguageState.getCorpus(language))) {
+      for (String token : language.getWordTokenizer().tokenize(sentence)) {
+        if (token.chars().allMatch(Character::isLetter)) {
+          words.add(token);
+          if (words.size() % 5 == 0 && token.length() > 3) {
+            misspelledWords.add(token.substring(0, token.length() / 2) + token.substring(token.length() / 2 + 1));
+          }
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public void isMisspelled(Blackhole blackhole) {
+    for (String word : words) {
+      blackhole.consume(speller.isMisspelled(word));
+    }
+  }
+
+  @Benchmark
+  public void getSuggestions(Blackhole blackhole) {
+    for (String word : misspelledWords) {
+      blackhole.consume(speller.getSuggestions(word));
+    }
+  }
+
+}
@@ -0,0 +1,86 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.rules.CompiledRuleSet;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.patterns.PatternRule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching the active pattern rules against all analyzed sentences of the corpus, once with
+ * all rules and once only with the rules that {@link CompiledRuleSet#getCandidateRules(AnalyzedSentence)}
+ * considers, like {@link org.languagetool.JLanguageTool} does.
+ * @since 3.4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PatternRuleBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class PatternRules {
+
+    List<AnalyzedSentence> sentences;
+    List<Rule> rules;
+    CompiledRuleSet ruleSet;
+
+    @Setup
+    public void setup(LanguageState state) throws IOException {
+      sentences = state.lt.analyzeText(state.text);
+      rules = new ArrayList<>();
+      for (Rule rule : state.lt.getAllActiveRules()) {
+        if (rule instanceof PatternRule) {
+          rules.add(rule);
+        }
+      }
+      ruleSet = new CompiledRuleSet(rules);
+    }
+  }
+
+  @Benchmark
+  public void matchAllRules(PatternRules patternRules, Blackhole blackhole) throws IOException {
+    for (AnalyzedSentence sentence : patternRules.sentences) {
+      for (Rule rule : patternRules.rules) {
+        blackhole.consume(rule.match(sentence));
+      }
+    }
+  }
+
+  @Benchmark
+  public void matchCandidateRules(PatternRules patternRules, Blackhole blackhole) throws IOException {
+    for (AnalyzedSentence sentence : patternRules.sentences) {
+      BitSet candidates = patternRules.ruleSet.getCandidateRules(sentence);
+      for (Rule rule : patternRules.ruleSet.getRules(candidates)) {
+        blackhole.consume(rule.match(sentence));
+      }
+    }
+  }
+
+}
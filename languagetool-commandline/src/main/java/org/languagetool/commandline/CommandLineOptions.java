@@ -67,6 +67,8 @@ public class CommandLineOptions {
   private String falseFriendFile = null;
   @Nullable
   private String bitextRuleFile = null;
+  @Nullable
+  private String profileReportFile = null;
 
   public boolean isPrintUsage() {
     return printUsage;
@@ -341,5 +343,21 @@ public class CommandLineOptions {
     this.bitextRuleFile = bitextRuleFile;
   }
 
-}
+  /**
+   * @return the file to write the CSV report of the rule profiler to, or {@code null}
+   * @since 3.4
+   */
+  @Nullable
+  public String getProfileReportFile() {
+    return profileReportFile;
+  }
 
+  /**
+   * @param profileReportFile the file to write the CSV report of the rule profiler to
+   * @since 3.4
+   */
+  public void setProfileReportFile(String profileReportFile) {
+    this.profileReportFile = profileReportFile;
+  }
+
+}
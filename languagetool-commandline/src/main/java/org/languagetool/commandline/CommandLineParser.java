@@ -48,6 +48,9 @@ public class CommandLineParser {
         options.setVerbose(true);
       } else if (args[i].equals("--line-by-line")) {
         options.setLineByLine(true);
+        if (options.getProfileReportFile() != null) {
+          throw new IllegalArgumentException("A profile report cannot be written in line by line mode");
+        }
       } else if (args[i].equals("-t") || args[i].equals("--taggeronly")) {
         options.setTaggerOnly(true);
         if (options.isListUnknown()) {
@@ -125,8 +128,15 @@ public class CommandLineParser {
         if (options.isApiFormat()) {
           throw new IllegalArgumentException("API format makes no sense for automatic application of suggestions");
         }
-      } else if (args[i].equals("-p") || args[i].equals("--profile")) {
+      } else if (args[i].equals("-p") || args[i].equals("--profile") || args[i].equals("--profile-report")) {
         options.setProfile(true);
+        if (args[i].equals("--profile-report")) {
+          checkArguments("--profile-report", i, args);
+          options.setProfileReportFile(args[++i]);
+          if (options.isLineByLine()) {
+            throw new IllegalArgumentException("A profile report cannot be written in line by line mode");
+          }
+        }
         if (options.isApiFormat()) {
           throw new IllegalArgumentException("API format makes no sense for profiling");
         }
@@ -178,7 +188,8 @@ public class CommandLineParser {
             + "  -b2, --bitext            check bilingual texts with a tab-separated input file,\n"
             + "                           see http://languagetool.wikidot.com/checking-translations-bilingual-texts\n"
             + "  --api                    print results as XML\n"
-            + "  -p, --profile            print performance measurements\n"
+            + "  -p, --profile            print performance measurements of the rules\n"
+            + "  --profile-report FILE    like --profile, but also write the measurements of all rules to FILE as CSV\n"
             + "  -v, --verbose            print text analysis (sentences, part-of-speech tags) to STDERR\n"
             + "  --version                print LanguageTool version number and exit\n"
             + "  -a, --apply              automatically apply suggestions if available, printing result to STDOUT\n"
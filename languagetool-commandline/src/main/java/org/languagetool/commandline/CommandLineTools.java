@@ -254,6 +254,7 @@ public final class CommandLineTools {
   /**
    * Simple rule profiler - used to run LT on a corpus to see which
    * rule takes most time. Prints results to System.out.
+   * For larger texts, use {@link RuleProfiler}, which analyzes the text only once.
    *
    * @param contents text to check
    * @param lt instance of LanguageTool
@@ -18,6 +18,7 @@
  */
 package org.languagetool.commandline;
 
+import org.languagetool.AnalyzedSentence;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 import org.languagetool.Languages;
@@ -48,6 +49,8 @@ import static org.languagetool.tools.StringTools.*;
  */
 class Main {
 
+  private static final int SLOWEST_RULES = 20;
+
   private final CommandLineOptions options;
   
   private MultiThreadedJLanguageTool lt;
@@ -56,6 +59,8 @@ class Main {
   private MultiThreadedJLanguageTool srcLt;
   private List<BitextRule> bRules;
   private Rule currentRule;
+  // the profiling results of all files, added up:
+  private List<RuleProfiler.RuleResult> profilingResults;
 
   Main(CommandLineOptions options) throws IOException {
     this.options = options;
@@ -176,7 +181,7 @@ class Main {
       if (options.isApplySuggestions()) {
         System.out.print(Tools.correctText(text, lt));
       } else if (profileRules) {
-        CommandLineTools.profileRulesOnText(text, lt);
+        profileRules(text);
       } else if (!options.isTaggerOnly()) {
         CommandLineTools.checkText(text, lt, options.isApiFormat(), 0, options.isListUnknown());
       } else {
@@ -188,6 +193,32 @@ class Main {
     }
   }
 
+  private void profileRules(String text) throws IOException {
+    long startTime = System.currentTimeMillis();
+    List<AnalyzedSentence> sentences = lt.analyzeText(text);
+    long analysisTime = System.currentTimeMillis() - startTime;
+    System.out.printf("Analyzed %d sentences in %dms%n", sentences.size(), analysisTime);
+    startTime = System.currentTimeMillis();
+    RuleProfiler profiler = new RuleProfiler(lt, Runtime.getRuntime().availableProcessors());
+    List<RuleProfiler.RuleResult> results = profiler.profile(sentences);
+    System.out.printf("Applied the rules in %dms%n", System.currentTimeMillis() - startTime);
+    profilingResults = profilingResults == null ? results : RuleProfiler.addUp(profilingResults, results);
+  }
+
+  // called once after all files have been profiled, so with -r there's one report for all files:
+  private void printProfilingResults() throws IOException {
+    if (profilingResults == null) {
+      return;
+    }
+    RuleProfiler.printSlowestRules(profilingResults, SLOWEST_RULES, System.out);
+    if (options.getProfileReportFile() != null) {
+      try (PrintWriter writer = new PrintWriter(options.getProfileReportFile(), "utf-8")) {
+        RuleProfiler.writeCsv(profilingResults, writer);
+      }
+      System.out.println("Measurements of all rules written to " + options.getProfileReportFile());
+    }
+  }
+
   private void runOnFileLineByLine(String filename, String encoding) throws IOException {
     System.err.println("Warning: running in line by line mode. Cross-paragraph checks will not work.\n");
     if (options.isVerbose()) {
@@ -455,6 +486,7 @@ class Main {
         prg.runOnFile(options.getFilename(), options.getEncoding(), options.isXmlFiltering());
       }
     }
+    prg.printProfilingResults();
     prg.cleanUp();
   }
 
@@ -0,0 +1,371 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.commandline;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.JLanguageTool;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.TextLevelRule;
+import org.languagetool.rules.patterns.AbstractPatternRule;
+import org.languagetool.rules.patterns.PatternRule;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rule profiler that runs LT on a corpus to see which rules take most time.
+ * Unlike {@link CommandLineTools#profileRulesOnText(String, JLanguageTool)}, the text is
+ * analyzed only once, then all active rules, including the text-level rules, are applied to
+ * the analyzed sentences using several threads. Pattern rules are skipped for sentences they
+ * cannot match, just like when checking a text. Like in {@link org.languagetool.MultiThreadedJLanguageTool},
+ * only pattern rules are applied to different sentences by different threads at the same time,
+ * all other rules (e.g. spelling rules) are only used by one thread at a time.
+ *
+ * <p>For each rule, the time spent in the rule (in nanoseconds), the number of sentences
+ * it has been applied to and skipped for, the number of matches, and an estimate of the memory
+ * allocated by the rule are collected. The allocation estimate is only available on JVMs that support
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}, it's {@code -1} otherwise.</p>
+ *
+ * @since 3.4
+ */
+public class RuleProfiler {
+
+  private static final int SENTENCES_PER_TASK = 500;
+
+  private final JLanguageTool lt;
+  private final int threadCount;
+
+  /**
+   * @param lt the LanguageTool instance whose active rules are profiled
+   * @param threadCount the number of threads used to apply the rules
+   */
+  public RuleProfiler(JLanguageTool lt, int threadCount) {
+    if (threadCount < 1) {
+      throw new IllegalArgumentException("threadCount must be >= 1: " + threadCount);
+    }
+    this.lt = lt;
+    this.threadCount = threadCount;
+  }
+
+  /**
+   * Analyze the text and apply all active rules to it.
+   * @return the results of all active rules, the rules that took most time first
+   */
+  public List<RuleResult> profile(String text) throws IOException {
+    List<AnalyzedSentence> sentences = lt.analyzeText(text);
+    return profile(sentences);
+  }
+
+  /**
+   * Apply all active rules to the already analyzed sentences.
+   * @return the results of all active rules, the rules that took most time first
+   */
+  public List<RuleResult> profile(List<AnalyzedSentence> sentences) throws IOException {
+    List<Rule> rules = lt.getAllActiveRules();
+    List<Rule> patternRules = new ArrayList<>();
+    List<RuleCounters> patternRuleCounters = new ArrayList<>();
+    Map<String, RuleCounters> allCounters = new LinkedHashMap<>();
+    List<Future<?>> futures = new ArrayList<>();
+    AllocationCounter allocationCounter = new AllocationCounter();
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      for (Rule rule : rules) {
+        // pattern rules in a rule group share their id, so their numbers are added up:
+        RuleCounters counters = allCounters.computeIfAbsent(rule.getId(), k -> new RuleCounters(rule));
+        if (rule instanceof TextLevelRule) {
+          futures.add(executor.submit(() -> {
+            matchTextLevelRule((TextLevelRule) rule, sentences, counters, allocationCounter);
+            return null;
+          }));
+        } else if (rule instanceof AbstractPatternRule) {
+          patternRules.add(rule);
+          patternRuleCounters.add(counters);
+        } else {
+          // not necessarily thread-safe (e.g. spelling rules), so only one thread uses the rule:
+          futures.add(executor.submit(() -> {
+            matchSentences(Collections.singletonList(rule), sentences, Collections.singletonList(counters), allocationCounter);
+            return null;
+          }));
+        }
+      }
+      // pattern rules can be used by several threads at the same time, so they're applied to chunks of sentences:
+      for (int i = 0; i < sentences.size(); i += SENTENCES_PER_TASK) {
+        List<AnalyzedSentence> subList = sentences.subList(i, Math.min(sentences.size(), i + SENTENCES_PER_TASK));
+        futures.add(executor.submit(() -> {
+          matchSentences(patternRules, subList, patternRuleCounters, allocationCounter);
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+    List<RuleResult> result = new ArrayList<>();
+    for (RuleCounters counters : allCounters.values()) {
+      result.add(counters.toResult(allocationCounter.isSupported()));
+    }
+    result.sort((r1, r2) -> Long.compare(r2.getNanos(), r1.getNanos()));
+    return result;
+  }
+
+  private void matchTextLevelRule(TextLevelRule rule, List<AnalyzedSentence> sentences,
+                                  RuleCounters counters, AllocationCounter allocationCounter) throws IOException {
+    long allocatedBefore = allocationCounter.getAllocatedBytes();
+    long startTime = System.nanoTime();
+    RuleMatch[] matches = rule.match(sentences);
+    counters.nanos.add(System.nanoTime() - startTime);
+    counters.bytes.add(allocationCounter.getAllocatedBytes() - allocatedBefore);
+    counters.invocations.increment();
+    counters.matches.add(matches.length);
+  }
+
+  private void matchSentences(List<Rule> rules, List<AnalyzedSentence> sentences,
+                              List<RuleCounters> ruleCounters, AllocationCounter allocationCounter) throws IOException {
+    // add up locally, so the threads don't compete for the shared counters after each sentence:
+    long[] nanos = new long[rules.size()];
+    long[] bytes = new long[rules.size()];
+    int[] invocations = new int[rules.size()];
+    int[] skips = new int[rules.size()];
+    int[] matches = new int[rules.size()];
+    for (AnalyzedSentence sentence : sentences) {
+      for (int i = 0; i < rules.size(); i++) {
+        Rule rule = rules.get(i);
+        if (rule instanceof PatternRule && ((PatternRule) rule).canBeIgnoredFor(sentence)) {
+          skips[i]++;
+          continue;
+        }
+        long allocatedBefore = allocationCounter.getAllocatedBytes();
+        long startTime = System.nanoTime();
+        RuleMatch[] ruleMatches = rule.match(sentence);
+        nanos[i] += System.nanoTime() - startTime;
+        bytes[i] += allocationCounter.getAllocatedBytes() - allocatedBefore;
+        invocations[i]++;
+        matches[i] += ruleMatches.length;
+      }
+    }
+    for (int i = 0; i < rules.size(); i++) {
+      RuleCounters counters = ruleCounters.get(i);
+      counters.nanos.add(nanos[i]);
+      counters.bytes.add(bytes[i]);
+      counters.invocations.add(invocations[i]);
+      counters.skips.add(skips[i]);
+      counters.matches.add(matches[i]);
+    }
+  }
+
+  /**
+   * Add up the results of several calls to {@link #profile(List)}, e.g. for several files.
+   * @return the results of all rules, the rules that took most time first
+   */
+  public static List<RuleResult> addUp(List<RuleResult> results1, List<RuleResult> results2) {
+    Map<String, RuleResult> resultsById = new LinkedHashMap<>();
+    for (RuleResult result : results1) {
+      resultsById.put(result.getRuleId(), result);
+    }
+    for (RuleResult result : results2) {
+      resultsById.merge(result.getRuleId(), result, RuleResult::add);
+    }
+    List<RuleResult> result = new ArrayList<>(resultsById.values());
+    result.sort((r1, r2) -> Long.compare(r2.getNanos(), r1.getNanos()));
+    return result;
+  }
+
+  /**
+   * Write the results as CSV with a header line, one rule per line.
+   */
+  public static void writeCsv(List<RuleResult> results, PrintWriter writer) {
+    writer.println("rule_id,text_level,nanos,invocations,skips,matches,allocated_bytes");
+    for (RuleResult result : results) {
+      writer.printf(Locale.ENGLISH, "%s,%b,%d,%d,%d,%d,%d%n", escapeCsv(result.getRuleId()), result.isTextLevelRule(),
+              result.getNanos(), result.getInvocations(), result.getSkips(), result.getMatches(), result.getAllocatedBytes());
+    }
+    writer.flush();
+  }
+
+  private static String escapeCsv(String s) {
+    if (s.contains(",") || s.contains("\"")) {
+      return "\"" + s.replace("\"", "\"\"") + "\"";
+    }
+    return s;
+  }
+
+  /**
+   * Print the {@code maxRules} rules that took most time, in a human-readable format.
+   * @param results the results as returned by {@link #profile(String)} or {@link #addUp(List, List)}
+   */
+  public static void printSlowestRules(List<RuleResult> results, int maxRules, PrintStream out) {
+    long totalNanos = 0;
+    for (RuleResult result : results) {
+      totalNanos += result.getNanos();
+    }
+    out.printf(Locale.ENGLISH, "Rules: %d, time spent in rules: %dms (added up over all threads)%n",
+            results.size(), TimeUnit.NANOSECONDS.toMillis(totalNanos));
+    out.println("Rule ID\tTime (ms)\tTime (%)\tSentences\tSkipped\tMatches\tAllocated (KB)");
+    for (RuleResult result : results.subList(0, Math.min(maxRules, results.size()))) {
+      float percentage = totalNanos > 0 ? result.getNanos() * 100.0f / totalNanos : 0;
+      long allocatedKB = result.getAllocatedBytes() >= 0 ? result.getAllocatedBytes() / 1024 : -1;
+      out.printf(Locale.ENGLISH, "%s\t%d\t%.1f\t%d\t%d\t%d\t%d%n", result.getRuleId(),
+              TimeUnit.NANOSECONDS.toMillis(result.getNanos()), percentage,
+              result.getInvocations(), result.getSkips(), result.getMatches(), allocatedKB);
+    }
+  }
+
+  /**
+   * The profiling result of one rule id. Pattern rules in a rule group share their id,
+   * so their numbers are added up.
+   */
+  public static final class RuleResult {
+
+    private final String ruleId;
+    private final boolean textLevelRule;
+    private final long nanos;
+    private final long invocations;
+    private final long skips;
+    private final long matches;
+    private final long allocatedBytes;
+
+    RuleResult(String ruleId, boolean textLevelRule, long nanos, long invocations, long skips, long matches, long allocatedBytes) {
+      this.ruleId = ruleId;
+      this.textLevelRule = textLevelRule;
+      this.nanos = nanos;
+      this.invocations = invocations;
+      this.skips = skips;
+      this.matches = matches;
+      this.allocatedBytes = allocatedBytes;
+    }
+
+    public String getRuleId() {
+      return ruleId;
+    }
+
+    public boolean isTextLevelRule() {
+      return textLevelRule;
+    }
+
+    /** The time spent in the rule's match method, in nanoseconds. */
+    public long getNanos() {
+      return nanos;
+    }
+
+    /** How often the rule has been applied to a sentence (once for text-level rules). */
+    public long getInvocations() {
+      return invocations;
+    }
+
+    /** How often the rule has not been applied to a sentence because it could not match it. */
+    public long getSkips() {
+      return skips;
+    }
+
+    /** The number of matches the rule has found. */
+    public long getMatches() {
+      return matches;
+    }
+
+    /** An estimate of the memory allocated by the rule in bytes, or {@code -1} if the JVM cannot measure it. */
+    public long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+
+    private RuleResult add(RuleResult other) {
+      long bytes = allocatedBytes >= 0 && other.allocatedBytes >= 0 ? allocatedBytes + other.allocatedBytes : -1;
+      return new RuleResult(ruleId, textLevelRule, nanos + other.nanos, invocations + other.invocations,
+              skips + other.skips, matches + other.matches, bytes);
+    }
+
+    @Override
+    public String toString() {
+      return ruleId + ": " + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms, " + invocations + " invocations, "
+              + skips + " skips, " + matches + " matches";
+    }
+  }
+
+  private static class RuleCounters {
+    final Rule rule;
+    final LongAdder nanos = new LongAdder();
+    final LongAdder bytes = new LongAdder();
+    final LongAdder invocations = new LongAdder();
+    final LongAdder skips = new LongAdder();
+    final LongAdder matches = new LongAdder();
+    RuleCounters(Rule rule) {
+      this.rule = rule;
+    }
+    RuleResult toResult(boolean allocationSupported) {
+      return new RuleResult(rule.getId(), rule instanceof TextLevelRule, nanos.sum(), invocations.sum(),
+              skips.sum(), matches.sum(), allocationSupported ? bytes.sum() : -1);
+    }
+  }
+
+  /**
+   * Measures the memory allocated by the current thread, if supported by the JVM.
+   */
+  private static class AllocationCounter {
+
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    AllocationCounter() {
+      java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      com.sun.management.ThreadMXBean sunBean = null;
+      if (bean instanceof com.sun.management.ThreadMXBean) {
+        sunBean = (com.sun.management.ThreadMXBean) bean;
+        if (sunBean.isThreadAllocatedMemorySupported() && !sunBean.isThreadAllocatedMemoryEnabled()) {
+          sunBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        if (!sunBean.isThreadAllocatedMemorySupported() || !sunBean.isThreadAllocatedMemoryEnabled()) {
+          sunBean = null;
+        }
+      }
+      threadBean = sunBean;
+    }
+
+    boolean isSupported() {
+      return threadBean != null;
+    }
+
+    long getAllocatedBytes() {
+      return threadBean != null ? threadBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+  }
+
+}
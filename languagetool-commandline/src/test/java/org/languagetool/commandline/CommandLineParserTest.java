@@ -43,6 +43,14 @@ public class CommandLineParserTest {
       parser.parseOptions(new String[]{"--apply", "--taggeronly"});
       fail();
     } catch (IllegalArgumentException ignored) {}
+    try {
+      parser.parseOptions(new String[]{"--profile-report", "report.csv", "--line-by-line", "filename.txt"});
+      fail();
+    } catch (IllegalArgumentException ignored) {}
+    try {
+      parser.parseOptions(new String[]{"--line-by-line", "--profile-report", "report.csv", "filename.txt"});
+      fail();
+    } catch (IllegalArgumentException ignored) {}
   }
 
   @Test
@@ -33,6 +33,8 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
@@ -180,6 +182,23 @@ public class MainTest extends AbstractSecurityTestCase {
     assertTrue(stdout.contains("1.) Line 1, column 9, Rule ID: EN_A_VS_AN"));
   }
 
+  @Test
+  public void testProfileReport() throws Exception {
+    File report = File.createTempFile(MainTest.class.getSimpleName(), ".csv");
+    report.deleteOnExit();
+    String[] args = {"-l", "en", "--profile-report", report.getAbsolutePath(), getTestFilePath()};
+
+    Main.main(args);
+    String stdout = new String(this.out.toByteArray());
+    assertTrue(stdout.contains("Analyzed 3 sentences"));
+    assertTrue(stdout.contains("Rule ID\tTime (ms)"));
+    String csv = StringUtils.join(Files.readAllLines(report.toPath(), StandardCharsets.UTF_8), "\n");
+    assertTrue(csv.startsWith("rule_id,text_level,nanos,"));
+    assertTrue(csv.contains("\nEN_A_VS_AN,false,"));
+    assertTrue(csv.contains("\nENGLISH_WORD_REPEAT_RULE,false,"));
+    assertTrue(csv.contains("\nEN_UNPAIRED_BRACKETS,true,"));
+  }
+
   @Test
   public void testEnglishFileAutoDetect() throws Exception {
     String[] args = {"-adl", getTestFilePath()};
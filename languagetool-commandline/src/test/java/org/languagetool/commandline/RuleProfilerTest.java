@@ -0,0 +1,146 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.commandline;
+
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Languages;
+import org.languagetool.TestTools;
+import org.languagetool.rules.GenericUnpairedBracketsRule;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.spelling.SpellingCheckRule;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RuleProfilerTest {
+
+  @Test
+  public void testProfile() throws IOException {
+    JLanguageTool lt = new JLanguageTool(TestTools.getDemoLanguage());
+    lt.addRule(new GenericUnpairedBracketsRule(TestTools.getEnglishMessages()));
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      if (i > 0) {
+        sb.append("\n\n");
+      }
+      sb.append("A foo bar here.\n\nThis is (a test.");
+    }
+    List<RuleProfiler.RuleResult> results = new RuleProfiler(lt, 4).profile(sb.toString());
+    Set<String> ruleIds = new HashSet<>();
+    for (Rule rule : lt.getAllActiveRules()) {
+      ruleIds.add(rule.getId());
+    }
+    assertThat(results.size(), is(ruleIds.size()));  // rules in a rule group are added up
+    for (int i = 1; i < results.size(); i++) {
+      assertTrue(results.get(i - 1).getNanos() >= results.get(i).getNanos());
+    }
+
+    RuleProfiler.RuleResult demoRule = getResult(results, "DEMO_RULE");
+    assertThat(demoRule.isTextLevelRule(), is(false));
+    // "foo" is only in every second sentence, so the rule is not applied to the other ones:
+    assertThat(demoRule.getInvocations(), is(1000L));
+    assertThat(demoRule.getSkips(), is(1000L));
+    assertThat(demoRule.getMatches(), is(1000L));
+    assertTrue(demoRule.getNanos() > 0);
+
+    RuleProfiler.RuleResult bracketsRule = getResult(results, "UNPAIRED_BRACKETS");
+    assertThat(bracketsRule.isTextLevelRule(), is(true));
+    assertThat(bracketsRule.getInvocations(), is(1L));
+    assertTrue(bracketsRule.getMatches() >= 1000);
+
+    StringWriter csv = new StringWriter();
+    RuleProfiler.writeCsv(results, new PrintWriter(csv));
+    String[] lines = csv.toString().split("\r?\n");
+    assertThat(lines.length, is(results.size() + 1));
+    assertThat(lines[0], is("rule_id,text_level,nanos,invocations,skips,matches,allocated_bytes"));
+    assertThat(csv.toString(), containsString("\nDEMO_RULE,false," + demoRule.getNanos() + ",1000,1000,1000,"));
+  }
+
+  @Test
+  public void testProfileSpellingRule() throws IOException {
+    JLanguageTool lt = new JLanguageTool(Languages.getLanguageForShortName("en-US"));
+    String spellingRuleId = null;
+    for (Rule rule : lt.getAllActiveRules()) {
+      if (rule instanceof SpellingCheckRule) {
+        spellingRuleId = rule.getId();
+      } else {
+        lt.disableRule(rule.getId());
+      }
+    }
+    assertNotNull(spellingRuleId);
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      sb.append("This is a tset. ");
+    }
+    // the speller is not thread-safe, so the rule must not be applied by several threads at the same time:
+    List<RuleProfiler.RuleResult> results = new RuleProfiler(lt, 4).profile(sb.toString());
+    assertThat(results.size(), is(1));
+    RuleProfiler.RuleResult spellingRule = getResult(results, spellingRuleId);
+    assertThat(spellingRule.isTextLevelRule(), is(false));
+    assertThat(spellingRule.getInvocations(), is(2000L));
+    assertThat(spellingRule.getSkips(), is(0L));
+    assertThat(spellingRule.getMatches(), is(2000L));
+  }
+
+  @Test
+  public void testAddUp() {
+    List<RuleProfiler.RuleResult> results1 = Arrays.asList(
+            new RuleProfiler.RuleResult("RULE_A", false, 100, 10, 1, 2, 1000),
+            new RuleProfiler.RuleResult("RULE_B", true, 50, 1, 0, 3, 500));
+    List<RuleProfiler.RuleResult> results2 = Arrays.asList(
+            new RuleProfiler.RuleResult("RULE_B", true, 200, 1, 0, 1, -1),
+            new RuleProfiler.RuleResult("RULE_C", false, 10, 5, 5, 0, 100));
+    List<RuleProfiler.RuleResult> results = RuleProfiler.addUp(results1, results2);
+    assertThat(results.size(), is(3));
+    RuleProfiler.RuleResult ruleB = results.get(0);
+    assertThat(ruleB.getRuleId(), is("RULE_B"));
+    assertThat(ruleB.getNanos(), is(250L));
+    assertThat(ruleB.getInvocations(), is(2L));
+    assertThat(ruleB.getMatches(), is(4L));
+    assertThat(ruleB.getAllocatedBytes(), is(-1L));
+    assertThat(results.get(1).getRuleId(), is("RULE_A"));
+    assertThat(results.get(1).getNanos(), is(100L));
+    assertThat(results.get(2).getRuleId(), is("RULE_C"));
+    assertThat(results.get(2).getSkips(), is(5L));
+  }
+
+  private RuleProfiler.RuleResult getResult(List<RuleProfiler.RuleResult> results, String ruleId) {
+    for (RuleProfiler.RuleResult result : results) {
+      if (result.getRuleId().equals(ruleId)) {
+        return result;
+      }
+    }
+    fail("No result for " + ruleId);
+    return null;
+  }
+
+}
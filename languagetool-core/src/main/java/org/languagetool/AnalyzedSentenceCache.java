@@ -0,0 +1,153 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A cache for the analysis of sentences, so that sentences that occur often
+ * (boilerplate text, signatures, texts that are checked again after an edit)
+ * don't need to be tokenized, tagged, and disambiguated again. Use it with
+ * {@link JLanguageTool#setCache(AnalyzedSentenceCache)}.
+ *
+ * <p>The cached analysis is never given out: every call returns a copy of it, so the
+ * caller may modify the result (e.g. by adding readings) without affecting other users
+ * of the cache.</p>
+ *
+ * <p><b>Thread-safety:</b> this class is thread-safe, so one cache can be used by
+ * all {@link JLanguageTool} instances, also for different languages.</p>
+ *
+ * @since 3.4
+ */
+public class AnalyzedSentenceCache {
+
+  private final Cache<CacheKey, AnalyzedSentence> cache;
+
+  /**
+   * @param maxSize the maximum number of sentences in the cache, the sentences that have not
+   *                been used recently are removed first
+   */
+  public AnalyzedSentenceCache(long maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be >= 1: " + maxSize);
+    }
+    cache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+  }
+
+  /**
+   * Get the analysis of {@code sentence} from the cache, using {@code analyzer} to create it
+   * if it's not in the cache yet.
+   * @return a copy of the cached analysis
+   */
+  AnalyzedSentence get(Language language, String sentence, Callable<AnalyzedSentence> analyzer) throws IOException {
+    try {
+      return copy(cache.get(new CacheKey(language, sentence), analyzer));
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    } catch (UncheckedExecutionException e) {
+      throw (RuntimeException) e.getCause();
+    }
+  }
+
+  /**
+   * Remove all sentences from the cache.
+   */
+  public void clear() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * The approximate number of sentences in the cache.
+   */
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * How often the analysis of a sentence was found in the cache, i.e. did not need to be created.
+   */
+  public long getHitCount() {
+    return getStats().hitCount();
+  }
+
+  /**
+   * How often the analysis of a sentence was not found in the cache and needed to be created.
+   */
+  public long getMissCount() {
+    return getStats().missCount();
+  }
+
+  /**
+   * The ratio of hits to all requests, or {@code 1.0} if there hasn't been a request yet.
+   */
+  public double getHitRate() {
+    return getStats().hitRate();
+  }
+
+  private CacheStats getStats() {
+    return cache.stats();
+  }
+
+  private static AnalyzedSentence copy(AnalyzedSentence sentence) {
+    AnalyzedTokenReadings[] tokens = sentence.getTokens();
+    AnalyzedTokenReadings[] copiedTokens = new AnalyzedTokenReadings[tokens.length];
+    for (int i = 0; i < tokens.length; i++) {
+      copiedTokens[i] = new AnalyzedTokenReadings(tokens[i]);
+    }
+    return new AnalyzedSentence(copiedTokens);
+  }
+
+  private static class CacheKey {
+
+    private final Class<? extends Language> languageClass;
+    private final String languageCode;
+    private final String sentence;
+
+    private CacheKey(Language language, String sentence) {
+      this.languageClass = language.getClass();
+      this.languageCode = language.getShortNameWithCountryAndVariant();
+      this.sentence = Objects.requireNonNull(sentence);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      CacheKey other = (CacheKey) o;
+      return languageClass == other.languageClass && languageCode.equals(other.languageCode) && sentence.equals(other.sentence);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(languageClass, languageCode, sentence);
+    }
+  }
+
+}
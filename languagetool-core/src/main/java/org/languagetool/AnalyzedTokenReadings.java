@@ -92,6 +92,28 @@ public final class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
     this(Collections.singletonList(token), 0);
   }
 
+  /**
+   * Create a copy that can be modified (e.g. by adding readings) without affecting {@code readings}.
+   * The {@link AnalyzedToken}s are shared.
+   * @since 3.4
+   */
+  AnalyzedTokenReadings(AnalyzedTokenReadings readings) {
+    anTokReadings = readings.anTokReadings.clone();
+    startPos = readings.startPos;
+    token = readings.token;
+    isWhitespace = readings.isWhitespace;
+    isLinebreak = readings.isLinebreak;
+    isSentStart = readings.isSentStart;
+    isSentEnd = readings.isSentEnd;
+    isParaEnd = readings.isParaEnd;
+    isWhitespaceBefore = readings.isWhitespaceBefore;
+    isImmunized = readings.isImmunized;
+    isIgnoredBySpeller = readings.isIgnoredBySpeller;
+    historicalAnnotations = readings.historicalAnnotations;
+    chunkTags = new ArrayList<>(readings.chunkTags);
+    hasSameLemmas = readings.hasSameLemmas;
+  }
+
   public List<AnalyzedToken> getReadings() {
     return Arrays.asList(anTokReadings);
   }
@@ -0,0 +1,300 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.jetbrains.annotations.Nullable;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Collects how much time the checks spend in each analysis stage and in each rule, so slow
+ * rules can be found by looking at real texts. Use it with {@link JLanguageTool#setCheckStatistics(CheckStatistics)}.
+ * For every rule id, it counts the time spent in the rule, how often the rule was applied, how often
+ * it was skipped because the sentence doesn't contain the words the rule needs, and how many
+ * matches it found. Pattern rules in a rule group share their id, so their numbers are added up.
+ *
+ * <p>Collecting the statistics costs two calls to {@link System#nanoTime()} per rule and sentence
+ * plus the counting, so this is meant for finding performance problems, not for running all the time.
+ * Sentences whose analysis is taken from the {@link AnalyzedSentenceCache} don't add to the
+ * analysis stages.</p>
+ *
+ * <p><b>Thread-safety:</b> this class is thread-safe, so one instance can be used by
+ * all {@link JLanguageTool} instances, also for different languages.</p>
+ *
+ * @since 3.4
+ */
+public class CheckStatistics implements CheckStatisticsMXBean {
+
+  private static final int SLOWEST_RULES = 20;
+
+  /**
+   * The stages of the analysis of a text, in the order they are applied.
+   */
+  public enum Stage {
+    SENTENCE_SPLITTING,
+    WORD_TOKENIZATION,
+    TAGGING,
+    /** the chunker that runs before or the one that runs after disambiguation, depending on the language */
+    CHUNKING,
+    DISAMBIGUATION
+  }
+
+  private final Map<Stage, Counter> stageCounters = new EnumMap<>(Stage.class);
+  private final Map<String, RuleCounters> ruleCounters = new ConcurrentHashMap<>();
+
+  public CheckStatistics() {
+    for (Stage stage : Stage.values()) {
+      stageCounters.put(stage, new Counter());
+    }
+  }
+
+  void stageDone(Stage stage, long nanos) {
+    Counter counter = stageCounters.get(stage);
+    counter.nanos.add(nanos);
+    counter.invocations.increment();
+  }
+
+  void ruleApplied(String ruleId, long nanos, int matches) {
+    RuleCounters counters = getRuleCounters(ruleId);
+    counters.nanos.add(nanos);
+    counters.invocations.increment();
+    if (matches > 0) {
+      counters.matches.add(matches);
+    }
+  }
+
+  void ruleSkipped(String ruleId) {
+    getRuleCounters(ruleId).skips.increment();
+  }
+
+  private RuleCounters getRuleCounters(String ruleId) {
+    RuleCounters counters = ruleCounters.get(ruleId);
+    if (counters == null) {
+      counters = ruleCounters.computeIfAbsent(ruleId, k -> new RuleCounters());
+    }
+    return counters;
+  }
+
+  /**
+   * The time spent in the given stage, in nanoseconds.
+   */
+  public long getStageNanos(Stage stage) {
+    return stageCounters.get(stage).nanos.sum();
+  }
+
+  /**
+   * How often the given stage has been run, i.e. the number of texts for
+   * {@link Stage#SENTENCE_SPLITTING}, the number of sentences for the other stages
+   * (zero for {@link Stage#CHUNKING} if the language has no chunker).
+   */
+  public long getStageInvocations(Stage stage) {
+    return stageCounters.get(stage).invocations.sum();
+  }
+
+  /**
+   * The statistics of all rules that have been applied or skipped, the rules that took most time first.
+   */
+  public List<RuleStatistics> getRuleStatistics() {
+    List<RuleStatistics> result = new ArrayList<>();
+    for (Map.Entry<String, RuleCounters> entry : ruleCounters.entrySet()) {
+      RuleCounters counters = entry.getValue();
+      result.add(new RuleStatistics(entry.getKey(), counters.nanos.sum(), counters.invocations.sum(),
+              counters.skips.sum(), counters.matches.sum()));
+    }
+    result.sort((r1, r2) -> Long.compare(r2.getNanos(), r1.getNanos()));
+    return result;
+  }
+
+  /**
+   * The statistics of the rule with the given id, or {@code null} if it has never been applied or skipped.
+   */
+  @Nullable
+  public RuleStatistics getRuleStatistics(String ruleId) {
+    RuleCounters counters = ruleCounters.get(ruleId);
+    if (counters == null) {
+      return null;
+    }
+    return new RuleStatistics(ruleId, counters.nanos.sum(), counters.invocations.sum(),
+            counters.skips.sum(), counters.matches.sum());
+  }
+
+  @Override
+  public Map<String, Long> getStageMillis() {
+    Map<String, Long> result = new LinkedHashMap<>();
+    for (Stage stage : Stage.values()) {
+      result.put(stage.name(), TimeUnit.NANOSECONDS.toMillis(getStageNanos(stage)));
+    }
+    return result;
+  }
+
+  @Override
+  public Map<String, Long> getRuleMillis() {
+    return getRuleValues(counters -> TimeUnit.NANOSECONDS.toMillis(counters.nanos.sum()));
+  }
+
+  @Override
+  public Map<String, Long> getRuleInvocations() {
+    return getRuleValues(counters -> counters.invocations.sum());
+  }
+
+  @Override
+  public Map<String, Long> getRuleSkips() {
+    return getRuleValues(counters -> counters.skips.sum());
+  }
+
+  @Override
+  public Map<String, Long> getRuleMatches() {
+    return getRuleValues(counters -> counters.matches.sum());
+  }
+
+  private Map<String, Long> getRuleValues(ToLongFunction<RuleCounters> value) {
+    Map<String, Long> result = new TreeMap<>();
+    for (Map.Entry<String, RuleCounters> entry : ruleCounters.entrySet()) {
+      result.put(entry.getKey(), value.applyAsLong(entry.getValue()));
+    }
+    return result;
+  }
+
+  @Override
+  public List<String> getSlowestRules() {
+    List<String> result = new ArrayList<>();
+    for (RuleStatistics stats : getRuleStatistics()) {
+      if (result.size() == SLOWEST_RULES) {
+        break;
+      }
+      result.add(stats.toString());
+    }
+    return result;
+  }
+
+  @Override
+  public void reset() {
+    for (Counter counter : stageCounters.values()) {
+      counter.reset();
+    }
+    ruleCounters.clear();
+  }
+
+  /**
+   * Make these statistics available via JMX, with the object name
+   * {@code org.languagetool:type=CheckStatistics,name=<name>}.
+   * @return the object name, to be used with {@link #unregisterMBean(ObjectName)}
+   */
+  public ObjectName registerMBean(String name) throws JMException {
+    ObjectName objectName = new ObjectName("org.languagetool:type=CheckStatistics,name=" + ObjectName.quote(name));
+    ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+    return objectName;
+  }
+
+  /**
+   * Remove statistics registered with {@link #registerMBean(String)} from JMX.
+   */
+  public static void unregisterMBean(ObjectName objectName) throws JMException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    if (server.isRegistered(objectName)) {
+      server.unregisterMBean(objectName);
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (Stage stage : Stage.values()) {
+      sb.append(stage).append(": ").append(TimeUnit.NANOSECONDS.toMillis(getStageNanos(stage))).append("ms, ")
+        .append(getStageInvocations(stage)).append(" invocations\n");
+    }
+    for (String line : getSlowestRules()) {
+      sb.append(line).append('\n');
+    }
+    return sb.toString();
+  }
+
+  /**
+   * The statistics of one rule id at the time they were requested.
+   */
+  public static final class RuleStatistics {
+
+    private final String ruleId;
+    private final long nanos;
+    private final long invocations;
+    private final long skips;
+    private final long matches;
+
+    RuleStatistics(String ruleId, long nanos, long invocations, long skips, long matches) {
+      this.ruleId = ruleId;
+      this.nanos = nanos;
+      this.invocations = invocations;
+      this.skips = skips;
+      this.matches = matches;
+    }
+
+    public String getRuleId() {
+      return ruleId;
+    }
+
+    /** The time spent in the rule's match methods, in nanoseconds. */
+    public long getNanos() {
+      return nanos;
+    }
+
+    /** How often the rule has been applied to a sentence (or a text, for text-level rules). */
+    public long getInvocations() {
+      return invocations;
+    }
+
+    /** How often the rule has not been applied to a sentence because it could not match it. */
+    public long getSkips() {
+      return skips;
+    }
+
+    /** The number of matches the rule has found. */
+    public long getMatches() {
+      return matches;
+    }
+
+    @Override
+    public String toString() {
+      return ruleId + ": " + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms, " + invocations + " invocations, "
+              + skips + " skips, " + matches + " matches";
+    }
+  }
+
+  private static class Counter {
+    final LongAdder nanos = new LongAdder();
+    final LongAdder invocations = new LongAdder();
+    void reset() {
+      nanos.reset();
+      invocations.reset();
+    }
+  }
+
+  private static class RuleCounters extends Counter {
+    final LongAdder skips = new LongAdder();
+    final LongAdder matches = new LongAdder();
+  }
+
+}
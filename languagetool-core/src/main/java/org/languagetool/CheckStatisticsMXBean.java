@@ -0,0 +1,51 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JMX view of {@link CheckStatistics}, see {@link CheckStatistics#registerMBean(String)}.
+ * @since 3.4
+ */
+public interface CheckStatisticsMXBean {
+
+  /** Milliseconds spent per analysis stage, keyed by the stage name. */
+  Map<String, Long> getStageMillis();
+
+  /** Milliseconds spent per rule, keyed by the rule id. */
+  Map<String, Long> getRuleMillis();
+
+  /** How often each rule has been applied to a sentence (or a text, for text-level rules). */
+  Map<String, Long> getRuleInvocations();
+
+  /** How often each rule has not been applied to a sentence because it could not match it. */
+  Map<String, Long> getRuleSkips();
+
+  /** The number of matches each rule has found. */
+  Map<String, Long> getRuleMatches();
+
+  /** The slowest rules, one line per rule, slowest rule first. */
+  List<String> getSlowestRules();
+
+  /** Set all counters to zero. */
+  void reset();
+
+}
@@ -0,0 +1,285 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.languagetool.rules.CompiledRuleSet;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.SameRuleGroupFilter;
+import org.languagetool.rules.patterns.AbstractPatternRule;
+import org.languagetool.rules.spelling.SpellingCheckRule;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Checks a document that is being edited, re-using the results of the previous check
+ * for sentences that have not changed. Use one session per document and call
+ * {@link #check(String)} with the complete text after every edit. The result is the
+ * same as that of {@link JLanguageTool#check(String)}.
+ *
+ * <p>The analysis of every sentence and the matches of the rules that only look at
+ * the sentence itself (pattern rules and spelling rules) are cached. Only sentences
+ * that are new or have been modified are analyzed and matched against these rules again.
+ * Rules that keep state across sentences and the {@link org.languagetool.rules.TextLevelRule}s
+ * are applied to the whole text for every check, using the cached analysis. With a
+ * {@link MultiThreadedJLanguageTool}, the new and modified sentences are analyzed by its threads.</p>
+ *
+ * <p>If the configuration of the {@link JLanguageTool} changes (rules being enabled,
+ * disabled or added), the cache is cleared automatically.</p>
+ *
+ * <p><b>Thread-safety:</b> this class is not thread safe, just like the {@link JLanguageTool}
+ * it uses.</p>
+ *
+ * @since 3.4
+ */
+public class DocumentSession {
+
+  private final JLanguageTool lt;
+
+  private Map<CacheKey, CachedSentence> cache = new HashMap<>();
+  private CompiledRuleSet ruleSet;          // the active rules that the cache is valid for
+  private BitSet sentenceLocalRules;        // the rules whose matches are cached
+  private BitSet parallelRules;             // the cached rules that can match several sentences at the same time
+  private BitSet otherRules;                // the rules that are applied to the whole text
+  private Map<String, Integer> ruleOrder;   // rule id -> index of the first rule with that id
+  private int lastAnalyzedCount;
+
+  public DocumentSession(JLanguageTool lt) {
+    this.lt = Objects.requireNonNull(lt);
+  }
+
+  /**
+   * Check the complete text of the document, re-using the results of the previous calls
+   * for all sentences that have not changed.
+   * @return the matches, with positions that refer to {@code text}
+   */
+  public List<RuleMatch> check(String text) throws IOException {
+    CompiledRuleSet activeRuleSet = lt.getActiveRuleSet(lt.getCompiledRuleSet());
+    if (activeRuleSet != ruleSet) {
+      initRuleSet(activeRuleSet);
+    }
+    // same as in JLanguageTool.check(): rules with internal state must not see the previous check's state
+    for (Rule rule : lt.getCompiledRuleSet().getRules()) {
+      rule.reset();
+    }
+    List<String> sentences = lt.sentenceTokenize(text);
+    List<CacheKey> keys = new ArrayList<>(sentences.size());
+    Map<CacheKey, CachedSentence> newCache = new HashMap<>();
+    List<CacheKey> missingKeys = new ArrayList<>();
+    for (int i = 0; i < sentences.size(); i++) {
+      CacheKey key = new CacheKey(sentences.get(i), i == sentences.size() - 1);
+      keys.add(key);
+      if (!newCache.containsKey(key)) {
+        CachedSentence cached = cache.get(key);
+        if (cached == null) {
+          missingKeys.add(key);
+        }
+        newCache.put(key, cached);
+      }
+    }
+    List<CachedSentence> analyzed = analyzeAndMatch(missingKeys);
+    for (int i = 0; i < missingKeys.size(); i++) {
+      newCache.put(missingKeys.get(i), analyzed.get(i));
+    }
+    lastAnalyzedCount = missingKeys.size();
+    List<CachedSentence> cachedSentences = new ArrayList<>(sentences.size());
+    for (CacheKey key : keys) {
+      cachedSentences.add(newCache.get(key));
+    }
+    // sentences that are not part of the document anymore are removed from the cache:
+    cache = newCache;
+    return getRuleMatches(sentences, cachedSentences);
+  }
+
+  /**
+   * Clear the cache, so the next call to {@link #check(String)} will check the complete text.
+   */
+  public void clear() {
+    cache.clear();
+  }
+
+  /**
+   * The number of sentences that were analyzed in the latest call to {@link #check(String)},
+   * i.e. those for which no cached result was used.
+   */
+  int getLastAnalyzedCount() {
+    return lastAnalyzedCount;
+  }
+
+  private void initRuleSet(CompiledRuleSet activeRuleSet) {
+    cache.clear();
+    ruleSet = activeRuleSet;
+    sentenceLocalRules = new BitSet();
+    parallelRules = new BitSet();
+    otherRules = new BitSet();
+    ruleOrder = new HashMap<>();
+    List<Rule> rules = activeRuleSet.getRules();
+    for (int i = 0; i < rules.size(); i++) {
+      Rule rule = rules.get(i);
+      if (isSentenceLocal(rule)) {
+        sentenceLocalRules.set(i);
+        if (rule instanceof AbstractPatternRule) {
+          parallelRules.set(i);
+        }
+      } else {
+        otherRules.set(i);
+      }
+      ruleOrder.putIfAbsent(rule.getId(), i);
+    }
+  }
+
+  /**
+   * Whether the matches of the rule depend only on the sentence itself, not on other sentences.
+   */
+  private static boolean isSentenceLocal(Rule rule) {
+    return rule instanceof AbstractPatternRule || rule instanceof SpellingCheckRule;
+  }
+
+  /**
+   * Analyze the sentences and match them against the rules whose matches are cached. With a
+   * {@link MultiThreadedJLanguageTool}, the sentences are analyzed and matched against the pattern
+   * rules by its threads, like in {@link MultiThreadedJLanguageTool#check(String)}. The other rules
+   * (e.g. spelling rules) cannot be used by several threads at the same time, so they are applied
+   * on the calling thread.
+   */
+  private List<CachedSentence> analyzeAndMatch(List<CacheKey> keys) throws IOException {
+    List<AnalyzedSentence> analyzedSentences = new ArrayList<>(keys.size());
+    List<List<RuleMatch>> parallelMatches = new ArrayList<>(keys.size());
+    if (lt instanceof MultiThreadedJLanguageTool && keys.size() > 1) {
+      ExecutorService executorService = ((MultiThreadedJLanguageTool) lt).getExecutorService();
+      List<Future<CachedSentence>> futures = new ArrayList<>(keys.size());
+      for (CacheKey key : keys) {
+        futures.add(executorService.submit(() -> analyzeAndMatch(key, parallelRules)));
+      }
+      try {
+        for (Future<CachedSentence> future : futures) {
+          CachedSentence cached = future.get();
+          analyzedSentences.add(cached.analyzedSentence);
+          parallelMatches.add(cached.ruleMatches);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw new RuntimeException(e.getCause());
+      }
+    } else {
+      for (CacheKey key : keys) {
+        CachedSentence cached = analyzeAndMatch(key, parallelRules);
+        analyzedSentences.add(cached.analyzedSentence);
+        parallelMatches.add(cached.ruleMatches);
+      }
+    }
+    BitSet otherLocalRules = (BitSet) sentenceLocalRules.clone();
+    otherLocalRules.andNot(parallelRules);
+    List<CachedSentence> result = new ArrayList<>(keys.size());
+    for (int i = 0; i < keys.size(); i++) {
+      List<RuleMatch> ruleMatches = new ArrayList<>(parallelMatches.get(i));
+      ruleMatches.addAll(match(keys.get(i), analyzedSentences.get(i), otherLocalRules));
+      result.add(new CachedSentence(analyzedSentences.get(i), ruleMatches));
+    }
+    return result;
+  }
+
+  private CachedSentence analyzeAndMatch(CacheKey key, BitSet ruleIndexes) throws IOException {
+    AnalyzedSentence analyzedSentence = lt.getAnalyzedSentence(key.sentence);
+    if (key.isLast) {
+      // same as in JLanguageTool.analyzeSentences():
+      AnalyzedTokenReadings[] tokens = analyzedSentence.getTokens();
+      tokens[tokens.length - 1].setParagraphEnd();
+      analyzedSentence = new AnalyzedSentence(tokens);
+    }
+    return new CachedSentence(analyzedSentence, match(key, analyzedSentence, ruleIndexes));
+  }
+
+  private List<RuleMatch> match(CacheKey key, AnalyzedSentence analyzedSentence, BitSet ruleIndexes) throws IOException {
+    if (ruleIndexes.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<String> sentences = Collections.singletonList(key.sentence);
+    List<AnalyzedSentence> analyzedSentences = Collections.singletonList(analyzedSentence);
+    // the matches refer to a text that consists of only this sentence:
+    JLanguageTool.TextCheckCallable callable = lt.new TextCheckCallable(ruleSet, ruleIndexes,
+            sentences, analyzedSentences, JLanguageTool.ParagraphHandling.NORMAL, null, 0, 0, 1);
+    return callable.checkSentences().get(0);
+  }
+
+  private List<RuleMatch> getRuleMatches(List<String> sentences, List<CachedSentence> cachedSentences) throws IOException {
+    List<AnalyzedSentence> analyzedSentences = new ArrayList<>(cachedSentences.size());
+    for (CachedSentence cached : cachedSentences) {
+      analyzedSentences.add(cached.analyzedSentence);
+    }
+    JLanguageTool.TextCheckCallable callable = lt.new TextCheckCallable(ruleSet, otherRules,
+            sentences, analyzedSentences, JLanguageTool.ParagraphHandling.NORMAL, null, 0, 0, 1);
+    List<RuleMatch> ruleMatches = callable.checkTextLevelRules();
+    List<List<RuleMatch>> otherMatches = callable.checkSentences();
+    JLanguageTool.SentencePosition position = lt.new SentencePosition(0, 0, 1);
+    for (int i = 0; i < sentences.size(); i++) {
+      List<RuleMatch> sentenceMatches = new ArrayList<>(otherMatches.get(i));
+      for (RuleMatch match : cachedSentences.get(i).ruleMatches) {
+        sentenceMatches.add(position.adjust(match));
+      }
+      // SameRuleGroupFilter depends on the order, so restore the order of the rules (the sort is stable):
+      sentenceMatches.sort(Comparator.comparingInt(match -> ruleOrder.getOrDefault(match.getRule().getId(), -1)));
+      ruleMatches.addAll(new SameRuleGroupFilter().filter(sentenceMatches));
+      position = position.next(sentences.get(i));
+    }
+    return new SameRuleGroupFilter().filter(ruleMatches);
+  }
+
+  /**
+   * The analysis of the last sentence is different, as its last token marks the end of the paragraph.
+   */
+  private static class CacheKey {
+    private final String sentence;
+    private final boolean isLast;
+    private CacheKey(String sentence, boolean isLast) {
+      this.sentence = sentence;
+      this.isLast = isLast;
+    }
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      CacheKey other = (CacheKey) o;
+      return isLast == other.isLast && sentence.equals(other.sentence);
+    }
+    @Override
+    public int hashCode() {
+      return 31 * sentence.hashCode() + (isLast ? 1 : 0);
+    }
+  }
+
+  private static class CachedSentence {
+    private final AnalyzedSentence analyzedSentence;
+    private final List<RuleMatch> ruleMatches;  // positions relative to the sentence
+    private CachedSentence(AnalyzedSentence analyzedSentence, List<RuleMatch> ruleMatches) {
+      this.analyzedSentence = analyzedSentence;
+      this.ruleMatches = ruleMatches;
+    }
+  }
+
+}
@@ -38,11 +38,13 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.io.Reader;
 import java.net.JarURLConnection;
 import java.net.URL;
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.jar.Manifest;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -117,10 +119,15 @@ public class JLanguageTool {
   private final Language language;
   private final Language motherTongue;
 
+  private CompiledRuleSet compiledRuleSet;  // lazily created, reset when rules are added
+  private CompiledRuleSet activeRuleSet;    // the active rules of the latest check, reset when rules are added
+  private BitSet activeRuleIndexes;         // the indexes of activeRuleSet's rules in compiledRuleSet
   private PrintStream printStream;
   private int sentenceCount;
   private boolean listUnknownWords;
   private Set<String> unknownWords;  
+  private AnalyzedSentenceCache cache;
+  private CheckStatistics statistics;
 
   /**
    * Constants for correct paragraph-rule handling.
@@ -141,6 +148,9 @@ public class JLanguageTool {
   }
   
   private static final List<File> temporaryFiles = new ArrayList<>();
+  private static final int DEFAULT_MAX_CHUNK_SIZE = 50000;
+  private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\r?\\n(\\r?\\n)+");
+  private static final Pattern SINGLE_LINE_PARAGRAPH_BREAK = Pattern.compile("(\\r?\\n)+");
   
   /**
    * Create a JLanguageTool and setup the built-in Java rules for the
@@ -216,6 +226,35 @@ public class JLanguageTool {
     this.listUnknownWords = listUnknownWords;
   }
 
+  /**
+   * Use the given cache for the analysis of sentences (see {@link #getAnalyzedSentence(String)}),
+   * or no cache if {@code cache} is {@code null} (the default). The cache can be shared
+   * between instances.
+   * @since 3.4
+   */
+  public void setCache(@Nullable AnalyzedSentenceCache cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Record the time spent in the analysis stages and in the rules in the given statistics,
+   * or don't record anything if {@code statistics} is {@code null} (the default). The statistics
+   * can be shared between instances.
+   * @since 3.4
+   */
+  public void setCheckStatistics(@Nullable CheckStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  /**
+   * The statistics set with {@link #setCheckStatistics(CheckStatistics)}, if any.
+   * @since 3.4
+   */
+  @Nullable
+  public CheckStatistics getCheckStatistics() {
+    return statistics;
+  }
+
   /**
    * Gets the ResourceBundle (i18n strings) for the default language of the user's system.
    */
@@ -300,6 +339,8 @@ public class JLanguageTool {
       ResourceBundle messages = getMessageBundle(language);
       List<Rule> rules = language.getRelevantLanguageModelRules(messages, languageModel);
       userRules.addAll(rules);
+      compiledRuleSet = null;
+      activeRuleSet = null;
     }
   }
 
@@ -339,6 +380,8 @@ public class JLanguageTool {
    */
   public void addRule(Rule rule) {
     userRules.add(rule);
+    compiledRuleSet = null;
+    activeRuleSet = null;
   }
 
   /**
@@ -443,7 +486,14 @@ public class JLanguageTool {
    * Tokenizes the given text into sentences.
    */
   public List<String> sentenceTokenize(String text) {
-    return language.getSentenceTokenizer().tokenize(text);
+    CheckStatistics statistics = this.statistics;
+    if (statistics == null) {
+      return language.getSentenceTokenizer().tokenize(text);
+    }
+    long startTime = System.nanoTime();
+    List<String> sentences = language.getSentenceTokenizer().tokenize(text);
+    statistics.stageDone(CheckStatistics.Stage.SENTENCE_SPLITTING, System.nanoTime() - startTime);
+    return sentences;
   }
 
   /**
@@ -461,6 +511,139 @@ public class JLanguageTool {
     return check(new AnnotatedTextBuilder().addText(text).build(), tokenizeText, paraMode);
   }
 
+  /**
+   * Like {@link #check(Reader, RuleMatchListener, int)}, checking about 50,000 characters at a time.
+   * @since 3.4
+   */
+  public void check(Reader reader, RuleMatchListener listener) throws IOException {
+    check(reader, listener, DEFAULT_MAX_CHUNK_SIZE);
+  }
+
+  /**
+   * Checks the text read from the given reader, without keeping the whole text in memory,
+   * so this can be used for huge texts. The text is checked in chunks: whenever another
+   * {@code maxChunkSize} characters have been read, the complete paragraphs read so far are
+   * checked (or the complete sentences, if no paragraph has ended yet). Text without a sentence
+   * boundary is cut at a white space once it gets longer than twice {@code maxChunkSize}.
+   * Matches are passed to the listener as soon as their chunk has been checked, with positions,
+   * lines and columns that refer to the complete text.
+   * <p>Rules that work across sentences, like the {@link TextLevelRule}s, only see the
+   * current chunk, so use a large enough {@code maxChunkSize} for them to be useful.</p>
+   * @param maxChunkSize the number of characters after which the text read so far is checked
+   * @since 3.4
+   */
+  public void check(Reader reader, RuleMatchListener listener, int maxChunkSize) throws IOException {
+    if (maxChunkSize < 1) {
+      throw new IllegalArgumentException("maxChunkSize must be >= 1: " + maxChunkSize);
+    }
+    Objects.requireNonNull(listener);
+    Pattern paragraphBreak = language.getSentenceTokenizer().singleLineBreaksMarksPara() ?
+            SINGLE_LINE_PARAGRAPH_BREAK : PARAGRAPH_BREAK;
+    StringBuilder text = new StringBuilder();
+    char[] buffer = new char[8192];
+    SentencePosition position = new SentencePosition(0, 0, 1);
+    Set<String> allUnknownWords = new HashSet<>();
+    int allSentenceCount = 0;
+    int scanStart = 0;      // the text before this has already been searched for paragraph breaks
+    int paragraphEnd = 0;   // the end of the last complete paragraph, or 0
+    int nextChunkCheck = maxChunkSize;
+    int length;
+    while ((length = reader.read(buffer)) != -1) {
+      text.append(buffer, 0, length);
+      Matcher matcher = paragraphBreak.matcher(text);
+      // the paragraph is only complete if the next paragraph has started, i.e. there's no other line break:
+      while (matcher.find(scanStart) && matcher.end() < text.length()) {
+        paragraphEnd = matcher.end();
+        scanStart = paragraphEnd;
+      }
+      scanStart = Math.max(scanStart, getLineBreaksStart(text));
+      if (text.length() < nextChunkCheck) {
+        continue;
+      }
+      List<String> sentences;
+      boolean lastSentenceEndsParagraph;
+      if (paragraphEnd > 0) {
+        sentences = sentenceTokenize(text.substring(0, paragraphEnd));
+        lastSentenceEndsParagraph = true;
+      } else {
+        sentences = getCompleteSentences(text, maxChunkSize);
+        lastSentenceEndsParagraph = false;
+      }
+      if (!sentences.isEmpty()) {
+        int chunkEnd = 0;
+        for (String sentence : sentences) {
+          chunkEnd += sentence.length();
+        }
+        text.delete(0, chunkEnd);
+        position = checkChunk(sentences, lastSentenceEndsParagraph, position, listener);
+        allSentenceCount += sentenceCount;
+        allUnknownWords.addAll(unknownWords);
+        scanStart = Math.max(0, scanStart - chunkEnd);
+        paragraphEnd = 0;
+      }
+      nextChunkCheck = text.length() + maxChunkSize;
+    }
+    if (text.length() > 0) {
+      checkChunk(sentenceTokenize(text.toString()), true, position, listener);
+      allSentenceCount += sentenceCount;
+      allUnknownWords.addAll(unknownWords);
+    }
+    sentenceCount = allSentenceCount;
+    unknownWords = allUnknownWords;
+  }
+
+  /**
+   * The start of the line breaks at the end of the text, i.e. of a paragraph break that
+   * might not be complete yet.
+   */
+  private static int getLineBreaksStart(StringBuilder text) {
+    int start = text.length();
+    while (start > 0 && (text.charAt(start - 1) == '\n' || text.charAt(start - 1) == '\r')) {
+      start--;
+    }
+    return start;
+  }
+
+  /**
+   * The complete sentences at the start of the text, i.e. all but the last one. If that's
+   * none and the text is longer than {@code 2 * maxChunkSize}, the text up to the last white
+   * space before {@code maxChunkSize} is returned as a sentence.
+   */
+  private List<String> getCompleteSentences(StringBuilder text, int maxChunkSize) {
+    List<String> sentences = sentenceTokenize(text.toString());
+    if (sentences.size() > 1) {
+      // the last sentence might not be complete yet:
+      return sentences.subList(0, sentences.size() - 1);
+    }
+    if (text.length() > 2 * maxChunkSize) {
+      int end = maxChunkSize;
+      while (end > 1 && !Character.isWhitespace(text.charAt(end - 1))) {
+        end--;
+      }
+      if (end == 1) {
+        end = maxChunkSize;
+      }
+      return Collections.singletonList(text.substring(0, end));
+    }
+    return Collections.emptyList();
+  }
+
+  /**
+   * Checks the sentences of a chunk, which starts at {@code position}, and returns the position after the chunk.
+   */
+  private SentencePosition checkChunk(List<String> sentences, boolean lastSentenceEndsParagraph,
+                                      SentencePosition position, RuleMatchListener listener) throws IOException {
+    StringBuilder chunk = new StringBuilder();
+    for (String sentence : sentences) {
+      chunk.append(sentence);
+    }
+    AnnotatedText annotatedText = new AnnotatedTextBuilder().addText(chunk.toString()).build();
+    for (RuleMatch match : checkSentences(sentences, annotatedText, ParagraphHandling.NORMAL, lastSentenceEndsParagraph)) {
+      listener.matchFound(position.adjust(match));
+    }
+    return position.next(chunk.toString());
+  }
+
   /**
    * The main check method. Tokenizes the text into sentences and matches these
    * sentences against all currently active rules, adjusting error positions so they refer 
@@ -492,7 +675,18 @@ public class JLanguageTool {
       sentences = new ArrayList<>();
       sentences.add(annotatedText.getPlainText());
     }
-    List<Rule> allRules = getAllRules();
+    return checkSentences(sentences, annotatedText, paraMode, true);
+  }
+
+  /**
+   * Checks the sentences, which together are the text of {@code annotatedText}.
+   * @param lastSentenceEndsParagraph whether the last sentence is marked as the end of a paragraph
+   */
+  private List<RuleMatch> checkSentences(List<String> sentences, AnnotatedText annotatedText,
+                                         ParagraphHandling paraMode, boolean lastSentenceEndsParagraph) throws IOException {
+    CompiledRuleSet ruleSet = getCompiledRuleSet();
+    List<Rule> allRules = ruleSet.getRules();
+    List<Rule> activeRules = getActiveRuleSet(ruleSet).getRules();
     if (printStream != null) {
       printIfVerbose(allRules.size() + " rules activated for language " + language);
     }
@@ -506,9 +700,7 @@ public class JLanguageTool {
 
     sentenceCount = sentences.size();
     unknownWords = new HashSet<>();
-    List<AnalyzedSentence> analyzedSentences = analyzeSentences(sentences);
-    
-    List<RuleMatch> ruleMatches = performCheck(analyzedSentences, sentences, allRules, paraMode, annotatedText);
+    List<RuleMatch> ruleMatches = analyzeAndCheck(sentences, activeRules, paraMode, annotatedText, lastSentenceEndsParagraph);
     ruleMatches = new SameRuleGroupFilter().filter(ruleMatches);
     // no sorting: SameRuleGroupFilter sorts rule matches already
     return ruleMatches;
@@ -526,12 +718,16 @@ public class JLanguageTool {
   }
   
   protected List<AnalyzedSentence> analyzeSentences(List<String> sentences) throws IOException {
+    return analyzeSentences(sentences, true);
+  }
+
+  private List<AnalyzedSentence> analyzeSentences(List<String> sentences, boolean lastSentenceEndsParagraph) throws IOException {
     List<AnalyzedSentence> analyzedSentences = new ArrayList<>();
     int j = 0;
     for (String sentence : sentences) {
       AnalyzedSentence analyzedSentence = getAnalyzedSentence(sentence);
       rememberUnknownWords(analyzedSentence);
-      if (++j == sentences.size()) {
+      if (++j == sentences.size() && lastSentenceEndsParagraph) {
         AnalyzedTokenReadings[] anTokens = analyzedSentence.getTokens();
         anTokens[anTokens.length - 1].setParagraphEnd();
         analyzedSentence = new AnalyzedSentence(anTokens);
@@ -549,9 +745,27 @@ public class JLanguageTool {
     }
   }
   
+  /**
+   * Analyze the sentences and check them with the given rules.
+   * @param activeRules the rules to be used, already filtered so that only active rules are included
+   * @param lastSentenceEndsParagraph whether the last sentence is marked as the end of a paragraph
+   * @since 3.4
+   */
+  protected List<RuleMatch> analyzeAndCheck(List<String> sentences, List<Rule> activeRules, ParagraphHandling paraMode,
+                                            AnnotatedText annotatedText, boolean lastSentenceEndsParagraph) throws IOException {
+    List<AnalyzedSentence> analyzedSentences = analyzeSentences(sentences, lastSentenceEndsParagraph);
+    return performCheck(analyzedSentences, sentences, activeRules, paraMode, annotatedText);
+  }
+
+  /**
+   * @param allRules the rules to be used, already filtered so that only active rules are included
+   */
   protected List<RuleMatch> performCheck(List<AnalyzedSentence> analyzedSentences, List<String> sentences,
                                          List<Rule> allRules, ParagraphHandling paraMode, AnnotatedText annotatedText) throws IOException {
-    Callable<List<RuleMatch>> matcher = new TextCheckCallable(allRules, sentences, analyzedSentences, paraMode, annotatedText, 0, 0, 1);
+    CompiledRuleSet ruleSet = getRuleSetFor(allRules);
+    BitSet allRuleIndexes = new BitSet();
+    allRuleIndexes.set(0, ruleSet.size());
+    Callable<List<RuleMatch>> matcher = new TextCheckCallable(ruleSet, allRuleIndexes, sentences, analyzedSentences, paraMode, annotatedText, 0, 0, 1);
     try {
       return matcher.call();
     } catch (IOException e) {
@@ -576,29 +790,57 @@ public class JLanguageTool {
       List<Rule> rules, int charCount, int lineCount,
       int columnCount, String sentence, AnalyzedSentence analyzedSentence, AnnotatedText annotatedText)
         throws IOException {
-    List<RuleMatch> sentenceMatches = new ArrayList<>();
+    List<Rule> activeRules = new ArrayList<>();
     for (Rule rule : rules) {
-      if (rule instanceof TextLevelRule) {
-        continue;
+      if (!ignoreRule(rule)) {
+        activeRules.add(rule);
       }
-      if (ignoreRule(rule)) {
+    }
+    List<RuleMatch> sentenceMatches = matchAnalyzedSentence(paraMode, activeRules, charCount, lineCount, columnCount,
+            sentence, analyzedSentence, annotatedText);
+    return new SameRuleGroupFilter().filter(sentenceMatches);
+  }
+
+  /**
+   * Like {@link #checkAnalyzedSentence(ParagraphHandling, List, int, int, int, String, AnalyzedSentence, AnnotatedText)},
+   * but {@code activeRules} must only contain rules that are active, and overlapping matches of the same
+   * rule group are not filtered. The matches are in the order of the rules.
+   */
+  private List<RuleMatch> matchAnalyzedSentence(ParagraphHandling paraMode,
+      List<Rule> activeRules, int charCount, int lineCount,
+      int columnCount, String sentence, AnalyzedSentence analyzedSentence, AnnotatedText annotatedText)
+        throws IOException {
+    List<RuleMatch> sentenceMatches = new ArrayList<>();
+    CheckStatistics statistics = this.statistics;
+    for (Rule rule : activeRules) {
+      if (rule instanceof TextLevelRule) {
         continue;
       }
       if (rule instanceof PatternRule && ((PatternRule)rule).canBeIgnoredFor(analyzedSentence)) {
         // this is a performance optimization, it should have no effect on matching logic
+        if (statistics != null) {
+          statistics.ruleSkipped(rule.getId());
+        }
         continue;
       }
       if (paraMode == ParagraphHandling.ONLYPARA) {
         continue;
       }
-      RuleMatch[] thisMatches = rule.match(analyzedSentence);
+      RuleMatch[] thisMatches;
+      if (statistics != null) {
+        long startTime = System.nanoTime();
+        thisMatches = rule.match(analyzedSentence);
+        statistics.ruleApplied(rule.getId(), System.nanoTime() - startTime, thisMatches.length);
+      } else {
+        thisMatches = rule.match(analyzedSentence);
+      }
       for (RuleMatch element1 : thisMatches) {
         RuleMatch thisMatch = adjustRuleMatchPos(element1,
             charCount, columnCount, lineCount, sentence, annotatedText);
         sentenceMatches.add(thisMatch);
       }
     }
-    return new SameRuleGroupFilter().filter(sentenceMatches);
+    return sentenceMatches;
   }
 
   private boolean ignoreRule(Rule rule) {
@@ -623,6 +865,51 @@ public class JLanguageTool {
     return false;
   }
 
+  private BitSet getActiveRuleIndexes(CompiledRuleSet ruleSet) {
+    return ruleSet.getActiveRules(disabledRules, enabledRules, disabledRuleCategories, disabledCategories, enabledRuleCategories);
+  }
+
+  /**
+   * Get the active rules as a rule set, re-using the one of the previous check if
+   * the configuration hasn't changed.
+   */
+  CompiledRuleSet getActiveRuleSet(CompiledRuleSet ruleSet) {
+    BitSet active = getActiveRuleIndexes(ruleSet);
+    CompiledRuleSet result = activeRuleSet;
+    if (result == null || !active.equals(activeRuleIndexes)) {
+      result = new CompiledRuleSet(ruleSet.getRules(active));
+      activeRuleSet = result;
+      activeRuleIndexes = active;
+    }
+    return result;
+  }
+
+  /**
+   * Get a rule set for the given rules, avoiding the creation of a new one if these are the
+   * active rules of the current check.
+   */
+  CompiledRuleSet getRuleSetFor(List<Rule> rules) {
+    CompiledRuleSet ruleSet = activeRuleSet;
+    if (ruleSet != null && ruleSet.getRules() == rules) {
+      return ruleSet;
+    }
+    return new CompiledRuleSet(rules);
+  }
+
+  /**
+   * Get the rules of this instance (see {@link #getAllRules()}) as an immutable rule set
+   * indexed by rule id and category.
+   * @since 3.4
+   */
+  public CompiledRuleSet getCompiledRuleSet() {
+    CompiledRuleSet ruleSet = compiledRuleSet;
+    if (ruleSet == null) {
+      ruleSet = new CompiledRuleSet(getAllRules());
+      compiledRuleSet = ruleSet;
+    }
+    return ruleSet;
+  }
+
   /**
    * Change RuleMatch positions so they are relative to the complete text,
    * not just to the sentence. 
@@ -709,13 +996,33 @@ public class JLanguageTool {
 
   /**
    * Tokenizes the given {@code sentence} into words and analyzes it,
-   * and then disambiguates POS tags.
+   * and then disambiguates POS tags. If a cache has been set with {@link #setCache(AnalyzedSentenceCache)},
+   * the analysis is taken from the cache if possible.
    * @param sentence sentence to be analyzed
    */
   public AnalyzedSentence getAnalyzedSentence(String sentence) throws IOException {
-    AnalyzedSentence analyzedSentence = language.getDisambiguator().disambiguate(getRawAnalyzedSentence(sentence));
+    AnalyzedSentenceCache cache = this.cache;
+    if (cache != null) {
+      return cache.get(language, sentence, () -> analyzeSentence(sentence));
+    }
+    return analyzeSentence(sentence);
+  }
+
+  private AnalyzedSentence analyzeSentence(String sentence) throws IOException {
+    CheckStatistics statistics = this.statistics;
+    AnalyzedSentence rawSentence = getRawAnalyzedSentence(sentence);
+    long startTime = statistics != null ? System.nanoTime() : 0;
+    AnalyzedSentence analyzedSentence = language.getDisambiguator().disambiguate(rawSentence);
+    if (statistics != null) {
+      long endTime = System.nanoTime();
+      statistics.stageDone(CheckStatistics.Stage.DISAMBIGUATION, endTime - startTime);
+      startTime = endTime;
+    }
     if (language.getPostDisambiguationChunker() != null) {
       language.getPostDisambiguationChunker().addChunkTags(Arrays.asList(analyzedSentence.getTokens()));
+      if (statistics != null) {
+        statistics.stageDone(CheckStatistics.Stage.CHUNKING, System.nanoTime() - startTime);
+      }
     }
     return analyzedSentence;
   }
@@ -728,12 +1035,27 @@ public class JLanguageTool {
    * @since 0.9.8
    */
   public AnalyzedSentence getRawAnalyzedSentence(String sentence) throws IOException {
+    CheckStatistics statistics = this.statistics;
+    long startTime = statistics != null ? System.nanoTime() : 0;
     List<String> tokens = language.getWordTokenizer().tokenize(sentence);
     Map<Integer, String> softHyphenTokens = replaceSoftHyphens(tokens);
+    if (statistics != null) {
+      long endTime = System.nanoTime();
+      statistics.stageDone(CheckStatistics.Stage.WORD_TOKENIZATION, endTime - startTime);
+      startTime = endTime;
+    }
 
     List<AnalyzedTokenReadings> aTokens = language.getTagger().tag(tokens);
+    if (statistics != null) {
+      long endTime = System.nanoTime();
+      statistics.stageDone(CheckStatistics.Stage.TAGGING, endTime - startTime);
+      startTime = endTime;
+    }
     if (language.getChunker() != null) {
       language.getChunker().addChunkTags(aTokens);
+      if (statistics != null) {
+        statistics.stageDone(CheckStatistics.Stage.CHUNKING, System.nanoTime() - startTime);
+      }
     }
     int numTokens = aTokens.size();
     int posFix = 0; 
@@ -894,40 +1216,138 @@ public class JLanguageTool {
     }
   }
 
+  /**
+   * The position where a sentence starts in the text, used to calculate the positions of rule matches.
+   */
+  final class SentencePosition {
+
+    private final int charCount;
+    private final int lineCount;
+    private final int columnCount;
+
+    SentencePosition(int charCount, int lineCount, int columnCount) {
+      this.charCount = charCount;
+      this.lineCount = lineCount;
+      this.columnCount = columnCount;
+    }
+
+    /**
+     * The position of the sentence that follows the given sentence, which starts at this position.
+     */
+    SentencePosition next(String sentence) {
+      int newColumnCount;
+      // calculate matching column:
+      int lineBreakPos = sentence.lastIndexOf('\n');
+      if (lineBreakPos == -1) {
+        newColumnCount = columnCount + sentence.length();
+      } else {
+        if (lineBreakPos == 0) {
+          newColumnCount = sentence.length();
+          if (!language.getSentenceTokenizer().singleLineBreaksMarksPara()) {
+            newColumnCount--;
+          }
+        } else {
+          newColumnCount = sentence.length() - lineBreakPos;
+        }
+      }
+      return new SentencePosition(charCount + sentence.length(), lineCount + countLineBreaks(sentence), newColumnCount);
+    }
+
+    /**
+     * Move a match whose position refers to a text that starts at line 0, column 1, so that
+     * it refers to a text that starts at this position.
+     */
+    RuleMatch adjust(RuleMatch match) {
+      RuleMatch adjustedMatch = new RuleMatch(match.getRule(), match.getFromPos() + charCount,
+              match.getToPos() + charCount, match.getMessage(), match.getShortMessage());
+      adjustedMatch.setSuggestedReplacements(match.getSuggestedReplacements());
+      adjustedMatch.setLine(match.getLine() + lineCount);
+      adjustedMatch.setEndLine(match.getEndLine() + lineCount);
+      // columns of the first line continue where the text before this position ended:
+      adjustedMatch.setColumn(match.getLine() == 0 ? match.getColumn() + columnCount - 1 : match.getColumn());
+      adjustedMatch.setEndColumn(match.getEndLine() == 0 ? match.getEndColumn() + columnCount - 1 : match.getEndColumn());
+      return adjustedMatch;
+    }
+  }
+
   class TextCheckCallable implements Callable<List<RuleMatch>> {
 
-    private final List<Rule> rules;
+    private final CompiledRuleSet ruleSet;
+    private final BitSet ruleIndexes;
     private final ParagraphHandling paraMode;
     private final AnnotatedText annotatedText;
     private final List<String> sentences;
     private final List<AnalyzedSentence> analyzedSentences;
-    
-    private int charCount;
-    private int lineCount;
-    private int columnCount;
+    private final int fromSentence;
+    private final int toSentence;
+    private final SentencePosition fromPosition;
 
-    TextCheckCallable(List<Rule> rules, List<String> sentences, List<AnalyzedSentence> analyzedSentences,
+    /**
+     * @param ruleSet the active rules
+     * @param ruleIndexes the indexes of the rules in {@code ruleSet} that this callable uses
+     */
+    TextCheckCallable(CompiledRuleSet ruleSet, BitSet ruleIndexes, List<String> sentences, List<AnalyzedSentence> analyzedSentences,
                       ParagraphHandling paraMode, AnnotatedText annotatedText, int charCount, int lineCount, int columnCount) {
-      this.rules = rules;
+      this(ruleSet, ruleIndexes, sentences, analyzedSentences, 0, sentences.size(), paraMode, annotatedText,
+           new SentencePosition(charCount, lineCount, columnCount));
+    }
+
+    /**
+     * @param ruleSet the active rules
+     * @param ruleIndexes the indexes of the rules in {@code ruleSet} that this callable uses
+     * @param fromSentence the index of the first sentence that the sentence-level rules are applied to
+     * @param toSentence the index after the last sentence that the sentence-level rules are applied to
+     * @param fromPosition the position where the sentence {@code fromSentence} starts
+     * @since 3.4
+     */
+    TextCheckCallable(CompiledRuleSet ruleSet, BitSet ruleIndexes, List<String> sentences, List<AnalyzedSentence> analyzedSentences,
+                      int fromSentence, int toSentence, ParagraphHandling paraMode, AnnotatedText annotatedText,
+                      SentencePosition fromPosition) {
+      this.ruleSet = ruleSet;
+      this.ruleIndexes = ruleIndexes;
       if (sentences.size() != analyzedSentences.size()) {
         throw new IllegalArgumentException("sentences and analyzedSentences do not have the same length : " + sentences.size() + " != " + analyzedSentences.size());
       }
+      if (fromSentence < 0 || toSentence > sentences.size() || fromSentence > toSentence) {
+        throw new IllegalArgumentException("Invalid sentence range " + fromSentence + " to " + toSentence + " for " + sentences.size() + " sentences");
+      }
       this.sentences = sentences;
       this.analyzedSentences = analyzedSentences;
+      this.fromSentence = fromSentence;
+      this.toSentence = toSentence;
       this.paraMode = paraMode;
       this.annotatedText = annotatedText;
-      this.charCount = charCount;
-      this.lineCount = lineCount;
-      this.columnCount = columnCount;
+      this.fromPosition = Objects.requireNonNull(fromPosition);
+    }
+
+    int getFromSentence() {
+      return fromSentence;
     }
 
     @Override
     public List<RuleMatch> call() throws Exception {
+      List<RuleMatch> ruleMatches = checkTextLevelRules();
+      for (List<RuleMatch> sentenceMatches : checkSentences()) {
+        ruleMatches.addAll(new SameRuleGroupFilter().filter(sentenceMatches));
+      }
+      return ruleMatches;
+    }
+
+    /**
+     * Apply the text-level rules of this callable to all sentences.
+     */
+    List<RuleMatch> checkTextLevelRules() throws IOException {
       List<RuleMatch> ruleMatches = new ArrayList<>();
-      int i = 0;
-      for (Rule rule : rules) {
-        if (rule instanceof TextLevelRule && !ignoreRule(rule) && paraMode != ParagraphHandling.ONLYNONPARA) {
+      BitSet textLevelRuleIndexes = ruleSet.getTextLevelRules();
+      textLevelRuleIndexes.and(ruleIndexes);
+      for (Rule rule : ruleSet.getRules(textLevelRuleIndexes)) {
+        if (paraMode != ParagraphHandling.ONLYNONPARA) {
+          CheckStatistics statistics = JLanguageTool.this.statistics;
+          long startTime = statistics != null ? System.nanoTime() : 0;
           RuleMatch[] matches = ((TextLevelRule) rule).match(analyzedSentences);
+          if (statistics != null) {
+            statistics.ruleApplied(rule.getId(), System.nanoTime() - startTime, matches.length);
+          }
           for (RuleMatch match : matches) {
             LineColumnRange range = getLineColumnRange(match);
             match.setColumn(range.from.column);
@@ -938,31 +1358,33 @@ public class JLanguageTool {
           ruleMatches.addAll(Arrays.asList(matches));
         }
       }
-      for (AnalyzedSentence analyzedSentence : analyzedSentences) {
-        String sentence = sentences.get(i++);
+      return ruleMatches;
+    }
+
+    /**
+     * Apply the sentence-level rules of this callable to the sentences of this callable.
+     * @return one list of matches per sentence, in the order of the rules and not
+     *  filtered with {@link SameRuleGroupFilter}
+     */
+    List<List<RuleMatch>> checkSentences() {
+      List<List<RuleMatch>> ruleMatches = new ArrayList<>(toSentence - fromSentence);
+      SentencePosition position = fromPosition;
+      for (int i = fromSentence; i < toSentence; i++) {
+        String sentence = sentences.get(i);
+        AnalyzedSentence analyzedSentence = analyzedSentences.get(i);
         try {
-          List<RuleMatch> sentenceMatches =
-                  checkAnalyzedSentence(paraMode, rules, charCount, lineCount,
-                          columnCount, sentence, analyzedSentence, annotatedText);
-
-          ruleMatches.addAll(sentenceMatches);
-          charCount += sentence.length();
-          lineCount += countLineBreaks(sentence);
-
-          // calculate matching column:
-          int lineBreakPos = sentence.lastIndexOf('\n');
-          if (lineBreakPos == -1) {
-            columnCount += sentence.length();
-          } else {
-            if (lineBreakPos == 0) {
-              columnCount = sentence.length();
-              if (!language.getSentenceTokenizer().singleLineBreaksMarksPara()) {
-                columnCount--;
-              }
-            } else {
-              columnCount = sentence.length() - lineBreakPos;
-            }
+          // only look at the rules that can match, considering the words and lemmas of the sentence:
+          BitSet candidateRuleIndexes = ruleSet.getCandidateRules(analyzedSentence);
+          candidateRuleIndexes.and(ruleIndexes);
+          CheckStatistics statistics = JLanguageTool.this.statistics;
+          if (statistics != null) {
+            countSkippedRules(statistics, candidateRuleIndexes);
           }
+          List<RuleMatch> sentenceMatches =
+                  matchAnalyzedSentence(paraMode, ruleSet.getRules(candidateRuleIndexes), position.charCount, position.lineCount,
+                          position.columnCount, sentence, analyzedSentence, annotatedText);
+          ruleMatches.add(sentenceMatches);
+          position = position.next(sentence);
         } catch (Exception e) {
           throw new RuntimeException("Could not check sentence: '"
                   + StringUtils.abbreviate(analyzedSentence.toTextString(), 200) + "'", e);
@@ -971,6 +1393,15 @@ public class JLanguageTool {
       return ruleMatches;
     }
 
+    private void countSkippedRules(CheckStatistics statistics, BitSet candidateRuleIndexes) {
+      BitSet skipped = (BitSet) ruleIndexes.clone();
+      skipped.andNot(candidateRuleIndexes);
+      skipped.andNot(ruleSet.getTextLevelRules());
+      for (Rule rule : ruleSet.getRules(skipped)) {
+        statistics.ruleSkipped(rule.getId());
+      }
+    }
+
     private LineColumnRange getLineColumnRange(RuleMatch match) {
       LineColumnPosition fromPos = new LineColumnPosition(-1, -1);
       LineColumnPosition toPos = new LineColumnPosition(-1, -1);
@@ -19,18 +19,27 @@
 package org.languagetool;
 
 import java.io.IOException;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.languagetool.markup.AnnotatedText;
+import org.languagetool.rules.CompiledRuleSet;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.SameRuleGroupFilter;
+import org.languagetool.rules.patterns.AbstractPatternRule;
 
 /**
  * A variant of {@link JLanguageTool} that uses several threads for rule matching.
@@ -44,6 +53,12 @@ import org.languagetool.rules.RuleMatch;
  */
 public class MultiThreadedJLanguageTool extends JLanguageTool {
   
+  // texts with fewer sentences are not split, as the overhead would be larger than the gain:
+  private static final int MIN_SENTENCES_PER_TASK = 10;
+  private static final int RANGES_PER_THREAD = 4;
+  // the number of sentences per thread that are submitted for analysis at the same time:
+  private static final int ANALYSIS_TASKS_PER_THREAD = 4;
+
   private final int threadPoolSize;
   private final ExecutorService threadPool;
 
@@ -120,89 +135,258 @@ public class MultiThreadedJLanguageTool extends JLanguageTool {
     return threadPool;
   }
   
+  /**
+   * Analyzes and checks the sentences in a pipeline: the rules start checking a range of
+   * sentences as soon as these sentences have been analyzed, while the later sentences
+   * are still being analyzed.
+   */
   @Override
-  protected List<AnalyzedSentence> analyzeSentences(List<String> sentences) throws IOException {
-    List<AnalyzedSentence> analyzedSentences = new ArrayList<>();
-    
-    ExecutorService executorService = getExecutorService();
+  protected List<RuleMatch> analyzeAndCheck(List<String> sentences, List<Rule> activeRules, ParagraphHandling paraMode,
+       AnnotatedText annotatedText, boolean lastSentenceEndsParagraph) throws IOException {
+    List<CompletableFuture<AnalyzedSentence>> analyzedSentences = analyze(sentences, lastSentenceEndsParagraph);
+    List<RuleMatch> ruleMatches = check(analyzedSentences, sentences, activeRules, paraMode, annotatedText);
+    for (CompletableFuture<AnalyzedSentence> analyzedSentence : analyzedSentences) {
+      rememberUnknownWords(analyzedSentence.join());
+      printSentenceInfo(analyzedSentence.join());
+    }
+    return ruleMatches;
+  }
 
-    int j = 0;
-    
-    List<Callable<AnalyzedSentence>> callables = new ArrayList<>();
-    for (String sentence : sentences) {
-      AnalyzeSentenceCallable analyzeSentenceCallable = 
-          ++j < sentences.size() 
-            ? new AnalyzeSentenceCallable(sentence)
-            : new ParagraphEndAnalyzeSentenceCallable(sentence);
-      callables.add(analyzeSentenceCallable);
+  /**
+   * Start analyzing the sentences. Only a few sentences per thread are submitted to the thread pool
+   * at the same time, and each finished analysis submits the next sentence. This way, the tasks
+   * that check a range of sentences don't wait in the pool's queue behind the analysis of all
+   * other sentences, and the queue doesn't grow with the length of the text.
+   * @return one future per sentence, completed when the sentence has been analyzed
+   */
+  private List<CompletableFuture<AnalyzedSentence>> analyze(List<String> sentences, boolean lastSentenceEndsParagraph) {
+    List<CompletableFuture<AnalyzedSentence>> futures = new ArrayList<>(sentences.size());
+    for (int i = 0; i < sentences.size(); i++) {
+      futures.add(new CompletableFuture<>());
     }
-    
-    try {
-      List<Future<AnalyzedSentence>> futures = executorService.invokeAll(callables);
-      for (Future<AnalyzedSentence> future : futures) {
-        AnalyzedSentence analyzedSentence = future.get();
-        rememberUnknownWords(analyzedSentence);
-        printSentenceInfo(analyzedSentence);
-        analyzedSentences.add(analyzedSentence);
+    AtomicInteger nextSentence = new AtomicInteger();
+    int maxTasks = Math.min(sentences.size(), getThreadPoolSize() * ANALYSIS_TASKS_PER_THREAD);
+    for (int i = 0; i < maxTasks; i++) {
+      submitAnalysis(sentences, futures, nextSentence, lastSentenceEndsParagraph);
+    }
+    return futures;
+  }
+
+  private void submitAnalysis(List<String> sentences, List<CompletableFuture<AnalyzedSentence>> futures,
+                              AtomicInteger nextSentence, boolean lastSentenceEndsParagraph) {
+    int i = nextSentence.getAndIncrement();
+    if (i >= sentences.size()) {
+      return;
+    }
+    AnalyzeSentenceCallable callable = i < sentences.size() - 1 || !lastSentenceEndsParagraph
+            ? new AnalyzeSentenceCallable(sentences.get(i))
+            : new ParagraphEndAnalyzeSentenceCallable(sentences.get(i));
+    getExecutorService().execute(() -> {
+      try {
+        futures.get(i).complete(callable.call());
+      } catch (Exception e) {
+        futures.get(i).completeExceptionally(e);
+        // no need to analyze the other sentences, the check fails anyway:
+        failRemaining(futures, nextSentence, e);
+        return;
       }
-      
-    } catch (InterruptedException | ExecutionException e) {
-      throw new RuntimeException(e);
+      try {
+        submitAnalysis(sentences, futures, nextSentence, lastSentenceEndsParagraph);
+      } catch (RejectedExecutionException e) {
+        failRemaining(futures, nextSentence, e);
+      }
+    });
+  }
+
+  private static void failRemaining(List<CompletableFuture<AnalyzedSentence>> futures, AtomicInteger nextSentence, Exception e) {
+    for (int i = nextSentence.getAndSet(futures.size()); i < futures.size(); i++) {
+      futures.get(i).completeExceptionally(e);
     }
-    
-    return analyzedSentences;
   }
-  
-  
+
   @Override
   protected List<RuleMatch> performCheck(List<AnalyzedSentence> analyzedSentences, List<String> sentences,
        List<Rule> allRules, ParagraphHandling paraMode, 
        AnnotatedText annotatedText) throws IOException {
-    int charCount = 0;
-    int lineCount = 0;
-    int columnCount = 1;
+    List<CompletableFuture<AnalyzedSentence>> futures = new ArrayList<>(analyzedSentences.size());
+    for (AnalyzedSentence analyzedSentence : analyzedSentences) {
+      futures.add(CompletableFuture.completedFuture(analyzedSentence));
+    }
+    return check(futures, sentences, allRules, paraMode, annotatedText);
+  }
 
-    List<RuleMatch> ruleMatches = new ArrayList<>();
-    
+  /**
+   * Checks the text with tasks that run in parallel: every text-level rule is a task of its own
+   * that starts when all sentences have been analyzed. The pattern rules are split into one shard
+   * per thread, and for longer texts the sentences are split into ranges. For each shard and range,
+   * a task starts when the sentences of the range have been analyzed. Other sentence-level rules
+   * may keep state from one sentence to the next, so their tasks check one range after the other.
+   * The tasks are small, so threads that are done early get more tasks from the pool.
+   * The result is the same, and in the same order, as when checking with a single thread.
+   */
+  private List<RuleMatch> check(List<CompletableFuture<AnalyzedSentence>> analyzedSentenceFutures, List<String> sentences,
+       List<Rule> allRules, ParagraphHandling paraMode, AnnotatedText annotatedText) {
+    CompiledRuleSet ruleSet = getRuleSetFor(allRules);
+    List<SentencePosition> positions = getSentencePositions(sentences);
+    // the tasks only access the sentences they wait for, so this list won't block:
+    List<AnalyzedSentence> analyzedSentences = new AnalyzedSentenceList(analyzedSentenceFutures);
     ExecutorService executorService = getExecutorService();
+
+    CompletableFuture<Void> allAnalyzed = allOf(analyzedSentenceFutures);
+    List<CompletableFuture<List<RuleMatch>>> textLevelFutures = new ArrayList<>();
+    BitSet textLevelRules = ruleSet.getTextLevelRules();
+    for (int i = textLevelRules.nextSetBit(0); i >= 0; i = textLevelRules.nextSetBit(i + 1)) {
+      BitSet ruleIndexes = new BitSet();
+      ruleIndexes.set(i);
+      TextCheckCallable callable = new TextCheckCallable(ruleSet, ruleIndexes, sentences, analyzedSentences,
+              0, 0, paraMode, annotatedText, positions.get(0));
+      textLevelFutures.add(allAnalyzed.thenApplyAsync(ignored -> call(callable::checkTextLevelRules), executorService));
+    }
+
+    int ranges = getSentenceRangeCount(sentences.size());
+    List<CompletableFuture<Void>> rangeAnalyzed = new ArrayList<>(ranges);
+    for (int j = 0; j < ranges; j++) {
+      rangeAnalyzed.add(allOf(analyzedSentenceFutures.subList(getRangeStart(j, ranges, sentences.size()),
+              getRangeStart(j + 1, ranges, sentences.size()))));
+    }
+    // the shards in the order of the rules, so the results can be merged in the same order:
+    List<TextCheckCallable> sentenceTasks = new ArrayList<>();
+    List<CompletableFuture<List<List<RuleMatch>>>> sentenceFutures = new ArrayList<>();
+    for (BitSet shard : getSentenceLevelShards(ruleSet)) {
+      boolean parallel = canCheckSentencesInParallel(ruleSet.getRules().get(shard.nextSetBit(0)));
+      CompletableFuture<?> prevRangeChecked = CompletableFuture.completedFuture(null);
+      for (int j = 0; j < ranges; j++) {
+        int fromSentence = getRangeStart(j, ranges, sentences.size());
+        int toSentence = getRangeStart(j + 1, ranges, sentences.size());
+        TextCheckCallable task = new TextCheckCallable(ruleSet, shard, sentences, analyzedSentences,
+                fromSentence, toSentence, paraMode, annotatedText, positions.get(fromSentence));
+        CompletableFuture<?> canStart = parallel ? rangeAnalyzed.get(j) : CompletableFuture.allOf(rangeAnalyzed.get(j), prevRangeChecked);
+        CompletableFuture<List<List<RuleMatch>>> future = canStart.thenApplyAsync(ignored -> task.checkSentences(), executorService);
+        sentenceTasks.add(task);
+        sentenceFutures.add(future);
+        prevRangeChecked = future;
+      }
+    }
+
+    List<RuleMatch> ruleMatches = new ArrayList<>();
     try {
-      List<Callable<List<RuleMatch>>> callables =
-              createTextCheckCallables(paraMode, annotatedText, analyzedSentences, sentences, allRules, charCount, lineCount, columnCount);
-      List<Future<List<RuleMatch>>> futures = executorService.invokeAll(callables);
-      for (Future<List<RuleMatch>> future : futures) {
+      for (Future<List<RuleMatch>> future : textLevelFutures) {
         ruleMatches.addAll(future.get());
       }
+      List<List<RuleMatch>> matchesBySentence = new ArrayList<>(sentences.size());
+      for (int i = 0; i < sentences.size(); i++) {
+        matchesBySentence.add(new ArrayList<>());
+      }
+      for (int i = 0; i < sentenceTasks.size(); i++) {
+        List<List<RuleMatch>> taskMatches = sentenceFutures.get(i).get();
+        int fromSentence = sentenceTasks.get(i).getFromSentence();
+        for (int j = 0; j < taskMatches.size(); j++) {
+          matchesBySentence.get(fromSentence + j).addAll(taskMatches.get(j));
+        }
+      }
+      for (List<RuleMatch> sentenceMatches : matchesBySentence) {
+        ruleMatches.addAll(new SameRuleGroupFilter().filter(sentenceMatches));
+      }
     } catch (InterruptedException | ExecutionException e) {
       throw new RuntimeException(e);
     }
-    
     return ruleMatches;
   }
 
-  private List<Callable<List<RuleMatch>>> createTextCheckCallables(ParagraphHandling paraMode,
-       AnnotatedText annotatedText, List<AnalyzedSentence> analyzedSentences, List<String> sentences, 
-       List<Rule> allRules, int charCount, int lineCount, int columnCount) {
-    int threads = getThreadPoolSize();
-    int totalRules = allRules.size();
-    int chunkSize = totalRules / threads;
-    int firstItem = 0;
-    List<Callable<List<RuleMatch>>> callables = new ArrayList<>();
-    
-    // split the rules - all rules are independent, so it makes more sense to split
-    // the rules than to split the text:
-    for (int i = 0; i < threads; i++) {
-      List<Rule> subRules;
-      //TODO: make sure we don't split rules with same id so RuleGroupFilter still works
-      if (i == threads - 1) {
-        // make sure the last rules are not lost due to rounding issues:
-        subRules = allRules.subList(firstItem, totalRules);
-      } else {
-        subRules = allRules.subList(firstItem, firstItem + chunkSize);
+  private static CompletableFuture<Void> allOf(List<CompletableFuture<AnalyzedSentence>> futures) {
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]));
+  }
+
+  private static <T> T call(Callable<T> callable) {
+    try {
+      return callable.call();
+    } catch (Exception e) {
+      throw new CompletionException(e);
+    }
+  }
+
+  private static int getRangeStart(int range, int ranges, int sentenceCount) {
+    return sentenceCount * range / ranges;
+  }
+
+  private List<SentencePosition> getSentencePositions(List<String> sentences) {
+    List<SentencePosition> positions = new ArrayList<>(sentences.size() + 1);
+    SentencePosition position = new SentencePosition(0, 0, 1);
+    positions.add(position);
+    for (String sentence : sentences) {
+      position = position.next(sentence);
+      positions.add(position);
+    }
+    return positions;
+  }
+
+  /**
+   * Split the sentence-level rules into shards of consecutive rules. Rules with the same id (i.e. rule groups)
+   * are never split, so {@link SameRuleGroupFilter} works as expected. Each rule that cannot check sentences
+   * in parallel is a shard of its own, the other rules are split into one shard per thread.
+   */
+  private List<BitSet> getSentenceLevelShards(CompiledRuleSet ruleSet) {
+    List<Rule> rules = ruleSet.getRules();
+    BitSet sentenceLevelRules = new BitSet();
+    sentenceLevelRules.set(0, rules.size());
+    sentenceLevelRules.andNot(ruleSet.getTextLevelRules());
+    int parallelRuleCount = 0;
+    for (int i = sentenceLevelRules.nextSetBit(0); i >= 0; i = sentenceLevelRules.nextSetBit(i + 1)) {
+      if (canCheckSentencesInParallel(rules.get(i))) {
+        parallelRuleCount++;
       }
-      callables.add(new TextCheckCallable(subRules, sentences, analyzedSentences, paraMode, annotatedText, charCount, lineCount, columnCount));
-      firstItem = firstItem + chunkSize;
     }
-    return callables;
+    int maxShardSize = Math.max(1, (parallelRuleCount + getThreadPoolSize() - 1) / getThreadPoolSize());
+    List<BitSet> shards = new ArrayList<>();
+    BitSet shard = new BitSet();
+    Rule prevRule = null;
+    for (int i = sentenceLevelRules.nextSetBit(0); i >= 0; i = sentenceLevelRules.nextSetBit(i + 1)) {
+      Rule rule = rules.get(i);
+      boolean sameGroup = prevRule != null && rule.getId().equals(prevRule.getId());
+      boolean sameKind = prevRule != null && canCheckSentencesInParallel(rule) == canCheckSentencesInParallel(prevRule);
+      if (!shard.isEmpty() && !sameGroup &&
+          (!sameKind || !canCheckSentencesInParallel(rule) || shard.cardinality() >= maxShardSize)) {
+        shards.add(shard);
+        shard = new BitSet();
+      }
+      shard.set(i);
+      prevRule = rule;
+    }
+    if (!shard.isEmpty()) {
+      shards.add(shard);
+    }
+    return shards;
+  }
+
+  private int getSentenceRangeCount(int sentenceCount) {
+    // more ranges than threads so that checking can start early while the other sentences are analyzed:
+    int ranges = (sentenceCount + MIN_SENTENCES_PER_TASK - 1) / MIN_SENTENCES_PER_TASK;
+    return Math.max(1, Math.min(ranges, getThreadPoolSize() * RANGES_PER_THREAD));
+  }
+  /**
+   * Pattern rules keep no state between sentences and can be used by several threads
+   * at the same time, so different sentences can be checked by different threads.
+   */
+  private static boolean canCheckSentencesInParallel(Rule rule) {
+    return rule instanceof AbstractPatternRule;
+  }
+
+  /**
+   * A read-only view of the sentences that are being analyzed. Getting a sentence blocks until it has been analyzed.
+   */
+  private static class AnalyzedSentenceList extends AbstractList<AnalyzedSentence> {
+    private final List<CompletableFuture<AnalyzedSentence>> futures;
+    private AnalyzedSentenceList(List<CompletableFuture<AnalyzedSentence>> futures) {
+      this.futures = futures;
+    }
+    @Override
+    public AnalyzedSentence get(int index) {
+      return futures.get(index).join();
+    }
+    @Override
+    public int size() {
+      return futures.size();
+    }
   }
 
   private class AnalyzeSentenceCallable implements Callable<AnalyzedSentence> {
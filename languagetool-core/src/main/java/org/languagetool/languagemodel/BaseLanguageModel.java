@@ -20,8 +20,8 @@ package org.languagetool.languagemodel;
 
 import org.languagetool.rules.ngrams.Probability;
 
-import java.util.List;
-import java.util.Locale;
+import java.util.*;
+import java.util.function.ToLongFunction;
 
 /**
  * The algorithm of a language model, independent of the way data
@@ -39,13 +39,38 @@ public abstract class BaseLanguageModel implements LanguageModel {
 
   @Override
   public Probability getPseudoProbability(List<String> context) {
+    return getPseudoProbability(context, this::getCount);
+  }
+
+  /**
+   * Like {@link #getPseudoProbability(List)}, but the occurrence counts needed for all
+   * contexts are looked up together with {@link #getCounts(Collection)}.
+   * @since 3.4
+   */
+  @Override
+  public List<Probability> getPseudoProbabilities(List<List<String>> contexts) {
+    Set<List<String>> ngrams = new HashSet<>();
+    for (List<String> context : contexts) {
+      for (int i = 1; i <= context.size(); i++) {
+        ngrams.add(context.subList(0, i));
+      }
+    }
+    Map<List<String>,Long> counts = getCounts(ngrams);
+    List<Probability> result = new ArrayList<>(contexts.size());
+    for (List<String> context : contexts) {
+      result.add(getPseudoProbability(context, counts::get));
+    }
+    return result;
+  }
+
+  private Probability getPseudoProbability(List<String> context, ToLongFunction<List<String>> counter) {
     if (this.totalTokenCount == null) {
       this.totalTokenCount = getTotalTokenCount();
     }
     int maxCoverage = 0;
     int coverage = 0;
     // TODO: lm.getCount("_START_") returns 0 for Google data -- see getCount(String) in LuceneLanguageModel
-    long firstWordCount = getCount(context.get(0));
+    long firstWordCount = counter.applyAsLong(context.subList(0, 1));
     maxCoverage++;
     if (firstWordCount > 0) {
       coverage++;
@@ -57,7 +82,7 @@ public abstract class BaseLanguageModel implements LanguageModel {
     long totalCount = 0;
     for (int i = 2; i <= context.size(); i++) {
       List<String> subList = context.subList(0, i);
-      long phraseCount = getCount(subList);
+      long phraseCount = counter.applyAsLong(subList);
       //System.out.println(subList + " -> " +phraseCount);
       if (subList.size() == 3) {
         totalCount = phraseCount;
@@ -88,6 +113,23 @@ public abstract class BaseLanguageModel implements LanguageModel {
    */
   abstract long getCount(List<String> tokens);
 
+  /**
+   * Get the occurrence counts for several token sequences. Sequences that occur more
+   * than once are looked up only once. Sub classes may overwrite this to look up
+   * all sequences in one batch.
+   * @return a map from each of the given token sequences to its occurrence count
+   * @since 3.4
+   */
+  public Map<List<String>,Long> getCounts(Collection<List<String>> ngrams) {
+    Map<List<String>,Long> result = new HashMap<>();
+    for (List<String> ngram : ngrams) {
+      if (!result.containsKey(ngram)) {
+        result.put(ngram, getCount(ngram));
+      }
+    }
+    return result;
+  }
+
   abstract long getTotalTokenCount();
 
   private void debug(String message, Object... vars) {
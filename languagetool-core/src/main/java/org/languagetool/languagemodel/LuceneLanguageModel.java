@@ -21,9 +21,7 @@ package org.languagetool.languagemodel;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 /**
  * Like {@link LuceneSingleIndexLanguageModel}, but can merge the results of
@@ -32,11 +30,11 @@ import java.util.List;
  */
 public class LuceneLanguageModel extends BaseLanguageModel {
 
-  private final List<LuceneSingleIndexLanguageModel> lms = new ArrayList<>();
+  private final List<BaseLanguageModel> lms = new ArrayList<>();
 
   public static void validateDirectory(File topIndexDir) {
     File[] subDirs = getSubDirectoriesOrNull(topIndexDir);
-    if (subDirs == null || subDirs.length == 0) {
+    if ((subDirs == null || subDirs.length == 0) && !MappedLanguageModel.isAvailable(topIndexDir)) {
       LuceneSingleIndexLanguageModel.validateDirectory(topIndexDir);
     }
   }
@@ -52,25 +50,46 @@ public class LuceneLanguageModel extends BaseLanguageModel {
    *                    which are Lucene indexes with ngram occurrences as created by
    *                    {@code org.languagetool.dev.FrequencyIndexCreator}
    *                    or 2) sub directories {@code index-1}, {@code index-2} etc who contain
-   *                    the sub directories described under 1)
+   *                    the sub directories described under 1).
+   *                    If a directory also contains the files created by {@code org.languagetool.dev.bigdata.LuceneNgramIndexConverter}
+   *                    ({@code 1grams.bin} etc.), those are used via {@link MappedLanguageModel} instead of the
+   *                    Lucene indexes (since 3.4).
    */
   public LuceneLanguageModel(File topIndexDir)  {
     File[] subDirs = getSubDirectoriesOrNull(topIndexDir);
     if (subDirs != null && subDirs.length > 0) {
       System.out.println("Running in multi-index mode with " + subDirs.length + " indexes: " + topIndexDir);
       for (File subDir : subDirs) {
-        lms.add(new LuceneSingleIndexLanguageModel(subDir));
+        lms.add(createLanguageModel(subDir));
       }
     } else {
-      lms.add(new LuceneSingleIndexLanguageModel(topIndexDir));
+      lms.add(createLanguageModel(topIndexDir));
     }
   }
 
+  private static BaseLanguageModel createLanguageModel(File indexDir) {
+    if (MappedLanguageModel.isAvailable(indexDir)) {
+      return new MappedLanguageModel(indexDir);
+    }
+    return new LuceneSingleIndexLanguageModel(indexDir);
+  }
+
   @Override
   public long getCount(List<String> tokens) {
     return lms.stream().mapToLong(lm -> lm.getCount(tokens)).sum();
   }
 
+  @Override
+  public Map<List<String>,Long> getCounts(Collection<List<String>> ngrams) {
+    Map<List<String>,Long> result = new HashMap<>();
+    for (BaseLanguageModel lm : lms) {
+      for (Map.Entry<List<String>,Long> entry : lm.getCounts(ngrams).entrySet()) {
+        result.merge(entry.getKey(), entry.getValue(), Long::sum);
+      }
+    }
+    return result;
+  }
+
   @Override
   public long getCount(String token) {
     return getCount(Arrays.asList(token));
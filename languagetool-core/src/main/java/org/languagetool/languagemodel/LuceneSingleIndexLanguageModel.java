@@ -18,10 +18,13 @@
  */
 package org.languagetool.languagemodel;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.commons.lang.StringUtils;
 import org.apache.lucene.index.*;
 import org.apache.lucene.search.*;
 import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
 import org.languagetool.Experimental;
 
 import java.io.File;
@@ -40,11 +43,17 @@ import java.util.*;
 public class LuceneSingleIndexLanguageModel extends BaseLanguageModel {
 
   private static final Map<File,LuceneSearcher> dirToSearcherMap = new HashMap<>();  // static to save memory for language variants
+  private static final long DEFAULT_CACHE_SIZE = 100_000;
+
+  // occurrence counts of recently used ngrams, shared by all instances:
+  private static volatile Cache<CacheKey,Long> countCache = createCountCache(DEFAULT_CACHE_SIZE);
 
   private final List<File> indexes = new ArrayList<>();
   private final Map<Integer,LuceneSearcher> luceneSearcherMap = new HashMap<>();
   private final File topIndexDir;
   private final long maxNgram;
+  // whether a sub class overwrites getCount(List), which getCounts() then needs to use instead of the index:
+  private final boolean overridesGetCount = overridesGetCount(getClass());
 
   /**
    * Throw RuntimeException is the given directory does not seem to be a valid ngram top directory
@@ -77,6 +86,52 @@ public class LuceneSingleIndexLanguageModel extends BaseLanguageModel {
   @Experimental
   public static void clearCaches() {
     dirToSearcherMap.clear();
+    countCache.invalidateAll();
+  }
+
+  /**
+   * Set the maximum number of ngram occurrence counts that are cached for all
+   * instances of this class, default is 100,000. Use {@code 0} to disable the cache.
+   * This also clears the cache.
+   * @since 3.4
+   */
+  @Experimental
+  public static void setCountCacheSize(long maxSize) {
+    countCache = createCountCache(maxSize);
+  }
+
+  /**
+   * How often an ngram occurrence count was found in the cache, i.e. did not need to be looked up in the index.
+   * @since 3.4
+   */
+  @Experimental
+  public static long getCountCacheHitCount() {
+    return countCache.stats().hitCount();
+  }
+
+  /**
+   * How often an ngram occurrence count was not found in the cache and needed to be looked up in the index.
+   * @since 3.4
+   */
+  @Experimental
+  public static long getCountCacheMissCount() {
+    return countCache.stats().missCount();
+  }
+
+  /**
+   * The ratio of cache hits to all lookups of ngram occurrence counts, or {@code 1.0} if there hasn't been a lookup yet.
+   * @since 3.4
+   */
+  @Experimental
+  public static double getCountCacheHitRate() {
+    return countCache.stats().hitRate();
+  }
+
+  private static Cache<CacheKey,Long> createCountCache(long maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxSize must be >= 0: " + maxSize);
+    }
+    return CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
   }
 
   /**
@@ -103,6 +158,14 @@ public class LuceneSingleIndexLanguageModel extends BaseLanguageModel {
     this.topIndexDir = null;
   }
 
+  private static boolean overridesGetCount(Class<?> clazz) {
+    try {
+      return clazz.getMethod("getCount", List.class).getDeclaringClass() != LuceneSingleIndexLanguageModel.class;
+    } catch (NoSuchMethodException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   protected void doValidateDirectory(File topIndexDir) {
     validateDirectory(topIndexDir);
   }
@@ -124,8 +187,84 @@ public class LuceneSingleIndexLanguageModel extends BaseLanguageModel {
       throw new RuntimeException("Requested " + tokens.size() + "gram but index has only up to " + maxNgram + "gram: " + tokens);
     }
     Objects.requireNonNull(tokens);
-    Term term = new Term("ngram", StringUtils.join(tokens, " "));
-    return getCount(term, getLuceneSearcher(tokens.size()));
+    LuceneSearcher luceneSearcher = getLuceneSearcher(tokens.size());
+    String ngram = StringUtils.join(tokens, " ");
+    CacheKey key = new CacheKey(luceneSearcher, ngram);
+    Long count = countCache.getIfPresent(key);
+    if (count == null) {
+      count = getCount(new Term("ngram", ngram), luceneSearcher);
+      countCache.put(key, count);
+    }
+    return count;
+  }
+
+  /**
+   * Get the occurrence counts for several token sequences. The sequences that are not
+   * in the cache are looked up in the order of the index terms, re-using the
+   * {@link TermsEnum} of each index segment. If a sub class overwrites {@link #getCount(List)},
+   * that is used for each sequence instead.
+   * @since 3.4
+   */
+  @Override
+  public Map<List<String>,Long> getCounts(Collection<List<String>> ngrams) {
+    if (overridesGetCount) {
+      return super.getCounts(ngrams);
+    }
+    Map<List<String>,Long> result = new HashMap<>();
+    Map<Integer,SortedMap<BytesRef,List<String>>> sizeToMissingNgrams = new HashMap<>();
+    for (List<String> tokens : ngrams) {
+      if (result.containsKey(tokens)) {
+        continue;
+      }
+      if (tokens.size() > maxNgram) {
+        throw new RuntimeException("Requested " + tokens.size() + "gram but index has only up to " + maxNgram + "gram: " + tokens);
+      }
+      String ngram = StringUtils.join(tokens, " ");
+      Long count = countCache.getIfPresent(new CacheKey(getLuceneSearcher(tokens.size()), ngram));
+      if (count != null) {
+        result.put(tokens, count);
+      } else {
+        result.put(tokens, 0L);
+        sizeToMissingNgrams.computeIfAbsent(tokens.size(), k -> new TreeMap<>())
+                .put(new BytesRef(ngram), tokens);
+      }
+    }
+    for (Map.Entry<Integer,SortedMap<BytesRef,List<String>>> entry : sizeToMissingNgrams.entrySet()) {
+      LuceneSearcher luceneSearcher = getLuceneSearcher(entry.getKey());
+      try {
+        addCounts(entry.getValue(), luceneSearcher, result);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+      for (Map.Entry<BytesRef,List<String>> ngramEntry : entry.getValue().entrySet()) {
+        long count = result.get(ngramEntry.getValue());
+        countCache.put(new CacheKey(luceneSearcher, ngramEntry.getKey().utf8ToString()), count);
+      }
+    }
+    return result;
+  }
+
+  private void addCounts(SortedMap<BytesRef,List<String>> termToNgram, LuceneSearcher luceneSearcher, Map<List<String>,Long> result) throws IOException {
+    for (LeafReaderContext leaf : luceneSearcher.reader.leaves()) {
+      LeafReader leafReader = leaf.reader();
+      Terms terms = leafReader.terms("ngram");
+      if (terms == null) {
+        continue;
+      }
+      TermsEnum termsEnum = terms.iterator();
+      PostingsEnum postings = null;
+      for (Map.Entry<BytesRef,List<String>> entry : termToNgram.entrySet()) {
+        if (termsEnum.seekExact(entry.getKey())) {
+          postings = termsEnum.postings(leafReader.getLiveDocs(), postings, PostingsEnum.NONE);
+          long count = 0;
+          int doc;
+          while ((doc = postings.nextDoc()) != DocIdSetIterator.NO_MORE_DOCS) {
+            count += Long.parseLong(leafReader.document(doc).get("count"));
+          }
+          result.put(entry.getValue(), result.get(entry.getValue()) + count);
+        }
+      }
+    }
   }
 
   @Override
@@ -218,6 +357,26 @@ public class LuceneSingleIndexLanguageModel extends BaseLanguageModel {
     return indexes.toString();
   }
 
+  private static class CacheKey {
+    private final LuceneSearcher luceneSearcher;
+    private final String ngram;
+    private CacheKey(LuceneSearcher luceneSearcher, String ngram) {
+      this.luceneSearcher = luceneSearcher;
+      this.ngram = ngram;
+    }
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      CacheKey other = (CacheKey) o;
+      return luceneSearcher == other.luceneSearcher && ngram.equals(other.ngram);
+    }
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(luceneSearcher) + ngram.hashCode();
+    }
+  }
+
   protected static class LuceneSearcher {
     final FSDirectory directory;
     final IndexReader reader;
@@ -0,0 +1,129 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.languagemodel;
+
+import org.languagetool.Experimental;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Information about ngram occurrences, taken from memory-mapped files called {@code 1grams.bin},
+ * {@code 2grams.bin} etc. as created by {@code org.languagetool.dev.bigdata.LuceneNgramIndexConverter}. Compared to
+ * {@link LuceneSingleIndexLanguageModel}, lookups are faster and don't create garbage, and
+ * the data is shared by all instances (and via the operating system's page cache even by all
+ * processes) that use the same files.
+ * @since 3.4
+ */
+public class MappedLanguageModel extends BaseLanguageModel {
+
+  /** The suffix of the files, which start with the ngram size, e.g. {@code 1grams.bin}. */
+  public static final String FILE_SUFFIX = "grams.bin";
+
+  private static final Map<File,MappedNgramCounts> fileToCountsMap = new ConcurrentHashMap<>();
+
+  private final File topDir;
+  private final MappedNgramCounts[] ngramCounts;  // index: ngram size - 1
+
+  /**
+   * Whether the given directory contains at least a {@code 1grams.bin} file.
+   */
+  public static boolean isAvailable(File topDir) {
+    return getFile(topDir, 1).isFile();
+  }
+
+  /**
+   * @param topDir a directory which contains at least {@code 1grams.bin}, usually also
+   *               {@code 2grams.bin} and {@code 3grams.bin}
+   */
+  public MappedLanguageModel(File topDir) {
+    this.topDir = Objects.requireNonNull(topDir);
+    List<MappedNgramCounts> counts = new ArrayList<>();
+    for (int ngramSize = 1; getFile(topDir, ngramSize).isFile(); ngramSize++) {
+      counts.add(getCachedCounts(getFile(topDir, ngramSize), ngramSize));
+    }
+    if (counts.isEmpty()) {
+      throw new RuntimeException("No file '1grams.bin' found in " + topDir);
+    }
+    ngramCounts = counts.toArray(new MappedNgramCounts[counts.size()]);
+  }
+
+  /**
+   * Forget the files shared by all instances, so that instances created later map them again,
+   * e.g. after they have been re-created. Instances created before keep using the old data.
+   * @since 3.4
+   */
+  @Experimental
+  public static void clearCaches() {
+    fileToCountsMap.clear();
+  }
+
+  private static File getFile(File topDir, int ngramSize) {
+    return new File(topDir, ngramSize + FILE_SUFFIX);
+  }
+
+  private static MappedNgramCounts getCachedCounts(File file, int ngramSize) {
+    MappedNgramCounts counts = fileToCountsMap.computeIfAbsent(file, k -> {
+      try {
+        return new MappedNgramCounts(k);
+      } catch (IOException e) {
+        throw new RuntimeException("Could not load ngram counts from " + k, e);
+      }
+    });
+    if (counts.getNgramSize() != ngramSize) {
+      throw new RuntimeException("Expected " + ngramSize + "grams in " + file + ", found " + counts.getNgramSize() + "grams");
+    }
+    return counts;
+  }
+
+  @Override
+  public long getCount(List<String> tokens) {
+    Objects.requireNonNull(tokens);
+    if (tokens.size() > ngramCounts.length) {
+      throw new RuntimeException("Requested " + tokens.size() + "gram but data has only up to " + ngramCounts.length + "gram: " + tokens);
+    }
+    return ngramCounts[tokens.size() - 1].getCount(tokens);
+  }
+
+  @Override
+  public long getCount(String token1) {
+    Objects.requireNonNull(token1);
+    return getCount(Collections.singletonList(token1));
+  }
+
+  @Override
+  public long getTotalTokenCount() {
+    return ngramCounts[0].getTotalTokenCount();
+  }
+
+  /**
+   * Does nothing, as the mapped files are shared by all instances.
+   */
+  @Override
+  public void close() {
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(ngramCounts);
+  }
+
+}
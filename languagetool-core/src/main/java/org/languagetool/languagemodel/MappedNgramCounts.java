@@ -0,0 +1,190 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.languagemodel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * The occurrence counts of all ngrams of one size, read from a memory-mapped file
+ * as written by {@link MappedNgramCountsWriter}.
+ *
+ * <p>File format (big-endian):</p>
+ * <ul>
+ *   <li>header: magic number (int), format version (int), ngram size (int), unused (int),
+ *       number of ngrams (long), total token count (long, only set for 1grams)</li>
+ *   <li>the count of each ngram (long[number of ngrams])</li>
+ *   <li>the offset of each ngram in the key section, plus the end offset (long[number of ngrams + 1])</li>
+ *   <li>key section: the UTF-8 encoded ngrams (tokens separated by a space), in the byte order
+ *       Lucene uses for its terms</li>
+ * </ul>
+ *
+ * <p>A lookup is a binary search over the mapped keys that doesn't create objects, so
+ * the operating system's page cache is the only cache needed. Thread-safe.</p>
+ * @since 3.4
+ */
+final class MappedNgramCounts {
+
+  static final int MAGIC = 0x4C544E47;  // "LTNG"
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 32;
+
+  // chunks must be a multiple of 8 so no long spans two chunks:
+  private static final int CHUNK_BITS = 30;
+  private static final long CHUNK_SIZE = 1L << CHUNK_BITS;
+  private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+  private final File file;
+  private final MappedByteBuffer[] chunks;
+  private final int ngramSize;
+  private final long entryCount;
+  private final long totalTokenCount;
+  private final long offsetsStart;
+  private final long keysStart;
+
+  MappedNgramCounts(File file) throws IOException {
+    this.file = file;
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long size = channel.size();
+      chunks = new MappedByteBuffer[(int) ((size + CHUNK_SIZE - 1) / CHUNK_SIZE)];
+      for (int i = 0; i < chunks.length; i++) {
+        long start = i * CHUNK_SIZE;
+        chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(CHUNK_SIZE, size - start));
+      }
+      if (size < HEADER_SIZE || getInt(0) != MAGIC) {
+        throw new IOException("Not an ngram count file: " + file);
+      }
+      if (getInt(4) != VERSION) {
+        throw new IOException("Unsupported version " + getInt(4) + " of ngram count file " + file + ", expected " + VERSION);
+      }
+      ngramSize = getInt(8);
+      entryCount = getLong(16);
+      totalTokenCount = getLong(24);
+      offsetsStart = HEADER_SIZE + entryCount * 8;
+      keysStart = offsetsStart + (entryCount + 1) * 8;
+      if (entryCount < 0 || keysStart > size || size != keysStart + getLong(keysStart - 8)) {
+        throw new IOException("Unexpected size " + size + " of ngram count file " + file + ", it may be incomplete");
+      }
+    }
+  }
+
+  int getNgramSize() {
+    return ngramSize;
+  }
+
+  long getEntryCount() {
+    return entryCount;
+  }
+
+  long getTotalTokenCount() {
+    return totalTokenCount;
+  }
+
+  /**
+   * The occurrence count of the ngram made of {@code tokens}, or {@code 0} if it's not known.
+   */
+  long getCount(List<String> tokens) {
+    long low = 0;
+    long high = entryCount - 1;
+    while (low <= high) {
+      long mid = (low + high) >>> 1;
+      int cmp = compareKey(tokens, mid);
+      if (cmp > 0) {
+        low = mid + 1;
+      } else if (cmp < 0) {
+        high = mid - 1;
+      } else {
+        return getLong(HEADER_SIZE + mid * 8);
+      }
+    }
+    return 0;
+  }
+
+  // Compares the UTF-8 bytes of the tokens (joined with spaces) with the bytes of key 'entry'.
+  // Unpaired surrogates are encoded as U+FFFD, like Lucene does for its terms.
+  private int compareKey(List<String> tokens, long entry) {
+    long pos = keysStart + getLong(offsetsStart + entry * 8);
+    long end = keysStart + getLong(offsetsStart + entry * 8 + 8);
+    for (int t = 0; t < tokens.size(); t++) {
+      if (t > 0) {
+        if (pos == end) {
+          return 1;
+        }
+        int cmp = ' ' - getUnsignedByte(pos++);
+        if (cmp != 0) {
+          return cmp;
+        }
+      }
+      String token = tokens.get(t);
+      for (int i = 0; i < token.length(); i++) {
+        int codePoint = token.charAt(i);
+        if (Character.isHighSurrogate((char) codePoint) && i + 1 < token.length() && Character.isLowSurrogate(token.charAt(i + 1))) {
+          codePoint = Character.toCodePoint((char) codePoint, token.charAt(++i));
+        } else if (Character.isSurrogate((char) codePoint)) {
+          codePoint = 0xFFFD;
+        }
+        int byteCount = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+        for (int b = 0; b < byteCount; b++) {
+          if (pos == end) {
+            return 1;
+          }
+          int cmp = getUtf8Byte(codePoint, byteCount, b) - getUnsignedByte(pos++);
+          if (cmp != 0) {
+            return cmp;
+          }
+        }
+      }
+    }
+    return pos == end ? 0 : -1;
+  }
+
+  private static int getUtf8Byte(int codePoint, int byteCount, int index) {
+    if (byteCount == 1) {
+      return codePoint;
+    }
+    int shift = 6 * (byteCount - 1 - index);
+    if (index == 0) {
+      int leadingBits = byteCount == 2 ? 0xC0 : byteCount == 3 ? 0xE0 : 0xF0;
+      return leadingBits | (codePoint >> shift);
+    }
+    return 0x80 | ((codePoint >> shift) & 0x3F);
+  }
+
+  private int getUnsignedByte(long pos) {
+    return chunks[(int) (pos >>> CHUNK_BITS)].get((int) (pos & CHUNK_MASK)) & 0xFF;
+  }
+
+  private int getInt(long pos) {
+    return chunks[(int) (pos >>> CHUNK_BITS)].getInt((int) (pos & CHUNK_MASK));
+  }
+
+  private long getLong(long pos) {
+    return chunks[(int) (pos >>> CHUNK_BITS)].getLong((int) (pos & CHUNK_MASK));
+  }
+
+  @Override
+  public String toString() {
+    return file.toString();
+  }
+
+}
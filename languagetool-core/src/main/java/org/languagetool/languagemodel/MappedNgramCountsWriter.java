@@ -0,0 +1,160 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.languagemodel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes a file that can be read by {@link MappedNgramCounts}. As the file has a fixed layout,
+ * the number of ngrams needs to be known in advance.
+ * The ngrams must be added in ascending order of their (unsigned) bytes.
+ * @since 3.4
+ */
+public final class MappedNgramCountsWriter implements AutoCloseable {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final File file;
+  private final FileChannel channel;
+  private final long entryCount;
+  private final SectionWriter counts;
+  private final SectionWriter offsets;
+  private final SectionWriter keys;
+
+  private byte[] prevKey;
+  private long writtenEntries;
+  private long writtenKeyBytes;
+
+  public MappedNgramCountsWriter(File file, int ngramSize, long entryCount, long totalTokenCount) throws IOException {
+    if (entryCount < 0) {
+      throw new IllegalArgumentException("entryCount must be >= 0: " + entryCount);
+    }
+    this.file = file;
+    this.entryCount = entryCount;
+    this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    ByteBuffer header = ByteBuffer.allocate(MappedNgramCounts.HEADER_SIZE);
+    header.putInt(MappedNgramCounts.MAGIC);
+    header.putInt(MappedNgramCounts.VERSION);
+    header.putInt(ngramSize);
+    header.putInt(0);
+    header.putLong(entryCount);
+    header.putLong(totalTokenCount);
+    header.flip();
+    while (header.hasRemaining()) {
+      channel.write(header, header.position());
+    }
+    long offsetsStart = MappedNgramCounts.HEADER_SIZE + entryCount * 8;
+    long keysStart = offsetsStart + (entryCount + 1) * 8;
+    counts = new SectionWriter(MappedNgramCounts.HEADER_SIZE);
+    offsets = new SectionWriter(offsetsStart);
+    keys = new SectionWriter(keysStart);
+  }
+
+  /**
+   * Add the ngram whose UTF-8 encoded key is {@code key[offset]} to {@code key[offset + length - 1]}.
+   */
+  public void add(byte[] key, int offset, int length, long count) throws IOException {
+    byte[] keyCopy = Arrays.copyOfRange(key, offset, offset + length);
+    if (prevKey != null && compare(prevKey, keyCopy) >= 0) {
+      throw new IllegalArgumentException("Keys must be added in ascending order without duplicates: '" +
+              new String(prevKey, "utf-8") + "' before '" + new String(keyCopy, "utf-8") + "' in " + file);
+    }
+    if (writtenEntries == entryCount) {
+      throw new IllegalStateException("More than the expected " + entryCount + " ngrams added to " + file);
+    }
+    counts.putLong(count);
+    offsets.putLong(writtenKeyBytes);
+    keys.put(keyCopy);
+    prevKey = keyCopy;
+    writtenEntries++;
+    writtenKeyBytes += length;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      if (writtenEntries != entryCount) {
+        throw new IllegalStateException("Expected " + entryCount + " ngrams, but got " + writtenEntries + " for " + file);
+      }
+      offsets.putLong(writtenKeyBytes);
+      counts.flush();
+      offsets.flush();
+      keys.flush();
+    } finally {
+      channel.close();
+    }
+  }
+
+  private static int compare(byte[] b1, byte[] b2) {
+    int length = Math.min(b1.length, b2.length);
+    for (int i = 0; i < length; i++) {
+      int cmp = (b1[i] & 0xFF) - (b2[i] & 0xFF);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    return b1.length - b2.length;
+  }
+
+  // writes one section of the file sequentially, starting at a fixed position
+  private class SectionWriter {
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private long position;
+
+    SectionWriter(long position) {
+      this.position = position;
+    }
+
+    void putLong(long value) throws IOException {
+      if (buffer.remaining() < 8) {
+        flush();
+      }
+      buffer.putLong(value);
+    }
+
+    void put(byte[] bytes) throws IOException {
+      if (buffer.remaining() < bytes.length) {
+        flush();
+      }
+      if (bytes.length > buffer.capacity()) {
+        ByteBuffer bigBuffer = ByteBuffer.wrap(bytes);
+        while (bigBuffer.hasRemaining()) {
+          position += channel.write(bigBuffer, position);
+        }
+      } else {
+        buffer.put(bytes);
+      }
+    }
+
+    void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        position += channel.write(buffer, position);
+      }
+      buffer.clear();
+    }
+  }
+
+}
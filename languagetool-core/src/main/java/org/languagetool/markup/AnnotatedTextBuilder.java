@@ -19,9 +19,8 @@
 package org.languagetool.markup;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Use this builder to create input of text with markup for LanguageTool, so that it
@@ -78,8 +77,10 @@ public class AnnotatedTextBuilder {
   public AnnotatedText build() {
     int plainTextPosition = 0;
     int totalPosition = 0;
-    Map<Integer,Integer> mapping = new HashMap<>();
-    mapping.put(0, 0);
+    // plain text positions never decrease, so the arrays are sorted:
+    int[] plainTextPositions = new int[parts.size() + 1];
+    int[] originalTextPositions = new int[parts.size() + 1];
+    int size = 1;  // position 0 maps to 0
     for (TextPart part : parts) {
       if (part.getType() == TextPart.Type.TEXT) {
         plainTextPosition += part.getPart().length();
@@ -87,9 +88,14 @@ public class AnnotatedTextBuilder {
       } else if (part.getType() == TextPart.Type.MARKUP) {
         totalPosition += part.getPart().length();
       }
-      mapping.put(plainTextPosition, totalPosition);
+      if (plainTextPositions[size - 1] != plainTextPosition) {
+        size++;
+      }
+      // for consecutive markup parts, the last one wins:
+      plainTextPositions[size - 1] = plainTextPosition;
+      originalTextPositions[size - 1] = totalPosition;
     }
-    return new AnnotatedText(parts, mapping);
+    return new AnnotatedText(parts, Arrays.copyOf(plainTextPositions, size), Arrays.copyOf(originalTextPositions, size));
   }
   
 }
@@ -0,0 +1,230 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.rules.patterns.PatternRule;
+
+import java.util.*;
+
+/**
+ * An immutable list of rules with indexes by rule id and category, so that the
+ * set of active rules for a given configuration can be computed with a few
+ * bit operations instead of checking every rule against several sets for every
+ * sentence. The result of {@link #getActiveRules(Set, Set, Set, Set, Set)} is a
+ * {@link BitSet} with one bit per rule, in the order of {@link #getRules()}.
+ *
+ * <p>Pattern rules are also indexed by one of the words or lemmas that a sentence needs to contain
+ * for the rule to match, so {@link #getCandidateRules(AnalyzedSentence)} can find the rules that
+ * might match a sentence without looking at every rule.
+ *
+ * <p>Thread-safety: this class is thread-safe, the rules themselves are not (many of them
+ * keep state between calls to {@link Rule#match(org.languagetool.AnalyzedSentence)}).
+ *
+ * @since 3.4
+ */
+public final class CompiledRuleSet {
+
+  private final List<Rule> rules;
+  private final Map<String, BitSet> rulesById = new HashMap<>();
+  private final Map<CategoryId, BitSet> rulesByCategoryId = new HashMap<>();
+  private final Map<String, BitSet> rulesByCategoryName = new HashMap<>();
+  private final BitSet defaultOffCategoryRules = new BitSet();
+  private final BitSet textLevelRules = new BitSet();
+  private final Map<String, BitSet> rulesByTokenAnchor = new HashMap<>();
+  private final Map<String, BitSet> rulesByLemmaAnchor = new HashMap<>();
+  private final BitSet unanchoredRules = new BitSet();
+
+  public CompiledRuleSet(List<Rule> rules) {
+    this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+    for (int i = 0; i < this.rules.size(); i++) {
+      Rule rule = this.rules.get(i);
+      rulesById.computeIfAbsent(rule.getId(), k -> new BitSet()).set(i);
+      Category category = rule.getCategory();
+      if (category != null) {
+        if (category.getId() != null) {
+          rulesByCategoryId.computeIfAbsent(category.getId(), k -> new BitSet()).set(i);
+        }
+        rulesByCategoryName.computeIfAbsent(category.getName(), k -> new BitSet()).set(i);
+        if (category.isDefaultOff()) {
+          defaultOffCategoryRules.set(i);
+        }
+      }
+      if (rule instanceof TextLevelRule) {
+        textLevelRules.set(i);
+      } else if (rule instanceof PatternRule) {
+        indexAnchor((PatternRule) rule, i);
+      } else {
+        unanchoredRules.set(i);
+      }
+    }
+  }
+
+  // Use the longest required word or lemma as the anchor, as longer words are usually less common:
+  private void indexAnchor(PatternRule rule, int i) {
+    String anchor = null;
+    boolean isLemma = false;
+    for (String token : rule.getSimpleRuleTokens()) {
+      if (anchor == null || token.length() > anchor.length()) {
+        anchor = token;
+      }
+    }
+    for (String lemma : rule.getInflectedRuleTokens()) {
+      if (anchor == null || lemma.length() > anchor.length()) {
+        anchor = lemma;
+        isLemma = true;
+      }
+    }
+    if (anchor == null) {
+      unanchoredRules.set(i);
+    } else if (isLemma) {
+      rulesByLemmaAnchor.computeIfAbsent(anchor, k -> new BitSet()).set(i);
+    } else {
+      rulesByTokenAnchor.computeIfAbsent(anchor, k -> new BitSet()).set(i);
+    }
+  }
+
+  /**
+   * All rules of this set, including those that are not active by default.
+   */
+  public List<Rule> getRules() {
+    return rules;
+  }
+
+  public int size() {
+    return rules.size();
+  }
+
+  /**
+   * The indexes of all rules with the given id (pattern rules in a rule group share their id).
+   * @return a new BitSet, empty if there's no rule with that id
+   */
+  public BitSet getRulesById(String ruleId) {
+    BitSet bits = rulesById.get(ruleId);
+    return bits != null ? (BitSet) bits.clone() : new BitSet();
+  }
+
+  /**
+   * The indexes of all rules in the given category.
+   * @return a new BitSet, empty if there's no rule in that category
+   */
+  public BitSet getRulesByCategory(CategoryId categoryId) {
+    BitSet bits = rulesByCategoryId.get(categoryId);
+    return bits != null ? (BitSet) bits.clone() : new BitSet();
+  }
+
+  /**
+   * The indexes of all rules that implement {@link TextLevelRule}.
+   * @return a new BitSet
+   */
+  public BitSet getTextLevelRules() {
+    return (BitSet) textLevelRules.clone();
+  }
+
+  /**
+   * Get the sentence-level rules that might match the given sentence, i.e. all rules except
+   * text-level rules and those pattern rules that require a word or lemma that's not in the sentence.
+   * For pattern rules, {@link PatternRule#canBeIgnoredFor(AnalyzedSentence)} may still
+   * return {@code true} for the rules returned here.
+   * @return a new BitSet with the indexes of the rules
+   */
+  public BitSet getCandidateRules(AnalyzedSentence sentence) {
+    BitSet candidates = (BitSet) unanchoredRules.clone();
+    if (!rulesByTokenAnchor.isEmpty()) {
+      for (String token : sentence.getTokenSet()) {
+        BitSet bits = rulesByTokenAnchor.get(token);
+        if (bits != null) {
+          candidates.or(bits);
+        }
+      }
+    }
+    if (!rulesByLemmaAnchor.isEmpty()) {
+      for (String lemma : sentence.getLemmaSet()) {
+        BitSet bits = rulesByLemmaAnchor.get(lemma);
+        if (bits != null) {
+          candidates.or(bits);
+        }
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * Compute the rules that are active for the given configuration. A rule is inactive if it is
+   * disabled by id, if it's off by default and not enabled by id, if its category is disabled
+   * (by id or by name), or if its category is off by default and not enabled.
+   * The default on/off state of rules is read at the time of this call, so later calls
+   * to {@link Rule#setDefaultOn()} or {@link Rule#setDefaultOff()} are respected. The categories
+   * of the rules, including whether they are off by default, are only read when this set is
+   * created, so after a call to {@link Rule#setCategory(Category)} a new set needs to be created.
+   * @param disabledRules ids of rules that have been disabled
+   * @param enabledRules ids of rules that are off by default and have been enabled
+   * @param disabledCategories ids of categories that have been disabled
+   * @param disabledCategoryNames names of categories that have been disabled
+   * @param enabledCategories ids of categories that are off by default and have been enabled
+   * @return a new BitSet with the indexes of the active rules
+   */
+  public BitSet getActiveRules(Set<String> disabledRules, Set<String> enabledRules,
+                               Set<CategoryId> disabledCategories, Set<String> disabledCategoryNames,
+                               Set<CategoryId> enabledCategories) {
+    BitSet active = new BitSet(rules.size());
+    active.set(0, rules.size());
+    for (int i = 0; i < rules.size(); i++) {
+      Rule rule = rules.get(i);
+      if (rule.isDefaultOff() && !enabledRules.contains(rule.getId())) {
+        active.clear(i);
+      }
+    }
+    for (String ruleId : disabledRules) {
+      clear(active, rulesById.get(ruleId));
+    }
+    for (CategoryId categoryId : disabledCategories) {
+      clear(active, rulesByCategoryId.get(categoryId));
+    }
+    for (String categoryName : disabledCategoryNames) {
+      clear(active, rulesByCategoryName.get(categoryName));
+    }
+    if (!defaultOffCategoryRules.isEmpty()) {
+      BitSet defaultOff = (BitSet) defaultOffCategoryRules.clone();
+      for (CategoryId categoryId : enabledCategories) {
+        clear(defaultOff, rulesByCategoryId.get(categoryId));
+      }
+      active.andNot(defaultOff);
+    }
+    return active;
+  }
+
+  /**
+   * Get the rules whose indexes are set in {@code ruleIndexes}, in their original order.
+   */
+  public List<Rule> getRules(BitSet ruleIndexes) {
+    List<Rule> result = new ArrayList<>(ruleIndexes.cardinality());
+    for (int i = ruleIndexes.nextSetBit(0); i >= 0; i = ruleIndexes.nextSetBit(i + 1)) {
+      result.add(rules.get(i));
+    }
+    return result;
+  }
+
+  private static void clear(BitSet bits, BitSet toClear) {
+    if (toClear != null) {
+      bits.andNot(toClear);
+    }
+  }
+
+}
@@ -31,6 +31,7 @@ import java.util.*;
 public class ConfusionSet {
 
   private final Set<ConfusionString> set = new HashSet<>();
+  private final Set<ConfusionString> uppercaseFirstCharSet = new HashSet<>();
   private final long factor;
 
   /**
@@ -42,6 +43,7 @@ public class ConfusionSet {
     }
     this.factor = factor;
     set.addAll(Objects.requireNonNull(confusionStrings));
+    initUppercaseFirstCharSet();
   }
 
   /**
@@ -56,6 +58,13 @@ public class ConfusionSet {
     for (String word : words) {
       set.add(new ConfusionString(word, null));
     }
+    initUppercaseFirstCharSet();
+  }
+
+  private void initUppercaseFirstCharSet() {
+    for (ConfusionString s : set) {
+      uppercaseFirstCharSet.add(new ConfusionString(StringTools.uppercaseFirstChar(s.getString()), s.getDescription()));
+    }
   }
 
   /* Alternative must be at least this much more probable to be considered correct. */
@@ -68,12 +77,7 @@ public class ConfusionSet {
   }
 
   public Set<ConfusionString> getUppercaseFirstCharSet() {
-    Set<ConfusionString> result = new HashSet<>();
-    for (ConfusionString s : set) {
-      ConfusionString newString = new ConfusionString(StringTools.uppercaseFirstChar(s.getString()), s.getDescription());
-      result.add(newString);
-    }
-    return Collections.unmodifiableSet(result);
+    return Collections.unmodifiableSet(uppercaseFirstCharSet);
   }
 
   @Override
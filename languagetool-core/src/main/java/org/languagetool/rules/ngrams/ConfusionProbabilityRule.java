@@ -32,6 +32,7 @@ import org.languagetool.tools.Tools;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * LanguageTool's homophone confusion check that uses ngram lookups
@@ -51,7 +52,10 @@ public abstract class ConfusionProbabilityRule extends Rule {
 
   private static final boolean DEBUG = false;
 
-  private final Map<String,List<ConfusionSet>> wordToSets;
+  // confusion sets are immutable, so they are loaded only once per path and shared by all rule instances:
+  private static final Map<String,Map<String,List<ConfusionSet>>> pathToWordToSets = new ConcurrentHashMap<>();
+
+  private Map<String,List<ConfusionSet>> wordToSets;
   private final LanguageModel lm;
   private final int grams;
   private final Language language;
@@ -64,14 +68,8 @@ public abstract class ConfusionProbabilityRule extends Rule {
     super(messages);
     setCategory(Categories.TYPOS.getCategory(messages));
     setLocQualityIssueType(ITSIssueType.NonConformance);
-    ResourceDataBroker dataBroker = JLanguageTool.getDataBroker();
     String path = "/" + language.getShortName() + "/confusion_sets.txt";
-    try (InputStream confusionSetStream = dataBroker.getFromResourceDirAsStream(path)) {
-      ConfusionSetLoader confusionSetLoader = new ConfusionSetLoader();
-      this.wordToSets = confusionSetLoader.loadConfusionSet(confusionSetStream);
-    } catch (IOException e) {
-      throw new RuntimeException(e);
-    }
+    this.wordToSets = pathToWordToSets.computeIfAbsent(path, ConfusionProbabilityRule::loadConfusionSets);
     this.lm = Objects.requireNonNull(languageModel);
     this.language = Objects.requireNonNull(language);
     if (grams < 1 || grams > 5) {
@@ -80,6 +78,20 @@ public abstract class ConfusionProbabilityRule extends Rule {
     this.grams = grams;
   }
 
+  private static Map<String,List<ConfusionSet>> loadConfusionSets(String path) {
+    ResourceDataBroker dataBroker = JLanguageTool.getDataBroker();
+    try (InputStream confusionSetStream = dataBroker.getFromResourceDirAsStream(path)) {
+      ConfusionSetLoader confusionSetLoader = new ConfusionSetLoader();
+      Map<String,List<ConfusionSet>> wordToSets = confusionSetLoader.loadConfusionSet(confusionSetStream);
+      for (Map.Entry<String,List<ConfusionSet>> entry : wordToSets.entrySet()) {
+        entry.setValue(Collections.unmodifiableList(entry.getValue()));
+      }
+      return Collections.unmodifiableMap(wordToSets);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   @Override
   public String getId() {
     return RULE_ID;
@@ -156,7 +168,7 @@ public abstract class ConfusionProbabilityRule extends Rule {
 
   /** @deprecated used only for tests */
   public void setConfusionSet(ConfusionSet set) {
-    wordToSets.clear();
+    wordToSets = new HashMap<>();
     for (ConfusionString word : set.getSet()) {
       wordToSets.put(word.getString(), Collections.singletonList(set));
     }
@@ -199,17 +211,14 @@ public abstract class ConfusionProbabilityRule extends Rule {
 
   private ConfusionString getBetterAlternativeOrNull(GoogleToken token, List<GoogleToken> tokens, ConfusionString otherWord, long factor) {
     String word = token.token;
-    double p1;
-    double p2;
-    if (grams == 3) {
-      p1 = get3gramProbabilityFor(token, tokens, word);
-      p2 = get3gramProbabilityFor(token, tokens, otherWord.getString());
-    } else if (grams == 4) {
-      p1 = get4gramProbabilityFor(token, tokens, word);
-      p2 = get4gramProbabilityFor(token, tokens, otherWord.getString());
-    } else {
-      throw new RuntimeException("Only 3grams and 4grams are supported");
-    }
+    // the contexts of both words are looked up together, as they share many ngrams:
+    List<List<String>> contexts1 = getContexts(token, tokens, word);
+    List<List<String>> contexts2 = getContexts(token, tokens, otherWord.getString());
+    List<List<String>> allContexts = new ArrayList<>(contexts1);
+    allContexts.addAll(contexts2);
+    List<Probability> probabilities = lm.getPseudoProbabilities(allContexts);
+    double p1 = getProbability(probabilities.subList(0, contexts1.size()));
+    double p2 = getProbability(probabilities.subList(contexts1.size(), probabilities.size()));
     debug("P(" + word + ") = %.90f\n", p1);
     debug("P(" + otherWord + ") = %.90f\n", p2);
     return p2 >= MIN_PROB && p2 > p1 * factor ? otherWord : null;
@@ -262,44 +271,48 @@ public abstract class ConfusionProbabilityRule extends Rule {
     return result;
   }
 
-  private double get3gramProbabilityFor(GoogleToken token, List<GoogleToken> tokens, String term) {
-    List<GoogleToken> newTokens = GoogleToken.getGoogleTokens(term, false, getGoogleStyleWordTokenizer());
-    Probability ngram3Left;
-    Probability ngram3Middle;
-    Probability ngram3Right;
-    if (newTokens.size() == 1) {
-      ngram3Left = lm.getPseudoProbability(getContext(token, tokens, term, 0, 2));
-      ngram3Middle = lm.getPseudoProbability(getContext(token, tokens, term, 1, 1));
-      ngram3Right = lm.getPseudoProbability(getContext(token, tokens, term, 2, 0));
-    } else if (newTokens.size() == 2) {
-      // e.g. you're -> you 're
-      ngram3Left = lm.getPseudoProbability(getContext(token, tokens, newTokens, 0, 1));
-      ngram3Right = lm.getPseudoProbability(getContext(token, tokens, newTokens, 1, 0));
-      // we cannot just use new Probability(1.0, 1.0f) as that would always produce higher
-      // probabilities than in the case of one token (eg. "your"):
-      ngram3Middle = new Probability((ngram3Left.getProb() + ngram3Right.getProb()) / 2, 1.0f); 
-    } else {
-      throw new RuntimeException("Words that consists of more than 2 tokens (according to Google tokenization) are not supported yet: " + term + " -> " + newTokens);
-    }
-    if (ngram3Left.getCoverage() < MIN_COVERAGE && ngram3Middle.getCoverage() < MIN_COVERAGE && ngram3Right.getCoverage() < MIN_COVERAGE) {
-      debug("  Min coverage of %.2f not reached: %.2f, %.2f, %.2f, assuming p=0\n", MIN_COVERAGE, ngram3Left.getCoverage(), ngram3Middle.getCoverage(), ngram3Right.getCoverage());
-      return 0.0;
+  // the left, middle, and right context of 'term', or only the left and right one if 'term' consists of two tokens
+  private List<List<String>> getContexts(GoogleToken token, List<GoogleToken> tokens, String term) {
+    if (grams == 3) {
+      List<GoogleToken> newTokens = GoogleToken.getGoogleTokens(term, false, getGoogleStyleWordTokenizer());
+      if (newTokens.size() == 1) {
+        return Arrays.asList(getContext(token, tokens, term, 0, 2),
+                             getContext(token, tokens, term, 1, 1),
+                             getContext(token, tokens, term, 2, 0));
+      } else if (newTokens.size() == 2) {
+        // e.g. you're -> you 're
+        return Arrays.asList(getContext(token, tokens, newTokens, 0, 1),
+                             getContext(token, tokens, newTokens, 1, 0));
+      } else {
+        throw new RuntimeException("Words that consists of more than 2 tokens (according to Google tokenization) are not supported yet: " + term + " -> " + newTokens);
+      }
+    } else if (grams == 4) {
+      return Arrays.asList(getContext(token, tokens, term, 0, 3),
+                           getContext(token, tokens, term, 1, 2),
+                           getContext(token, tokens, term, 3, 0));
     } else {
-      //debug("  Min coverage of %.2f okay: %.2f, %.2f\n", MIN_COVERAGE, ngram3Left.getCoverage(), ngram3Right.getCoverage());
-      return ngram3Left.getProb() * ngram3Middle.getProb() * ngram3Right.getProb();
+      throw new RuntimeException("Only 3grams and 4grams are supported");
     }
   }
 
-  private double get4gramProbabilityFor(GoogleToken token, List<GoogleToken> tokens, String term) {
-    Probability ngram4Left = lm.getPseudoProbability(getContext(token, tokens, term, 0, 3));
-    Probability ngram4Middle = lm.getPseudoProbability(getContext(token, tokens, term, 1, 2));
-    Probability ngram4Right = lm.getPseudoProbability(getContext(token, tokens, term, 3, 0));
-    if (ngram4Left.getCoverage() < MIN_COVERAGE && ngram4Middle.getCoverage() < MIN_COVERAGE && ngram4Right.getCoverage() < MIN_COVERAGE) {
-      debug("  Min coverage of %.2f not reached: %.2f, %.2f, %.2f, assuming p=0\n", MIN_COVERAGE, ngram4Left.getCoverage(), ngram4Middle.getCoverage(), ngram4Right.getCoverage());
+  private double getProbability(List<Probability> contextProbabilities) {
+    Probability left = contextProbabilities.get(0);
+    Probability middle;
+    Probability right;
+    if (contextProbabilities.size() == 2) {
+      right = contextProbabilities.get(1);
+      // we cannot just use new Probability(1.0, 1.0f) as that would always produce higher
+      // probabilities than in the case of one token (eg. "your"):
+      middle = new Probability((left.getProb() + right.getProb()) / 2, 1.0f);
+    } else {
+      middle = contextProbabilities.get(1);
+      right = contextProbabilities.get(2);
+    }
+    if (left.getCoverage() < MIN_COVERAGE && middle.getCoverage() < MIN_COVERAGE && right.getCoverage() < MIN_COVERAGE) {
+      debug("  Min coverage of %.2f not reached: %.2f, %.2f, %.2f, assuming p=0\n", MIN_COVERAGE, left.getCoverage(), middle.getCoverage(), right.getCoverage());
       return 0.0;
     } else {
-      //debug("  Min coverage of %.2f okay: %.2f, %.2f\n", MIN_COVERAGE, ngram3Left.coverage, ngram3Right.coverage);
-      return ngram4Left.getProb() * ngram4Middle.getProb() * ngram4Right.getProb();
+      return left.getProb() * middle.getProb() * right.getProb();
     }
   }
 
@@ -105,6 +105,12 @@ public class NgramProbabilityRule extends Rule {
   public RuleMatch[] match(AnalyzedSentence sentence) throws IOException {
     List<GoogleToken> tokens = GoogleToken.getGoogleTokens(sentence, true, getGoogleStyleWordTokenizer());
     List<RuleMatch> matches = new ArrayList<>();
+    // look up the 3grams of the whole sentence at once:
+    List<List<String>> contexts = new ArrayList<>();
+    for (int j = 2; j < tokens.size() - 1; j++) {
+      contexts.add(Arrays.asList(tokens.get(j-1).token, tokens.get(j).token, tokens.get(j+1).token));
+    }
+    List<Probability> probabilities = lm.getPseudoProbabilities(contexts);
     GoogleToken prevPrevToken = null;
     GoogleToken prevToken = null;
     int i = 0;
@@ -117,7 +123,7 @@ public class NgramProbabilityRule extends Rule {
           //Probability p = lm.getPseudoProbability(Arrays.asList(prevToken.token, token));
           //Probability p = lm.getPseudoProbability(Arrays.asList(token, next.token));
           // 3grams:
-          Probability p = lm.getPseudoProbability(Arrays.asList(prevToken.token, token, next.token));
+          Probability p = probabilities.get(i-2);
           // a test with 4grams with fallback:
           /*Probability p = lm.getPseudoProbability(Arrays.asList(prevPrevToken.token, prevToken.token, token, next.token));
           if (p.getOccurrences() == 0) {
@@ -216,13 +222,21 @@ public class NgramProbabilityRule extends Rule {
       Synthesizer synthesizer = language.getSynthesizer();
       if (synthesizer != null) {
         String[] forms = synthesizer.synthesize(new AnalyzedToken(token.token, "not_used", reading.get().getLemma()), replacement.alternativeTag);
+        List<String> alternativeTokens = new ArrayList<>();
+        List<List<String>> alternativeNgrams = new ArrayList<>();
         for (String alternativeToken : forms) {
           if (alternativeToken.equals(token)) {
             continue;
           }
+          alternativeTokens.add(alternativeToken);
+          alternativeNgrams.add(Arrays.asList(prevToken.token, alternativeToken, next.token));
+        }
+        List<Probability> alternativeProbabilities = lm.getPseudoProbabilities(alternativeNgrams);
+        for (int i = 0; i < alternativeTokens.size(); i++) {
+          String alternativeToken = alternativeTokens.get(i);
           List<String> ngram = Arrays.asList(prevToken.token, token.token, next.token);
-          List<String> alternativeNgram = Arrays.asList(prevToken.token, alternativeToken, next.token);
-          Probability alternativeProbability = lm.getPseudoProbability(alternativeNgram);
+          List<String> alternativeNgram = alternativeNgrams.get(i);
+          Probability alternativeProbability = alternativeProbabilities.get(i);
           if (alternativeProbability.getProb() >= p.getProb()) {  // TODO: consider a factor?
             debug("More probable alternative to '%s': %s\n", ngram, alternativeNgram);
             betterAlternatives.add(new Alternative(alternativeToken, alternativeProbability));
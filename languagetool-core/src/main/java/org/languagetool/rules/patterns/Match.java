@@ -20,6 +20,7 @@ package org.languagetool.rules.patterns;
 
 import java.util.regex.Pattern;
 
+import org.jetbrains.annotations.Nullable;
 import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.synthesis.Synthesizer;
 import org.languagetool.tools.StringTools;
@@ -49,8 +50,9 @@ public final class Match {
   private final String posTagReplace;
   private final CaseConversion caseConversionType;
   private final IncludeRange includeSkipped;
-  // Pattern used to define parts of the matched token:
-  private final Pattern pRegexMatch;
+  private final String regexMatch;
+  // Pattern used to define parts of the matched token, compiled on first use:
+  private volatile Pattern pRegexMatch;
   // True if this match element is used for formatting POS token:
   private final boolean setPos;
 
@@ -60,8 +62,8 @@ public final class Match {
   private boolean staticLemma;
   private String lemma;
   private int tokenRef;
-  // Pattern used to define parts of the matched POS token:
-  private Pattern pPosRegexMatch;
+  // Pattern used to define parts of the matched POS token, compiled on first use:
+  private volatile Pattern pPosRegexMatch;
   // True when the match is not in the suggestion:
   private boolean inMessageOnly;
 
@@ -74,10 +76,7 @@ public final class Match {
     this.posTag = posTag;
     this.postagRegexp = postagRegexp;
     this.caseConversionType = caseConversionType;
-    pRegexMatch = regexMatch != null ? Pattern.compile(regexMatch) : null;
-    if (postagRegexp && posTag != null) {
-      pPosRegexMatch = Pattern.compile(posTag);
-    }
+    this.regexMatch = regexMatch;
     this.regexReplace = regexReplace;
     this.posTagReplace = posTagReplace;
     this.setPos = setPOS;
@@ -131,9 +130,6 @@ public final class Match {
       lemma = lemmaString;
       staticLemma = true;
       postagRegexp = true;
-      if (posTag != null) {
-        pPosRegexMatch = Pattern.compile(posTag);
-      }
     }
   }
 
@@ -199,8 +195,14 @@ public final class Match {
   }
 
   /** @since 2.3 */
+  @Nullable
   public Pattern getRegexMatch() {
-    return pRegexMatch;
+    Pattern p = pRegexMatch;
+    if (p == null && regexMatch != null) {
+      p = Pattern.compile(regexMatch);
+      pRegexMatch = p;
+    }
+    return p;
   }
 
   /** @since 2.3 */
@@ -209,8 +211,14 @@ public final class Match {
   }
 
   /** @since 2.3 */
+  @Nullable
   public Pattern getPosRegexMatch() {
-    return pPosRegexMatch;
+    Pattern p = pPosRegexMatch;
+    if (p == null && postagRegexp && posTag != null) {
+      p = Pattern.compile(posTag);
+      pPosRegexMatch = p;
+    }
+    return p;
   }
 
   /** @since 2.3 */
@@ -20,6 +20,7 @@ package org.languagetool.rules.patterns;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.languagetool.AnalyzedSentence;
 import org.languagetool.Language;
@@ -50,6 +51,11 @@ public class PatternRule extends AbstractPatternRule {
   // Marks whether the rule is a member of a disjunctive set (in case of OR operation on phraserefs).
   private boolean isMemberOfDisjunctiveSet;
 
+  // A matcher keeps state while matching, so a thread takes the idle matcher and puts it back when
+  // it's done (or creates a new one if another thread is using it). Not a ThreadLocal, as the matcher
+  // refers to this rule, which then could never be garbage collected while the thread is alive:
+  private final AtomicReference<PatternRuleMatcher> idleMatcher = new AtomicReference<>();
+
   /**
    * @param id Id of the Rule. Used in configuration. Should not contain special characters and should
    *        be stable over time, unless the rule changes completely.
@@ -151,15 +157,20 @@ public class PatternRule extends AbstractPatternRule {
   @Override
   public final RuleMatch[] match(AnalyzedSentence sentence) throws IOException {
     try {
-      RuleMatcher matcher;
       if (patternTokens != null) {
-        matcher = new PatternRuleMatcher(this, useList);
+        PatternRuleMatcher matcher = idleMatcher.getAndSet(null);
+        if (matcher == null) {
+          matcher = new PatternRuleMatcher(this, useList);
+        }
+        RuleMatch[] matches = matcher.match(getSentenceWithImmunization(sentence));
+        idleMatcher.set(matcher);
+        return matches;
       } else if (regex != null) {
-        matcher = new RegexPatternRule(this.getId(), getDescription(), getMessage(), getSuggestionsOutMsg(), language, regex, regexMark);
+        RuleMatcher matcher = new RegexPatternRule(this.getId(), getDescription(), getMessage(), getSuggestionsOutMsg(), language, regex, regexMark);
+        return matcher.match(getSentenceWithImmunization(sentence));
       } else {
         throw new IllegalStateException("Neither pattern tokens nor regex set for rule " + getId());
       }
-      return matcher.match(getSentenceWithImmunization(sentence));
     } catch (IOException e) {
       throw new IOException("Error analyzing sentence: '" + sentence + "'", e);
     } catch (Exception e) {
@@ -177,6 +188,24 @@ public class PatternRule extends AbstractPatternRule {
             || (!inflectedRuleTokens.isEmpty() && !sentence.getLemmaSet().containsAll(inflectedRuleTokens));
   }
 
+  /**
+   * The lowercase tokens (not inflected) that must all appear in a sentence for this rule to match.
+   * Used internally for performance optimization.
+   * @since 3.4
+   */
+  public Set<String> getSimpleRuleTokens() {
+    return simpleRuleTokens;
+  }
+
+  /**
+   * The lowercase lemmas (of inflected pattern tokens) that must all appear in a sentence for this
+   * rule to match. Used internally for performance optimization.
+   * @since 3.4
+   */
+  public Set<String> getInflectedRuleTokens() {
+    return inflectedRuleTokens;
+  }
+
   // tokens that just refer to a word - no regex and optionally no inflection etc.
   private Set<String> getSet(boolean isInflected) {
     Set<String> set = new HashSet<>();
@@ -22,9 +22,11 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.apache.commons.lang.ObjectUtils;
 import org.languagetool.Languages;
@@ -345,6 +347,14 @@ public class PatternRuleHandler extends XMLRuleHandler {
         break;
       case EXCEPTION:
         finalizeExceptions();
+        List<PatternToken> exceptionTokens = new ArrayList<>();
+        if (patternToken.getExceptionList() != null) {
+          exceptionTokens.addAll(patternToken.getExceptionList());
+        }
+        if (patternToken.getPreviousExceptionList() != null) {
+          exceptionTokens.addAll(patternToken.getPreviousExceptionList());
+        }
+        compileRegularExpressions(EXCEPTION, exceptionTokens);
         break;
       case AND:
         inAndGroup = false;
@@ -358,6 +368,7 @@ public class PatternRuleHandler extends XMLRuleHandler {
         break;
       case TOKEN:
         finalizeTokens();
+        compileRegularExpressions(TOKEN, Collections.singletonList(patternToken));
         break;
       case PATTERN:
         inPattern = false;
@@ -443,13 +454,11 @@ public class PatternRuleHandler extends XMLRuleHandler {
         break;
       case MATCH:
         if (inMessage) {
-          suggestionMatches.get(suggestionMatches.size() - 1).
-              setLemmaString(match.toString());
+          finishMatchElement(suggestionMatches.get(suggestionMatches.size() - 1));
         } else if (inSuggestion) {
-          suggestionMatchesOutMsg.get(suggestionMatchesOutMsg.size() - 1).
-              setLemmaString(match.toString());
+          finishMatchElement(suggestionMatchesOutMsg.get(suggestionMatchesOutMsg.size() - 1));
         } else if (inToken) {
-          tokenReference.setLemmaString(match.toString());
+          finishMatchElement(tokenReference);
         }
         inMatch = false;
         break;
@@ -584,6 +593,32 @@ public class PatternRuleHandler extends XMLRuleHandler {
     return sb.toString();
   }
 
+  private void finishMatchElement(Match matchElement) throws SAXException {
+    matchElement.setLemmaString(match.toString());
+    // Match only compiles its regular expressions when they are first used, but an
+    // invalid one should make loading the rules fail, not checking a text:
+    try {
+      matchElement.getRegexMatch();
+      matchElement.getPosRegexMatch();
+    } catch (PatternSyntaxException e) {
+      throw new SAXException("Invalid regular expression in <match> of rule '" + id + "': " + e.getMessage()
+          + "\n Line: " + pLocator.getLineNumber() + ", column: " + pLocator.getColumnNumber() + ".", e);
+    }
+  }
+
+  // PatternToken only compiles its regular expressions when they are first used, but an
+  // invalid one should make loading the rules fail, not checking a text:
+  private void compileRegularExpressions(String elementName, List<PatternToken> tokens) throws SAXException {
+    try {
+      for (PatternToken token : tokens) {
+        token.compileRegularExpressions();
+      }
+    } catch (PatternSyntaxException e) {
+      throw new SAXException("Invalid regular expression in <" + elementName + "> of rule '" + id + "': " + e.getMessage()
+          + "\n Line: " + pLocator.getLineNumber() + ", column: " + pLocator.getColumnNumber() + ".", e);
+    }
+  }
+
   protected void prepareRule(AbstractPatternRule rule) {
     if (startPos != -1 && endPos != -1) {
       rule.setStartPositionCorrection(startPos);
@@ -33,34 +33,43 @@ import java.util.Arrays;
 import java.util.List;
 
 /**
- * Matches a pattern rule against text.
+ * Matches a pattern rule against text. An instance keeps state while matching
+ * and can be re-used for many sentences, but must not be used by more than one
+ * thread at the same time.
  */
 final class PatternRuleMatcher extends AbstractPatternRulePerformer implements RuleMatcher {
 
   private static final String SUGGESTION_START_TAG = "<suggestion>";
   private static final String SUGGESTION_END_TAG = "</suggestion>";
   private static final String MISTAKE = "<mistake/>";
+  private static final RuleMatch[] NO_MATCHES = new RuleMatch[0];
 
   private final boolean useList;
   private final List<PatternTokenMatcher> patternTokenMatchers;
+  private final int minOccurCorrection;
+  // the number of tokens matched by each pattern token, re-used for every position and sentence:
+  private final int[] tokenPositions;
 
   PatternRuleMatcher(PatternRule rule, boolean useList) {
     super(rule, rule.getLanguage().getUnifier());
     this.useList = useList;
     this.patternTokenMatchers = createElementMatchers();
+    this.minOccurCorrection = getMinOccurrenceCorrection();
+    this.tokenPositions = new int[patternTokenMatchers.size()];
   }
 
   @Override
   public RuleMatch[] match(AnalyzedSentence sentence) throws IOException {
-    List<RuleMatch> ruleMatches = new ArrayList<>();
+    List<RuleMatch> ruleMatches = null;
 
     AnalyzedTokenReadings[] tokens = sentence.getTokensWithoutWhitespace();
-    List<Integer> tokenPositions = new ArrayList<>(tokens.length + 1);
     int patternSize = patternTokenMatchers.size();
+    for (int k = 0; k < patternSize; k++) {
+      patternTokenMatchers.get(k).reset();
+    }
     int limit = Math.max(0, tokens.length - patternSize + 1);
     PatternTokenMatcher pTokenMatcher = null;
     int i = 0;
-    int minOccurCorrection = getMinOccurrenceCorrection();
     while (i < limit + minOccurCorrection && !(rule.isSentStart() && i > 0)) {
       int skipShiftTotal = 0;
       boolean allElementsMatch = false;
@@ -72,7 +81,7 @@ final class PatternRuleMatcher extends AbstractPatternRulePerformer implements R
       if (rule.isTestUnification()) {
         unifier.reset();
       }
-      tokenPositions.clear();
+      int tokenPositionCount = 0;
       int minOccurSkip = 0;
       for (int k = 0; k < patternSize; k++) {
         PatternTokenMatcher prevTokenMatcher = pTokenMatcher;
@@ -97,7 +106,7 @@ final class PatternRuleMatcher extends AbstractPatternRulePerformer implements R
                 // this element doesn't match, but it's optional so accept this and continue
                 allElementsMatch = true;
                 minOccurSkip++;
-                tokenPositions.add(0);
+                tokenPositions[tokenPositionCount++] = 0;
                 foundNext = true;
                 break;
               } else if (nextElement.getPatternToken().getMinOccurrence() > 0) {
@@ -114,7 +123,7 @@ final class PatternRuleMatcher extends AbstractPatternRulePerformer implements R
                 prevTokenMatcher, m, patternSize - k -1);
             lastMatchToken = m + skipForMax;
             int skipShift = lastMatchToken - nextPos;
-            tokenPositions.add(skipShift + 1);
+            tokenPositions[tokenPositionCount++] = skipShift + 1;
             prevSkipNext = translateElementNo(pTokenMatcher.getPatternToken().getSkipNext());
             skipShiftTotal += skipShift;
             if (firstMatchToken == -1) {
@@ -133,22 +142,28 @@ final class PatternRuleMatcher extends AbstractPatternRulePerformer implements R
           break;
         }
       }
-      if (allElementsMatch && tokenPositions.size() == patternSize) {
-        RuleMatch ruleMatch = createRuleMatch(tokenPositions,
+      if (allElementsMatch && tokenPositionCount == patternSize) {
+        RuleMatch ruleMatch = createRuleMatch(Arrays.copyOf(tokenPositions, tokenPositionCount),
             tokens, firstMatchToken, lastMatchToken, firstMarkerMatchToken, lastMarkerMatchToken);
         if (ruleMatch != null) {
+          if (ruleMatches == null) {
+            ruleMatches = new ArrayList<>();
+          }
           ruleMatches.add(ruleMatch);
         }
       }
       i++;
     }
+    if (ruleMatches == null) {
+      return NO_MATCHES;
+    }
     RuleMatchFilter maxFilter = new RuleWithMaxFilter();
     List<RuleMatch> filteredMatches = maxFilter.filter(ruleMatches);
     return filteredMatches.toArray(new RuleMatch[filteredMatches.size()]);
   }
 
   @Nullable
-  private RuleMatch createRuleMatch(List<Integer> tokenPositions,
+  private RuleMatch createRuleMatch(int[] tokenPositions,
       AnalyzedTokenReadings[] tokens, int firstMatchToken,
       int lastMatchToken, int firstMarkerMatchToken, int lastMarkerMatchToken) throws IOException {
     PatternRule rule = (PatternRule) this.rule;
@@ -160,8 +175,8 @@ final class PatternRuleMatcher extends AbstractPatternRulePerformer implements R
             firstMatchToken, rule.getSuggestionsOutMsg(), rule.getSuggestionMatchesOutMsg());
     int correctedStPos = 0;
     if (rule.startPositionCorrection > 0) {
-      for (int l = 0; l <= Math.min(rule.startPositionCorrection, tokenPositions.size() - 1); l++) {
-        correctedStPos += tokenPositions.get(l);
+      for (int l = 0; l <= Math.min(rule.startPositionCorrection, tokenPositions.length - 1); l++) {
+        correctedStPos += tokenPositions[l];
       }
       correctedStPos--;
     }
@@ -206,7 +221,11 @@ final class PatternRuleMatcher extends AbstractPatternRulePerformer implements R
         if (rule.getFilter() != null) {
           RuleFilterEvaluator evaluator = new RuleFilterEvaluator(rule.getFilter());
           AnalyzedTokenReadings[] patternTokens = Arrays.copyOfRange(tokens, firstMatchToken, lastMatchToken + 1);
-          return evaluator.runFilter(rule.getFilterArguments(), ruleMatch, patternTokens, tokenPositions);
+          List<Integer> positions = new ArrayList<>(tokenPositions.length);
+          for (int tokenPosition : tokenPositions) {
+            positions.add(tokenPosition);
+          }
+          return evaluator.runFilter(rule.getFilterArguments(), ruleMatch, patternTokens, positions);
         } else {
           return ruleMatch; 
         }
@@ -262,7 +281,7 @@ final class PatternRuleMatcher extends AbstractPatternRulePerformer implements R
    * @return String Formatted message.
    */
   private String formatMatches(AnalyzedTokenReadings[] tokenReadings,
-      List<Integer> positions, int firstMatchTok, String errorMsg,
+      int[] positions, int firstMatchTok, String errorMsg,
       List<Match> suggestionMatches) throws IOException {
     String errorMessage = errorMsg;
     int matchCounter = 0;
@@ -286,11 +305,11 @@ final class PatternRuleMatcher extends AbstractPatternRulePerformer implements R
             + numLen)) - 1;
         int repTokenPos = 0;
         int nextTokenPos = 0;
-        for (int l = 0; l <= Math.min(j, positions.size() - 1); l++) {
-          repTokenPos += positions.get(l);
+        for (int l = 0; l <= Math.min(j, positions.length - 1); l++) {
+          repTokenPos += positions[l];
         }
-        if (j + 1 < positions.size()) {
-          nextTokenPos = firstMatchTok + repTokenPos + positions.get(j + 1);
+        if (j + 1 < positions.length) {
+          nextTokenPos = firstMatchTok + repTokenPos + positions[j + 1];
         }
 
         if (suggestionMatches != null && suggestionMatches.size() > 0) {
@@ -298,9 +317,9 @@ final class PatternRuleMatcher extends AbstractPatternRulePerformer implements R
             numbersToMatches[j] = matchCounter;
             // if token is optional remove it from suggestions:
             String[] matches;
-            if (j >= positions.size()) {
+            if (j >= positions.length) {
               matches = concatMatches(matchCounter, j, firstMatchTok + repTokenPos, tokenReadings, nextTokenPos, suggestionMatches);
-            } else if (positions.get(j) != 0) {
+            } else if (positions[j] != 0) {
               matches = concatMatches(matchCounter, j, firstMatchTok + repTokenPos, tokenReadings, nextTokenPos, suggestionMatches);
             } else {
               matches = new String[] { "" };
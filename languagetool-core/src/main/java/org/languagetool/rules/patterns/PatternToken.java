@@ -75,7 +75,9 @@ public class PatternToken implements Cloneable {
   private int minOccurrence = 1;
   private int maxOccurrence = 1;
 
-  private Pattern pattern;
+  // compiled on first use, as only a fraction of all tokens ever get to compare their regex:
+  private volatile Pattern pattern;
+  private String regToken;
 
   /** The reference to another element in the pattern. **/
   private Match tokenReference;
@@ -303,17 +305,41 @@ public class PatternToken implements Cloneable {
       stringToken = null;
     }
     testString = !StringTools.isEmpty(stringToken);
+    pattern = null;
+    regToken = null;
     if (testString && stringRegExp) {
-      String regToken = stringToken;
+      regToken = stringToken;
       if (!caseSensitive) {
         regToken = CASE_INSENSITIVE + stringToken;
       }
-      if (!"\\0".equals(token)) {
-        pattern = Pattern.compile(regToken);
+      if ("\\0".equals(token)) {
+        regToken = null;
       }
     }
   }
 
+  /**
+   * Compile the regular expressions of the string and the POS tag of this token now instead
+   * of when they are first used for matching, so that invalid ones are found when loading a rule.
+   * @throws java.util.regex.PatternSyntaxException if one of the regular expressions is invalid
+   * @since 3.4
+   */
+  void compileRegularExpressions() {
+    getPattern();
+    if (posToken != null && posToken.regExp && posToken.posTag != null) {
+      posToken.isPosUnknown();
+    }
+  }
+
+  private Pattern getPattern() {
+    Pattern p = pattern;
+    if (p == null && regToken != null) {
+      p = Pattern.compile(regToken);
+      pattern = p;
+    }
+    return p;
+  }
+
   /**
    * Sets a string and/or pos exception for matching tokens.
    * @param token The string in the exception.
@@ -369,16 +395,16 @@ public class PatternToken implements Cloneable {
       return true;
     }
     if (token.getPOSTag() == null) {
-      return posToken.posUnknown && token.hasNoTag();
+      return posToken.isPosUnknown() && token.hasNoTag();
     }
     boolean match;
     if (posToken.regExp) {
-      Matcher mPos = posToken.posPattern.matcher(token.getPOSTag());
+      Matcher mPos = posToken.getPosPattern().matcher(token.getPOSTag());
       match = mPos.matches();
     } else {
       match = posToken.posTag.equals(token.getPOSTag());
     }
-    if (!match && posToken.posUnknown) { // ignore helper tags
+    if (!match && posToken.isPosUnknown()) { // ignore helper tags
       match = token.hasNoTag();
     }
     return match;
@@ -392,7 +418,7 @@ public class PatternToken implements Cloneable {
   boolean isStringTokenMatched(AnalyzedToken token) {
     String testToken = getTestToken(token);
     if (stringRegExp) {
-      Matcher m = pattern.matcher(testToken);
+      Matcher m = getPattern().matcher(testToken);
       return m.matches();
     }
     if (caseSensitive) {
@@ -770,22 +796,37 @@ public class PatternToken implements Cloneable {
     private final String posTag;
     private final boolean regExp;
     private final boolean negation;
-    private final Pattern posPattern;
-    private final boolean posUnknown;
+    // both compiled/computed on first use for regular expressions:
+    private volatile Pattern posPattern;
+    private volatile Boolean posUnknown;
 
     public PosToken(String posTag, boolean regExp, boolean negation) {
       this.posTag = posTag;
       this.regExp = regExp;
       this.negation = negation;
-      if (regExp) {
-        posPattern = Pattern.compile(posTag);
-        posUnknown = posPattern.matcher(UNKNOWN_TAG).matches();
-      } else {
-        posPattern = null;
+      if (!regExp) {
         posUnknown = UNKNOWN_TAG.equals(posTag);
       }
     }
 
+    private Pattern getPosPattern() {
+      Pattern p = posPattern;
+      if (p == null) {
+        p = Pattern.compile(posTag);
+        posPattern = p;
+      }
+      return p;
+    }
+
+    private boolean isPosUnknown() {
+      Boolean unknown = posUnknown;
+      if (unknown == null) {
+        unknown = getPosPattern().matcher(UNKNOWN_TAG).matches();
+        posUnknown = unknown;
+      }
+      return unknown;
+    }
+
     @Override
     public String toString() {
       return posTag;
@@ -70,6 +70,20 @@ public class PatternTokenMatcher {
     }
   }
 
+  /**
+   * Forget the pattern token compiled by {@link #resolveReference(int, AnalyzedTokenReadings[], Language)},
+   * so this matcher can be re-used for another sentence.
+   * @since 3.4
+   */
+  public void reset() {
+    patternToken = basePatternToken;
+    if (andGroup != null) {
+      for (PatternTokenMatcher andMatcher : andGroup) {
+        andMatcher.reset();
+      }
+    }
+  }
+
   public PatternToken getPatternToken() {
     return basePatternToken;
   }
@@ -93,8 +107,12 @@ public class PatternTokenMatcher {
       for (PatternTokenMatcher andMatcher : andGroup) {
         andMatcher.resolveReference(firstMatchToken, tokens, language);
       }
-      andGroupCheck = new boolean[patternToken.getAndGroup().size() + 1];
-      Arrays.fill(andGroupCheck, false);
+      int size = patternToken.getAndGroup().size() + 1;
+      if (andGroupCheck == null || andGroupCheck.length != size) {
+        andGroupCheck = new boolean[size];
+      } else {
+        Arrays.fill(andGroupCheck, false);
+      }
     }
   }
 
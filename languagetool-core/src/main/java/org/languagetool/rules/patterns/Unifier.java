@@ -20,7 +20,6 @@
 package org.languagetool.rules.patterns;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.Nullable;
 import org.languagetool.AnalyzedToken;
@@ -28,6 +27,11 @@ import org.languagetool.AnalyzedTokenReadings;
 
 /**
  * Implements unification of features over tokens.
+ *
+ * <p>A unifier keeps the state of the unification that's in progress, so it must
+ * not be used by more than one thread at the same time. The equivalences it tests
+ * come from a {@link UnifierConfiguration} and are not modified, so any number of
+ * unifiers can be created from the same configuration and used in parallel.
  * 
  * @author Marcin Milkowski
  */
@@ -90,7 +94,7 @@ public class Unifier {
     equivalencesMatched = new ArrayList<>();
     this.equivalenceTypes = equivalenceTypes;
     this.equivalenceFeatures = equivalenceFeatures;
-    equivalencesToBeKept = new ConcurrentHashMap<>();
+    equivalencesToBeKept = new HashMap<>();
     featuresFound = new ArrayList<>();
     tmpFeaturesFound = new ArrayList<>();
     tokSequence = new ArrayList<>();
@@ -120,7 +124,7 @@ public class Unifier {
       unified = checkNext(aToken, uFeatures);
     } else {
       while (equivalencesMatched.size() <= tokCnt) {
-        equivalencesMatched.add(new ConcurrentHashMap<>());
+        equivalencesMatched.add(new HashMap<>());
       }
       for (Map.Entry<String, List<String>> feat : uFeatures.entrySet()) {
         List<String> types = feat.getValue();
@@ -169,7 +173,7 @@ public class Unifier {
                             Map<String, List<String>> uFeatures) {
     boolean anyFeatUnified = false;
     List<Boolean> tokenFeaturesFound = new ArrayList<>(tmpFeaturesFound);
-    Map<String, Set<String>> equivalencesMatchedHere = new ConcurrentHashMap<>();
+    Map<String, Set<String>> equivalencesMatchedHere = new HashMap<>();
     if (allFeatsIn) {
       for (int i = 0; i < tokCnt; i++) {
         boolean allFeatsUnified = true;
@@ -324,6 +328,7 @@ public class Unifier {
     tokSequence.clear();
     tokSequenceEquivalences.clear();
     readingsCounter = 1;
+    equivalencesToBeKept.clear();
     uniMatched = false;
     uniAllMatched = false;
     inUnification = false;
@@ -440,7 +445,7 @@ public class Unifier {
   public final void addNeutralElement(AnalyzedTokenReadings analyzedTokenReadings) {
     tokSequence.add(analyzedTokenReadings);
     List<Map<String, Set<String>>> tokEquivs = new ArrayList<>(analyzedTokenReadings.getReadingsLength());
-    Map<String, Set<String>> map = new ConcurrentHashMap<>();
+    Map<String, Set<String>> map = new HashMap<>();
     map.put(UNIFY_IGNORE, new HashSet<>());
     for (int i = 0; i < analyzedTokenReadings.getReadingsLength(); i++) {
       tokEquivs.add(map);
@@ -19,13 +19,14 @@
  */
 package org.languagetool.rules.patterns;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
+ * The equivalences used for unification. {@link Unifier}s created by {@link #createUnifier()}
+ * share an immutable copy of the equivalences, which is only created again after
+ * the configuration has changed.
  * @author Stefan Lotties
  * @since 2.3
  */
@@ -42,6 +43,9 @@ public class UnifierConfiguration {
    */
   private final Map<String, List<String>> equivalenceFeatures;
 
+  // immutable copy of the equivalences, null after a change:
+  private volatile Equivalences equivalences;
+
   public UnifierConfiguration() {
     // workaround for issue #13
     equivalenceTypes = new ConcurrentHashMap<>();
@@ -57,8 +61,8 @@ public class UnifierConfiguration {
    * @param type Type of equivalence for the feature, for example plural, first person, genitive.
    * @param elem Element specifying the equivalence.
    */
-  public final void setEquivalence(String feature, String type,
-                                   PatternToken elem) {
+  public final synchronized void setEquivalence(String feature, String type,
+                                                PatternToken elem) {
 
     EquivalenceTypeLocator typeKey = new EquivalenceTypeLocator(feature, type);
     if (equivalenceTypes.containsKey(typeKey)) {
@@ -75,6 +79,7 @@ public class UnifierConfiguration {
       equivalenceFeatures.put(feature, lTypes);
     }
     lTypes.add(type);
+    equivalences = null;
   }
 
   public Map<EquivalenceTypeLocator, PatternToken> getEquivalenceTypes() {
@@ -85,7 +90,39 @@ public class UnifierConfiguration {
     return Collections.unmodifiableMap(equivalenceFeatures);
   }
 
+  /**
+   * Create a new unifier. The unifier must be used by one thread only, but unifiers
+   * created from the same configuration can be used in parallel.
+   */
   public Unifier createUnifier() {
-    return new Unifier(getEquivalenceTypes(), getEquivalenceFeatures());
+    Equivalences eq = getEquivalences();
+    return new Unifier(eq.types, eq.features);
+  }
+
+  private Equivalences getEquivalences() {
+    Equivalences eq = equivalences;
+    if (eq == null) {
+      synchronized (this) {
+        eq = equivalences;
+        if (eq == null) {
+          eq = new Equivalences(equivalenceTypes, equivalenceFeatures);
+          equivalences = eq;
+        }
+      }
+    }
+    return eq;
+  }
+
+  private static class Equivalences {
+    private final Map<EquivalenceTypeLocator, PatternToken> types;
+    private final Map<String, List<String>> features;
+    private Equivalences(Map<EquivalenceTypeLocator, PatternToken> types, Map<String, List<String>> features) {
+      this.types = Collections.unmodifiableMap(new HashMap<>(types));
+      Map<String, List<String>> featuresCopy = new HashMap<>();
+      for (Map.Entry<String, List<String>> entry : features.entrySet()) {
+        featuresCopy.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+      }
+      this.features = Collections.unmodifiableMap(featuresCopy);
+    }
   }
 }
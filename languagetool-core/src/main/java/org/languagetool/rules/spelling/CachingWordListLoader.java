@@ -38,8 +38,9 @@ import java.util.concurrent.TimeUnit;
 class CachingWordListLoader {
 
   // Speed up the server use case, where rules get initialized for every call.
+  // Lists that are used regularly are kept, so that loading them again doesn't slow down a check every few minutes:
   private static final LoadingCache<String, List<String>> cache = CacheBuilder.newBuilder()
-      .expireAfterWrite(10, TimeUnit.MINUTES)
+      .expireAfterAccess(10, TimeUnit.MINUTES)
       .build(new CacheLoader<String, List<String>>() {
         @Override
         public List<String> load(@NotNull String fileInClassPath) throws IOException {
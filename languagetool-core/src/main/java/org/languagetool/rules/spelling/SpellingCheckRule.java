@@ -18,6 +18,7 @@
  */
 package org.languagetool.rules.spelling;
 
+import org.jetbrains.annotations.Nullable;
 import org.languagetool.AnalyzedSentence;
 import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.JLanguageTool;
@@ -65,6 +66,8 @@ public abstract class SpellingCheckRule extends Rule {
   private List<DisambiguationPatternRule> antiPatterns = new ArrayList<>();
   private boolean considerIgnoreWords = true;
   private boolean convertsCase = false;
+  // suggestions are only shared with other rule instances as long as this instance's ignore words are the default ones:
+  private boolean useSuggestionsCache = true;
 
   public SpellingCheckRule(ResourceBundle messages, Language language) {
     super(messages);
@@ -97,6 +100,7 @@ public abstract class SpellingCheckRule extends Rule {
    */
   public void addIgnoreTokens(List<String> tokens) {
     wordsToBeIgnored.addAll(tokens);
+    useSuggestionsCache = false;
   }
 
   /**
@@ -104,6 +108,33 @@ public abstract class SpellingCheckRule extends Rule {
    */
   public void setConsiderIgnoreWords(boolean considerIgnoreWords) {
     this.considerIgnoreWords = considerIgnoreWords;
+    useSuggestionsCache = false;
+  }
+
+  /**
+   * Get the final suggestions for a word that this rule has found to be misspelled before,
+   * from the {@link SuggestionsCache} that is shared by all rules.
+   * @return the suggestions, or {@code null} if {@code word} is not known to be misspelled
+   * @since 3.4
+   */
+  @Nullable
+  protected List<String> getCachedSuggestions(String word) {
+    if (!useSuggestionsCache) {
+      return null;
+    }
+    return SuggestionsCache.get(language, getId(), word);
+  }
+
+  /**
+   * Remember that {@code word} is misspelled and has the given final suggestions, so
+   * {@link #getCachedSuggestions(String)} can return them. Only call this if the
+   * result depends on nothing but the word, not on its context.
+   * @since 3.4
+   */
+  protected void cacheSuggestions(String word, List<String> suggestions) {
+    if (useSuggestionsCache) {
+      SuggestionsCache.put(language, getId(), word, suggestions);
+    }
   }
 
   /**
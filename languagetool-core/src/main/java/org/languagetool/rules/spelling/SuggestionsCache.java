@@ -0,0 +1,155 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.Experimental;
+import org.languagetool.Language;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A cache for the suggestions of spelling rules, shared by all rules in the JVM, as the
+ * same misspellings occur again and again. Only misspelled words are cached, so a word
+ * that is found in the cache is known to be misspelled without asking the speller again.
+ * Words are removed by weight, i.e. by the number of characters of the word and its
+ * suggestions, the words that have not been used recently first.
+ *
+ * <p>Used by {@link SpellingCheckRule#getCachedSuggestions(String)} and
+ * {@link SpellingCheckRule#cacheSuggestions(String, List)}. Thread-safe.</p>
+ * @since 3.4
+ */
+@Experimental
+public final class SuggestionsCache {
+
+  private static final long DEFAULT_MAX_WEIGHT = 5_000_000;
+
+  private static volatile Cache<CacheKey,List<String>> cache = createCache(DEFAULT_MAX_WEIGHT);
+
+  private SuggestionsCache() {
+  }
+
+  /**
+   * Set the maximum weight of the cache, i.e. the total number of characters of the cached
+   * misspellings and their suggestions. The default is 5,000,000. Use {@code 0} to disable the cache.
+   * This also clears the cache.
+   */
+  public static void setMaxWeight(long maxWeight) {
+    cache = createCache(maxWeight);
+  }
+
+  /**
+   * Remove all words from the cache.
+   */
+  public static void clear() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * The approximate number of misspelled words in the cache.
+   */
+  public static long size() {
+    return cache.size();
+  }
+
+  /**
+   * How often a word was found in the cache, i.e. was known to be misspelled.
+   */
+  public static long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  /**
+   * How often a word was not found in the cache, i.e. was spelled correctly or needed to be checked by the speller.
+   */
+  public static long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  /**
+   * The ratio of hits to all requests, or {@code 1.0} if there hasn't been a request yet.
+   */
+  public static double getHitRate() {
+    return cache.stats().hitRate();
+  }
+
+  /**
+   * @return the suggestions for {@code word}, or {@code null} if it's not known to be misspelled
+   */
+  @Nullable
+  static List<String> get(Language language, String ruleId, String word) {
+    return cache.getIfPresent(new CacheKey(language, ruleId, word));
+  }
+
+  static void put(Language language, String ruleId, String word, List<String> suggestions) {
+    cache.put(new CacheKey(language, ruleId, word), Collections.unmodifiableList(new ArrayList<>(suggestions)));
+  }
+
+  private static Cache<CacheKey,List<String>> createCache(long maxWeight) {
+    if (maxWeight < 0) {
+      throw new IllegalArgumentException("maxWeight must be >= 0: " + maxWeight);
+    }
+    return CacheBuilder.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher((CacheKey key, List<String> suggestions) -> {
+              int weight = key.word.length();
+              for (String suggestion : suggestions) {
+                weight += suggestion.length();
+              }
+              return weight;
+            })
+            .recordStats()
+            .build();
+  }
+
+  private static class CacheKey {
+
+    private final Class<? extends Language> languageClass;
+    private final String languageCode;
+    private final String ruleId;
+    private final String word;
+
+    private CacheKey(Language language, String ruleId, String word) {
+      this.languageClass = language.getClass();
+      this.languageCode = language.getShortNameWithCountryAndVariant();
+      this.ruleId = Objects.requireNonNull(ruleId);
+      this.word = Objects.requireNonNull(word);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      CacheKey other = (CacheKey) o;
+      return languageClass == other.languageClass && languageCode.equals(other.languageCode) &&
+             ruleId.equals(other.ruleId) && word.equals(other.word);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(languageClass, languageCode, ruleId, word);
+    }
+  }
+
+}
@@ -136,19 +136,26 @@ public abstract class CompoundAwareHunspellRule extends HunspellRule {
   // avoid over-accepting words, as the Morfologik approach above might construct
   // compound words with parts that are correct but the compound is not correct (e.g. "Arbeit + Amt = Arbeitamt"):
   private List<String> getCorrectWords(List<String> wordsOrPhrases) {
-    List<String> result = new ArrayList<>();
+    // this might be a phrase like "aufgrund dessen", so it needs to be split:
+    List<String[]> wordsPerCandidate = new ArrayList<>(wordsOrPhrases.size());
+    List<String> allWords = new ArrayList<>();
     for (String wordOrPhrase : wordsOrPhrases) {
-      // this might be a phrase like "aufgrund dessen", so it needs to be split: 
       String[] words = tokenizeText(wordOrPhrase);
+      wordsPerCandidate.add(words);
+      Collections.addAll(allWords, words);
+    }
+    Set<String> misspelledWords = getMisspelledWords(allWords);
+    List<String> result = new ArrayList<>();
+    for (int i = 0; i < wordsOrPhrases.size(); i++) {
       boolean wordIsOkay = true;
-      for (String word : words) {
-        if (hunspellDict.misspelled(word)) {
+      for (String word : wordsPerCandidate.get(i)) {
+        if (misspelledWords.contains(word)) {
           wordIsOkay = false;
           break;
         }
       }
       if (wordIsOkay) {
-        result.add(wordOrPhrase);
+        result.add(wordsOrPhrases.get(i));
       }
     }
     return result;
@@ -8,12 +8,17 @@ import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicReference;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.sun.jna.Memory;
 import com.sun.jna.Native;
 import com.sun.jna.Pointer;
 import com.sun.jna.ptr.PointerByReference;
@@ -31,6 +36,13 @@ import com.sun.jna.ptr.PointerByReference;
 
 public class Hunspell {
 
+    /**
+     * The maximum number of correct words per dictionary that are remembered
+     * so they don't need to be checked in native code again
+     */
+    private static final int CORRECT_WORDS_CACHE_SIZE = 100_000;
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
     /**
      * The Singleton instance of Hunspell
      */
@@ -267,11 +279,31 @@ public class Hunspell {
          */
         private String encoding;
 
+        /**
+         * The charset for the encoding, or null if Java doesn't support it
+         */
+        private Charset charset;
+
         /*
          * the tokenization characters
          */
         private final String wordChars;
 
+        /**
+         * Words known to be spelled correctly, so they don't need to be checked
+         * again in native code. As words can only be added to the dictionary, never
+         * removed, a word that was once correct stays correct.
+         */
+        private final Cache<String,Boolean> correctWords = CacheBuilder.newBuilder()
+                .maximumSize(CORRECT_WORDS_CACHE_SIZE)
+                .build();
+
+        /**
+         * The native buffer used by {@link #misspelled(List)} while no thread is using it.
+         * It only grows, so it's only re-allocated for words longer than all before.
+         */
+        private final AtomicReference<Memory> idleBuffer = new AtomicReference<>();
+
         /**
          * Creates an instance of the dictionary.
          * @param baseFileName the base name of the dictionary, 
@@ -295,6 +327,7 @@ public class Hunspell {
             } else if ("ISCII-DEVANAGARI".equals(encoding)) {
                 encoding = "ISCII91";
             }
+            charset = Charset.isSupported(encoding) ? Charset.forName(encoding) : null;
 
             wordChars = getWordCharsFromFile(aff);
         }
@@ -325,17 +358,76 @@ public class Hunspell {
          * @return true if the <code>word<code> is not correctly spelled
          */
         public boolean misspelled(String word) {
+            if (correctWords.getIfPresent(word) != null) {
+                return false;
+            }
             try {
                 final byte[] wordAsBytes = stringToBytes(word);
                 if (wordAsBytes.length == 0 && word.length() > 0) {
                     return true;
                 }
-                return (hsl.Hunspell_spell(hunspellDict, wordAsBytes) == 0);
+                boolean misspelled = hsl.Hunspell_spell(hunspellDict, wordAsBytes) == 0;
+                if (!misspelled) {
+                    correctWords.put(word, Boolean.TRUE);
+                }
+                return misspelled;
             } catch (UnsupportedEncodingException e) {
                 return true;
             }
         }
 
+        /**
+         * Check several words at once. Words that are not yet known to be correct are
+         * encoded into a native buffer that is re-used for all words and calls, so there's
+         * no native memory allocation for each word like with {@link #misspelled(String)}.
+         * Hunspell has no function to check several words, so each word is still checked
+         * with its own native call.
+         *
+         * @param words The words to check.
+         * @return for each word, true if it is not correctly spelled
+         * @since 3.4
+         */
+        public boolean[] misspelled(List<String> words) {
+            boolean[] result = new boolean[words.size()];
+            if (charset == null) {
+                for (int i = 0; i < words.size(); i++) {
+                    result[i] = misspelled(words.get(i));
+                }
+                return result;
+            }
+            // a thread takes the idle buffer and puts it back when it's done, or uses
+            // a new one if another thread is using it at the same time:
+            Memory buffer = idleBuffer.getAndSet(null);
+            for (int i = 0; i < words.size(); i++) {
+                String word = words.get(i);
+                if (correctWords.getIfPresent(word) != null) {
+                    continue;
+                }
+                byte[] wordAsBytes = word.getBytes(charset);
+                if (wordAsBytes.length == 0 && word.length() > 0) {
+                    result[i] = true;
+                    continue;
+                }
+                if (buffer == null || buffer.size() < wordAsBytes.length + 1) {
+                    long size = buffer == null ? INITIAL_BUFFER_SIZE : buffer.size();
+                    while (size < wordAsBytes.length + 1) {
+                        size *= 2;
+                    }
+                    buffer = new Memory(size);
+                }
+                buffer.write(0, wordAsBytes, 0, wordAsBytes.length);
+                buffer.setByte(wordAsBytes.length, (byte) 0);
+                result[i] = hsl.Hunspell_spell(hunspellDict, buffer) == 0;
+                if (!result[i]) {
+                    correctWords.put(word, Boolean.TRUE);
+                }
+            }
+            if (buffer != null) {
+                idleBuffer.set(buffer);
+            }
+            return result;
+        }
+
         /**
          * Convert a Java string to a zero terminated byte array, in the
          * encoding of the dictionary, as expected by the hunspell functions.
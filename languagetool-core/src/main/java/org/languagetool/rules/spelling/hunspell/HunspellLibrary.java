@@ -37,6 +37,16 @@ public interface HunspellLibrary extends Library {
      */
     public int Hunspell_spell(Pointer pHunspell, byte[] word);
 
+    /**
+     * spell(word) - spellcheck word, like {@link #Hunspell_spell(Pointer, byte[])}
+     * but with the word already in native memory
+     * @param pHunspell The Hunspell object returned by Hunspell_create
+     * @param word Pointer to the zero terminated word to spellcheck.
+     * @return 0 = bad word, not 0 = good word
+     * @since 3.4
+     */
+    public int Hunspell_spell(Pointer pHunspell, Pointer word);
+
     /**
      * Get the dictionary encoding
      * @param pHunspell : The Hunspell object returned by Hunspell_create
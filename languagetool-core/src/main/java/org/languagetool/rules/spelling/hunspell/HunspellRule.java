@@ -28,8 +28,10 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import com.google.common.base.Charsets;
@@ -87,25 +89,47 @@ public class HunspellRule extends SpellingCheckRule {
       return toRuleMatchArray(ruleMatches);
     }
     String[] tokens = tokenizeText(getSentenceTextWithoutUrlsAndImmunizedTokens(sentence));
+    List<String> tokenList = Arrays.asList(tokens);
+
+    // first find the words that need to be checked, so they can be checked all at once:
+    boolean[] ignored = new boolean[tokens.length];
+    List<List<String>> cachedSuggestions = new ArrayList<>(tokens.length);
+    List<String> wordsToCheck = new ArrayList<>();
+    for (int i = 0; i < tokens.length; i++) {
+      String word = tokens[i];
+      ignored[i] = ignoreWord(tokenList, i) || ignoreWord(word);
+      cachedSuggestions.add(ignored[i] ? null : getCachedSuggestions(word));
+      if (!ignored[i] && cachedSuggestions.get(i) == null && needsDictionaryCheck(word)) {
+        wordsToCheck.add(word);
+      }
+    }
+    Set<String> misspelledWords = getMisspelledWords(wordsToCheck);
 
     // starting with the first token to skip the zero-length START_SENT
     int len = sentence.getTokens()[1].getStartPos();
     for (int i = 0; i < tokens.length; i++) {
       String word = tokens[i];
-      if (ignoreWord(Arrays.asList(tokens), i) || ignoreWord(word)) {
+      if (ignored[i]) {
         len += word.length() + 1;
         continue;
       }
-      if (isMisspelled(word)) {
+      List<String> cachedWordSuggestions = cachedSuggestions.get(i);
+      if (cachedWordSuggestions != null || misspelledWords.contains(word) || isProhibited(removeTrailingDot(word))) {
         RuleMatch ruleMatch = new RuleMatch(this,
             len, len + word.length(),
             messages.getString("spelling"),
             messages.getString("desc_spelling_short"));
-        List<String> suggestions = getSuggestions(word);
-        suggestions.addAll(0, getAdditionalTopSuggestions(suggestions, word));
-        suggestions.addAll(getAdditionalSuggestions(suggestions, word));
-        if (!suggestions.isEmpty()) {
+        List<String> suggestions;
+        if (cachedWordSuggestions != null) {
+          suggestions = new ArrayList<>(cachedWordSuggestions);
+        } else {
+          suggestions = getSuggestions(word);
+          suggestions.addAll(0, getAdditionalTopSuggestions(suggestions, word));
+          suggestions.addAll(getAdditionalSuggestions(suggestions, word));
           filterSuggestions(suggestions);
+          cacheSuggestions(word, suggestions);
+        }
+        if (!suggestions.isEmpty()) {
           ruleMatch.setSuggestedReplacements(suggestions);
         }
         ruleMatches.add(ruleMatch);
@@ -117,11 +141,33 @@ public class HunspellRule extends SpellingCheckRule {
   }
 
   boolean isMisspelled(String word) {
+    return (needsDictionaryCheck(word) && hunspellDict.misspelled(word)) || isProhibited(removeTrailingDot(word));
+  }
+
+  private boolean needsDictionaryCheck(String word) {
     boolean isAlphabetic = true;
     if (word.length() == 1) { // hunspell dictionaries usually do not contain punctuation
       isAlphabetic = Character.isAlphabetic(word.charAt(0));
     }
-    return (isAlphabetic && !word.equals("--") && hunspellDict.misspelled(word)) || isProhibited(removeTrailingDot(word));
+    return isAlphabetic && !word.equals("--");
+  }
+
+  /**
+   * Check all words with one call to {@link Hunspell.Dictionary#misspelled(List)}.
+   * @since 3.4
+   */
+  protected Set<String> getMisspelledWords(List<String> words) {
+    Set<String> result = new HashSet<>();
+    if (words.isEmpty()) {
+      return result;
+    }
+    boolean[] misspelled = hunspellDict.misspelled(words);
+    for (int i = 0; i < misspelled.length; i++) {
+      if (misspelled[i]) {
+        result.add(words.get(i));
+      }
+    }
+    return result;
   }
 
   private String removeTrailingDot(String word) {
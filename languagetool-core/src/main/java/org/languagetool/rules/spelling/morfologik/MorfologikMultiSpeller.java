@@ -25,9 +25,11 @@ import morfologik.stemming.Dictionary;
 
 import org.jetbrains.annotations.Nullable;
 import org.languagetool.JLanguageTool;
+import org.languagetool.databroker.ResourceDataBroker;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Morfologik speller that merges results from binary (.dict) and plain text (.txt) dictionaries.
@@ -36,23 +38,20 @@ import java.util.*;
  */
 public class MorfologikMultiSpeller {
 
-  private static final Map<String,Dictionary> dicPathToDict = new HashMap<>();
+  private static final Map<String,Dictionary> dicPathToDict = new ConcurrentHashMap<>();
 
   private final List<MorfologikSpeller> spellers;
   private final boolean convertsCase;
 
   /**
    * @param binaryDictPath path in classpath to a {@code .dict} binary Morfologik file
-   * @param plainTextPath path in classpath to a plain text {@code .txt} file (like spelling.txt)
+   * @param plainTextPath path in classpath to a plain text {@code .txt} file (like spelling.txt). If there's
+   *                      a file with the same name but the suffix {@code .dict} (as created by
+   *                      {@link #buildPlainTextFsa(BufferedReader)}), that one is used instead (since 3.4)
    * @param maxEditDistance maximum edit distance for accepting suggestions
    */
   public MorfologikMultiSpeller(String binaryDictPath, String plainTextPath, int maxEditDistance) throws IOException {
-    this(binaryDictPath,
-         new BufferedReader(new InputStreamReader(JLanguageTool.getDataBroker().getFromResourceDirAsStream(plainTextPath), "utf-8")),
-         maxEditDistance);
-    if (!plainTextPath.endsWith(".txt")) {
-      throw new RuntimeException("Unsupported dictionary, plain text file needs to have suffix .txt: " + plainTextPath);
-    }
+    this(getBinaryDict(binaryDictPath, maxEditDistance), getPlainTextDictOrNull(plainTextPath, binaryDictPath), maxEditDistance);
   }
 
   /**
@@ -62,18 +61,44 @@ public class MorfologikMultiSpeller {
    * @since 3.0
    */
   public MorfologikMultiSpeller(String binaryDictPath, BufferedReader plainTextReader, int maxEditDistance) throws IOException {
-    MorfologikSpeller speller = getBinaryDict(binaryDictPath, maxEditDistance);
+    this(getBinaryDict(binaryDictPath, maxEditDistance), getPlainTextDictOrNull(plainTextReader, binaryDictPath), maxEditDistance);
+  }
+
+  private MorfologikMultiSpeller(MorfologikSpeller speller, @Nullable Dictionary plainTextDict, int maxEditDistance) {
     List<MorfologikSpeller> spellers = new ArrayList<>();
     spellers.add(speller);
     convertsCase = speller.convertsCase();
-    MorfologikSpeller plainTextSpeller = getPlainTextDictSpellerOrNull(plainTextReader, binaryDictPath, maxEditDistance);
-    if (plainTextSpeller != null) {
-      spellers.add(plainTextSpeller);
+    if (plainTextDict != null) {
+      spellers.add(new MorfologikSpeller(plainTextDict, maxEditDistance));
     }
     this.spellers = Collections.unmodifiableList(spellers);
   }
 
-  private MorfologikSpeller getBinaryDict(String binaryDictPath, int maxEditDistance) throws IOException {
+  /**
+   * Build the binary representation of a plain text file like {@code spelling.txt}, as used
+   * by this class. Lines that start with {@code #} are ignored.
+   * @since 3.4
+   */
+  public static byte[] buildPlainTextFsa(BufferedReader plainTextReader) throws IOException {
+    List<byte[]> lines = getLines(plainTextReader);
+    if (lines.size() == 0) {
+      throw new IllegalArgumentException("No words found in plain text input");
+    }
+    return buildFsa(lines);
+  }
+
+  /**
+   * The path of the precompiled binary version of a plain text file like {@code spelling.txt}, which
+   * is used instead of the plain text file if it exists. It needs to contain the result of
+   * {@link #buildPlainTextFsa(BufferedReader)} for the current plain text file, which is
+   * what {@link SpellingDictionaryPrecompiler} writes during the build of the language modules.
+   * @since 3.4
+   */
+  public static String getPrecompiledPath(String plainTextPath) {
+    return plainTextPath.replaceFirst("\\.txt$", ".dict");
+  }
+
+  private static MorfologikSpeller getBinaryDict(String binaryDictPath, int maxEditDistance) throws IOException {
     if (binaryDictPath.endsWith(".dict")) {
       return new MorfologikSpeller(binaryDictPath, maxEditDistance);
     } else {
@@ -82,16 +107,39 @@ public class MorfologikMultiSpeller {
   }
 
   @Nullable
-  private MorfologikSpeller getPlainTextDictSpellerOrNull(BufferedReader plainTextReader, String dictPath, int maxEditDistance) throws IOException {
+  private static Dictionary getPlainTextDictOrNull(String plainTextPath, String dictPath) throws IOException {
+    if (!plainTextPath.endsWith(".txt")) {
+      throw new RuntimeException("Unsupported dictionary, plain text file needs to have suffix .txt: " + plainTextPath);
+    }
+    Dictionary dictFromCache = dicPathToDict.get(dictPath);
+    if (dictFromCache != null) {
+      return dictFromCache;
+    }
+    ResourceDataBroker dataBroker = JLanguageTool.getDataBroker();
+    String precompiledPath = getPrecompiledPath(plainTextPath);
+    if (dataBroker.resourceExists(precompiledPath)) {
+      try (InputStream fsaStream = dataBroker.getFromResourceDirAsStream(precompiledPath);
+           InputStream infoStream = dataBroker.getFromResourceDirAsStream(getInfoPath(dictPath))) {
+        Dictionary dict = Dictionary.read(fsaStream, infoStream);
+        dicPathToDict.put(dictPath, dict);
+        return dict;
+      }
+    }
+    try (BufferedReader br = new BufferedReader(new InputStreamReader(dataBroker.getFromResourceDirAsStream(plainTextPath), "utf-8"))) {
+      return getPlainTextDictOrNull(br, dictPath);
+    }
+  }
+
+  @Nullable
+  private static Dictionary getPlainTextDictOrNull(BufferedReader plainTextReader, String dictPath) throws IOException {
     List<byte[]> lines = getLines(plainTextReader);
     if (lines.size() == 0) {
       return null;
     }
-    Dictionary dictionary = getDictionary(lines, dictPath);
-    return new MorfologikSpeller(dictionary, maxEditDistance);
+    return getDictionary(lines, dictPath);
   }
 
-  private List<byte[]> getLines(BufferedReader br) throws IOException {
+  private static List<byte[]> getLines(BufferedReader br) throws IOException {
     List<byte[]> lines = new ArrayList<>();
     String line;
     while ((line = br.readLine()) != null) {
@@ -102,7 +150,7 @@ public class MorfologikMultiSpeller {
     return lines;
   }
 
-  private Dictionary getDictionary(List<byte[]> lines, String dictPath) throws IOException {
+  private static Dictionary getDictionary(List<byte[]> lines, String dictPath) throws IOException {
     Dictionary dictFromCache = dicPathToDict.get(dictPath);
     if (dictFromCache != null) {
       return dictFromCache;
@@ -110,17 +158,25 @@ public class MorfologikMultiSpeller {
       // Creating the dictionary at runtime can easily take 50ms for spelling.txt files
       // that are ~50KB. We don't want that overhead for every check of a short sentence,
       // so we cache the result:
-      Collections.sort(lines, FSABuilder.LEXICAL_ORDERING);
-      FSA fsa = FSABuilder.build(lines);
-      ByteArrayOutputStream fsaOutStream = new CFSA2Serializer().serialize(fsa, new ByteArrayOutputStream());
-      ByteArrayInputStream fsaInStream = new ByteArrayInputStream(fsaOutStream.toByteArray());
-      String infoFile = dictPath.replace(".dict", ".info");
-      Dictionary dict = Dictionary.read(fsaInStream, JLanguageTool.getDataBroker().getFromResourceDirAsStream(infoFile));
-      dicPathToDict.put(dictPath, dict);
-      return dict;
+      ByteArrayInputStream fsaInStream = new ByteArrayInputStream(buildFsa(lines));
+      try (InputStream infoStream = JLanguageTool.getDataBroker().getFromResourceDirAsStream(getInfoPath(dictPath))) {
+        Dictionary dict = Dictionary.read(fsaInStream, infoStream);
+        dicPathToDict.put(dictPath, dict);
+        return dict;
+      }
     }
   }
 
+  private static byte[] buildFsa(List<byte[]> lines) throws IOException {
+    Collections.sort(lines, FSABuilder.LEXICAL_ORDERING);
+    FSA fsa = FSABuilder.build(lines);
+    return new CFSA2Serializer().serialize(fsa, new ByteArrayOutputStream()).toByteArray();
+  }
+
+  private static String getInfoPath(String dictPath) {
+    return dictPath.replace(".dict", ".info");
+  }
+
   /**
    * Accept the word if at least one of the dictionaries accepts it as not misspelled.
    */
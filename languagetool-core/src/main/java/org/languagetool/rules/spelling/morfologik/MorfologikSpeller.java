@@ -41,9 +41,10 @@ public class MorfologikSpeller {
 
   // Speed up the server use case, where rules get initialized for every call.
   // See https://github.com/morfologik/morfologik-stemming/issues/69 for confirmation that
-  // Dictionary is thread-safe:
+  // Dictionary is thread-safe. Dictionaries that are used regularly are kept, so that
+  // reading them again doesn't slow down a check every few minutes:
   private static final LoadingCache<String, Dictionary> dictCache = CacheBuilder.newBuilder()
-      .expireAfterWrite(10, TimeUnit.MINUTES)
+      .expireAfterAccess(10, TimeUnit.MINUTES)
       .build(new CacheLoader<String, Dictionary>() {
         @Override
         public Dictionary load(@NotNull String fileInClassPath) throws IOException {
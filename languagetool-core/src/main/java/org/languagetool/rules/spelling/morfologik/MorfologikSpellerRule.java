@@ -174,26 +174,41 @@ public abstract class MorfologikSpellerRule extends SpellingCheckRule {
 
   protected List<RuleMatch> getRuleMatches(String word, int startPos) throws IOException {
     List<RuleMatch> ruleMatches = new ArrayList<>();
-    if (isMisspelled(speller1, word) || isProhibited(word)) {
+    List<String> cachedSuggestions = getCachedSuggestions(word);
+    if (cachedSuggestions != null || isMisspelled(speller1, word) || isProhibited(word)) {
       RuleMatch ruleMatch = new RuleMatch(this, startPos, startPos
           + word.length(), messages.getString("spelling"),
           messages.getString("desc_spelling_short"));
-      List<String> suggestions = speller1.getSuggestions(word);
-      if (suggestions.size() == 0 && word.length() >= 5) {
-        // speller1 uses a maximum edit distance of 1, it won't find suggestion for "garentee", "greatful" ezc.
-        suggestions.addAll(speller2.getSuggestions(word));
+      List<String> suggestions;
+      if (cachedSuggestions != null) {
+        suggestions = cachedSuggestions;
+      } else {
+        suggestions = getSuggestions(word);
+        cacheSuggestions(word, suggestions);
       }
-      suggestions.addAll(0, getAdditionalTopSuggestions(suggestions, word));
-      suggestions.addAll(getAdditionalSuggestions(suggestions, word));
       if (!suggestions.isEmpty()) {
-        filterSuggestions(suggestions);
-        ruleMatch.setSuggestedReplacements(orderSuggestions(suggestions, word));
+        ruleMatch.setSuggestedReplacements(new ArrayList<>(suggestions));
       }
       ruleMatches.add(ruleMatch);
     }
     return ruleMatches;
   }
 
+  private List<String> getSuggestions(String word) throws IOException {
+    List<String> suggestions = speller1.getSuggestions(word);
+    if (suggestions.size() == 0 && word.length() >= 5) {
+      // speller1 uses a maximum edit distance of 1, it won't find suggestion for "garentee", "greatful" ezc.
+      suggestions.addAll(speller2.getSuggestions(word));
+    }
+    suggestions.addAll(0, getAdditionalTopSuggestions(suggestions, word));
+    suggestions.addAll(getAdditionalSuggestions(suggestions, word));
+    if (suggestions.isEmpty()) {
+      return suggestions;
+    }
+    filterSuggestions(suggestions);
+    return orderSuggestions(suggestions, word);
+  }
+
   /**
    * Get the regular expression pattern used to tokenize
    * the words as in the source dictionary. For example,
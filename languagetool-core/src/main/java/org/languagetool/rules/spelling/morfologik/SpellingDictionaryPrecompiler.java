@@ -0,0 +1,73 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.morfologik;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes the precompiled {@code spelling.dict} next to every {@code spelling.txt} below
+ * a directory, so that {@link MorfologikMultiSpeller} doesn't need to build it at runtime.
+ * Called by the Maven build of the language modules for their output directory, so the
+ * precompiled files are never outdated. Plain text files without words are skipped.
+ * @since 3.4
+ */
+public final class SpellingDictionaryPrecompiler {
+
+  private static final String PLAIN_TEXT_NAME = "spelling.txt";
+
+  private SpellingDictionaryPrecompiler() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      System.out.println("Usage: " + SpellingDictionaryPrecompiler.class.getSimpleName() + " <directory>");
+      System.exit(1);
+    }
+    for (Path plainTextFile : getPlainTextFiles(Paths.get(args[0]))) {
+      byte[] fsa;
+      try (BufferedReader reader = Files.newBufferedReader(plainTextFile, StandardCharsets.UTF_8)) {
+        fsa = MorfologikMultiSpeller.buildPlainTextFsa(reader);
+      } catch (IllegalArgumentException e) {
+        continue;  // no words, the speller doesn't use the file at all
+      }
+      Path precompiledFile = Paths.get(MorfologikMultiSpeller.getPrecompiledPath(plainTextFile.toString()));
+      Files.write(precompiledFile, fsa);
+      System.out.println("Precompiled " + plainTextFile + " to " + precompiledFile);
+    }
+  }
+
+  private static List<Path> getPlainTextFiles(Path dir) throws IOException {
+    if (!Files.isDirectory(dir)) {
+      return Collections.emptyList();
+    }
+    try (Stream<Path> paths = Files.walk(dir)) {
+      return paths.filter(path -> path.getFileName().toString().equals(PLAIN_TEXT_NAME)).collect(Collectors.toList());
+    }
+  }
+
+}
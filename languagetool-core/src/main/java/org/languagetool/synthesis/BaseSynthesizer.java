@@ -22,8 +22,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import morfologik.stemming.Dictionary;
@@ -34,13 +38,25 @@ import morfologik.stemming.WordData;
 import org.languagetool.AnalyzedToken;
 import org.languagetool.JLanguageTool;
 
+/**
+ * A synthesizer based on a Morfologik dictionary.
+ *
+ * <p><b>Thread-safety:</b> this class is thread-safe. Every thread uses its own stemmer,
+ * so threads don't need to wait for each other.</p>
+ */
 public class BaseSynthesizer implements Synthesizer {
 
+  // The stemmers of each thread. Not a ThreadLocal per synthesizer, as the stemmers would then stay
+  // reachable from long-lived threads after the synthesizer is gone. The weak keys let the entries of
+  // unused synthesizers be garbage collected, as long as their stemmers don't refer to them:
+  private static final ThreadLocal<Map<BaseSynthesizer, IStemmer>> stemmers = ThreadLocal.withInitial(WeakHashMap::new);
+
   protected volatile List<String> possibleTags;
 
   private final String tagFileName;
   private final String resourceFileName;
-  private final IStemmer stemmer;
+  // the number of different regular expressions is limited, as they come from the rules:
+  private final Map<String, List<String>> tagsByRegex = new ConcurrentHashMap<>();
 
   private volatile Dictionary dictionary;
 
@@ -51,7 +67,6 @@ public class BaseSynthesizer implements Synthesizer {
   public BaseSynthesizer(String resourceFileName, String tagFileName) {
     this.resourceFileName = resourceFileName;
     this.tagFileName = tagFileName;
-    this.stemmer = createStemmer();
   }
 
   /**
@@ -75,7 +90,7 @@ public class BaseSynthesizer implements Synthesizer {
 
   /**
    * Creates a new {@link IStemmer} based on the configured {@link #getDictionary() dictionary}.
-   * The result must not be shared among threads.
+   * The result must not be shared among threads, and it must not refer to this synthesizer.
    * @since 2.3
    */
   protected IStemmer createStemmer() {
@@ -93,11 +108,9 @@ public class BaseSynthesizer implements Synthesizer {
    * @param results the list to collect the inflected forms.
    */
   protected void lookup(String lemma, String posTag, List<String> results) {
-    synchronized (this) { // the stemmer is not thread-safe
-      List<WordData> wordForms = stemmer.lookup(lemma + "|" + posTag);
-      for (WordData wd : wordForms) {
-        results.add(wd.getStem().toString());
-      }
+    List<WordData> wordForms = getStemmer().lookup(lemma + "|" + posTag);
+    for (WordData wd : wordForms) {
+      results.add(wd.getStem().toString());
     }
   }
 
@@ -119,14 +132,9 @@ public class BaseSynthesizer implements Synthesizer {
   public String[] synthesize(AnalyzedToken token, String posTag,
       boolean posTagRegExp) throws IOException {
     if (posTagRegExp) {
-      initPossibleTags();
-      Pattern p = Pattern.compile(posTag);
       List<String> results = new ArrayList<>();
-      for (String tag : possibleTags) {
-        Matcher m = p.matcher(tag);
-        if (m.matches()) {
-          lookup(token.getLemma(), tag, results);
-        }
+      for (String tag : getMatchingTags(posTag)) {
+        lookup(token.getLemma(), tag, results);
       }
       return results.toArray(new String[results.size()]);
     }
@@ -140,10 +148,35 @@ public class BaseSynthesizer implements Synthesizer {
 
   /**
    * @since 2.5
-   * @return the stemmer interface to be used.
+   * @return the stemmer interface to be used, only by the current thread
    */
   public IStemmer getStemmer() {
-    return stemmer;
+    return stemmers.get().computeIfAbsent(this, k -> createStemmer());
+  }
+
+  /**
+   * Get the possible tags that match the given regular expression, in the order of
+   * the tag file. The result is cached, so the regular expression only needs to be
+   * compiled and matched against all tags once.
+   * @param posTagRegExp a regular expression that needs to match the complete tag
+   * @return an unmodifiable list
+   * @since 3.4
+   */
+  protected List<String> getMatchingTags(String posTagRegExp) throws IOException {
+    List<String> tags = tagsByRegex.get(posTagRegExp);
+    if (tags == null) {
+      initPossibleTags();
+      Pattern p = Pattern.compile(posTagRegExp);
+      tags = new ArrayList<>();
+      for (String tag : possibleTags) {
+        if (p.matcher(tag).matches()) {
+          tags.add(tag);
+        }
+      }
+      tags = Collections.unmodifiableList(tags);
+      tagsByRegex.put(posTagRegExp, tags);
+    }
+    return tags;
   }
 
   protected void initPossibleTags() throws IOException {
@@ -153,11 +186,27 @@ public class BaseSynthesizer implements Synthesizer {
         tags = possibleTags;
         if (tags == null) {
           try (InputStream stream = JLanguageTool.getDataBroker().getFromResourceDirAsStream(tagFileName)) {
-            possibleTags = SynthesizerTools.loadWords(stream);
+            tags = SynthesizerTools.loadWords(stream);
           }
+          for (String tag : getAdditionalPossibleTags()) {
+            if (!tags.contains(tag)) {
+              tags.add(tag);
+            }
+          }
+          // only publish the complete list, as other threads read it without locking:
+          possibleTags = tags;
         }
       }
     }
   }
 
+  /**
+   * Tags that are possible in addition to those in the tag file, e.g. tags from
+   * a {@link ManualSynthesizer}. Called once, when the possible tags are loaded.
+   * @since 3.4
+   */
+  protected Collection<String> getAdditionalPossibleTags() throws IOException {
+    return Collections.emptyList();
+  }
+
 }
@@ -0,0 +1,344 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging.disambiguation.rules;
+
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.AnalyzedToken;
+import org.languagetool.AnalyzedTokenReadings;
+import org.languagetool.rules.patterns.PatternToken;
+import org.languagetool.tools.StringTools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The tokens, lemmas, and POS tags that a {@link DisambiguationPatternRule} needs to find
+ * in a sentence to be able to match, or that occur in a sentence. A rule can be skipped
+ * for a sentence if its anchors are not all {@link #isContainedIn(DisambiguationAnchors) contained}
+ * in the anchors of the sentence.
+ *
+ * <p>Besides plain strings and POS tags, a rule's anchors include regular expressions that
+ * are just a list of alternative words (like {@code de|del|dels}) and the literal prefixes
+ * of POS tag regular expressions (like {@code subst} for {@code subst:.*}).</p>
+ *
+ * <p>Unlike {@link AnalyzedSentence#getTokenSet()} and {@link AnalyzedSentence#getLemmaSet()},
+ * the anchors of a sentence are taken from the token of every reading, as disambiguation
+ * rules can add readings with a different token, and strings are compared exactly like
+ * {@link PatternToken} does, so skipping a rule never changes the result.</p>
+ *
+ * @since 3.4
+ */
+final class DisambiguationAnchors {
+
+  private static final String REGEX_META_CHARS = "\\^$.|?*+()[]{}";
+  private static final String QUANTIFIERS = "?*+{";
+
+  // the sentence must contain all of these:
+  private final Set<String> tokens;
+  private final Set<String> lemmas;
+  private final Set<String> posTags;
+  // the sentence must contain at least one element of each set or list:
+  private final List<Set<String>> tokenAlternatives;
+  private final List<Set<String>> lemmaAlternatives;
+  private final List<List<String>> posTagPrefixes;
+
+  private DisambiguationAnchors(Set<String> tokens, Set<String> lemmas, Set<String> posTags,
+                                List<Set<String>> tokenAlternatives, List<Set<String>> lemmaAlternatives,
+                                List<List<String>> posTagPrefixes) {
+    this.tokens = tokens;
+    this.lemmas = lemmas;
+    this.posTags = posTags;
+    this.tokenAlternatives = tokenAlternatives;
+    this.lemmaAlternatives = lemmaAlternatives;
+    this.posTagPrefixes = posTagPrefixes;
+  }
+
+  /**
+   * The anchors of a rule, taken from all pattern tokens that must occur at least once
+   * and that are neither negated nor references.
+   */
+  static DisambiguationAnchors of(List<PatternToken> patternTokens) {
+    Set<String> tokens = new HashSet<>();
+    Set<String> lemmas = new HashSet<>();
+    Set<String> posTags = new HashSet<>();
+    List<Set<String>> tokenAlternatives = new ArrayList<>();
+    List<Set<String>> lemmaAlternatives = new ArrayList<>();
+    List<List<String>> posTagPrefixes = new ArrayList<>();
+    for (PatternToken patternToken : patternTokens) {
+      if (patternToken.getMinOccurrence() < 1 || patternToken.isReferenceElement()) {
+        continue;
+      }
+      String str = patternToken.getString();
+      if (!StringTools.isEmpty(str) && !patternToken.getNegation()) {
+        Set<String> alternatives = patternToken.isRegularExpression() ? getLiteralAlternatives(str) : Collections.singleton(normalize(str));
+        if (alternatives != null && alternatives.size() == 1) {
+          if (patternToken.isInflected()) {
+            lemmas.addAll(alternatives);
+          } else {
+            tokens.addAll(alternatives);
+          }
+        } else if (alternatives != null) {
+          if (patternToken.isInflected()) {
+            lemmaAlternatives.add(alternatives);
+          } else {
+            tokenAlternatives.add(alternatives);
+          }
+        }
+      }
+      String posTag = patternToken.getPOStag();
+      if (posTag != null && !patternToken.getPOSNegation()) {
+        if (!patternToken.isPOStagRegularExpression()) {
+          if (!PatternToken.UNKNOWN_TAG.equals(posTag)) {
+            posTags.add(posTag);
+          }
+        } else if (!Pattern.matches(posTag, PatternToken.UNKNOWN_TAG)) {
+          // a regex that matches UNKNOWN also matches tokens without a POS tag
+          List<String> prefixes = getPrefixes(posTag);
+          if (prefixes != null) {
+            posTagPrefixes.add(prefixes);
+          }
+        }
+      }
+    }
+    return new DisambiguationAnchors(unmodifiable(tokens), unmodifiable(lemmas), unmodifiable(posTags),
+            unmodifiable(tokenAlternatives), unmodifiable(lemmaAlternatives), unmodifiable(posTagPrefixes));
+  }
+
+  /**
+   * The anchors of a sentence: the tokens, lemmas, and POS tags of all its readings.
+   */
+  static DisambiguationAnchors of(AnalyzedSentence sentence) {
+    Set<String> tokens = new HashSet<>();
+    Set<String> lemmas = new HashSet<>();
+    Set<String> posTags = new HashSet<>();
+    for (AnalyzedTokenReadings tokenReadings : sentence.getTokens()) {
+      for (AnalyzedToken reading : tokenReadings) {
+        String token = normalize(reading.getToken());
+        tokens.add(token);
+        lemmas.add(reading.getLemma() != null ? normalize(reading.getLemma()) : token);
+        if (reading.getPOSTag() != null) {
+          posTags.add(reading.getPOSTag());
+        }
+      }
+    }
+    return new DisambiguationAnchors(tokens, lemmas, posTags, Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+  }
+
+  boolean isEmpty() {
+    return tokens.isEmpty() && lemmas.isEmpty() && posTags.isEmpty()
+            && tokenAlternatives.isEmpty() && lemmaAlternatives.isEmpty() && posTagPrefixes.isEmpty();
+  }
+
+  /**
+   * Whether all anchors of this rule occur in the given sentence anchors.
+   */
+  boolean isContainedIn(DisambiguationAnchors sentenceAnchors) {
+    if (!sentenceAnchors.tokens.containsAll(tokens)
+            || !sentenceAnchors.lemmas.containsAll(lemmas)
+            || !sentenceAnchors.posTags.containsAll(posTags)) {
+      return false;
+    }
+    for (Set<String> alternatives : tokenAlternatives) {
+      if (Collections.disjoint(sentenceAnchors.tokens, alternatives)) {
+        return false;
+      }
+    }
+    for (Set<String> alternatives : lemmaAlternatives) {
+      if (Collections.disjoint(sentenceAnchors.lemmas, alternatives)) {
+        return false;
+      }
+    }
+    for (List<String> prefixes : posTagPrefixes) {
+      if (!hasTagWithPrefix(sentenceAnchors.posTags, prefixes)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean hasTagWithPrefix(Set<String> posTags, List<String> prefixes) {
+    for (String posTag : posTags) {
+      for (String prefix : prefixes) {
+        if (posTag.startsWith(prefix)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  // Two strings have the same normalized form exactly if String.equalsIgnoreCase() is true
+  // for them. String.toLowerCase() can't be used, as it's locale-dependent and may change the length.
+  static String normalize(String s) {
+    char[] chars = new char[s.length()];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = Character.toLowerCase(Character.toUpperCase(s.charAt(i)));
+    }
+    return new String(chars);
+  }
+
+  /**
+   * The normalized alternatives of a regular expression like {@code foo|bar}, or {@code null}
+   * if the regular expression is more than a list of words.
+   */
+  @Nullable
+  static Set<String> getLiteralAlternatives(String regex) {
+    for (int i = 0; i < regex.length(); i++) {
+      if (regex.charAt(i) != '|' && REGEX_META_CHARS.indexOf(regex.charAt(i)) != -1) {
+        return null;
+      }
+    }
+    Set<String> alternatives = new HashSet<>();
+    for (String alternative : regex.split("\\|", -1)) {
+      if (alternative.isEmpty()) {
+        return null;
+      }
+      alternatives.add(normalize(alternative));
+    }
+    return alternatives;
+  }
+
+  /**
+   * Literal prefixes so that every string matched by the regular expression starts with one
+   * of them, e.g. {@code [adj, ppas]} for {@code (?:adj|ppas):.*}, or {@code null} if there
+   * are no such prefixes.
+   */
+  @Nullable
+  static List<String> getPrefixes(String regex) {
+    List<String> alternatives = splitAlternatives(regex);
+    if (alternatives == null) {
+      return null;
+    }
+    List<String> result = new ArrayList<>();
+    for (String alternative : alternatives) {
+      List<String> prefixes = getPrefixesOfAlternative(alternative);
+      if (prefixes == null) {
+        return null;
+      }
+      result.addAll(prefixes);
+    }
+    return result;
+  }
+
+  @Nullable
+  private static List<String> getPrefixesOfAlternative(String regex) {
+    if (regex.startsWith("(")) {
+      // only plain and non-capturing groups, not look-arounds or flags like "(?i)":
+      int start = regex.startsWith("(?:") ? 3 : 1;
+      int end = findGroupEnd(regex);
+      if (end == -1 || (start == 1 && regex.startsWith("(?"))) {
+        return null;
+      }
+      if (end + 1 < regex.length() && QUANTIFIERS.indexOf(regex.charAt(end + 1)) != -1) {
+        return null;  // the group may be optional
+      }
+      return getPrefixes(regex.substring(start, end));
+    }
+    int i = 0;
+    while (i < regex.length() && REGEX_META_CHARS.indexOf(regex.charAt(i)) == -1) {
+      i++;
+    }
+    int end = i;
+    if (end > 0 && i < regex.length() && QUANTIFIERS.indexOf(regex.charAt(i)) != -1) {
+      end = regex.offsetByCodePoints(end, -1);  // the last character may be optional
+    }
+    if (end == 0) {
+      return null;
+    }
+    return Collections.singletonList(regex.substring(0, end));
+  }
+
+  // split at the top-level '|' characters, or null if the regular expression is too complicated
+  @Nullable
+  private static List<String> splitAlternatives(String regex) {
+    List<String> result = new ArrayList<>();
+    int depth = 0;
+    int start = 0;
+    boolean inClass = false;
+    for (int i = 0; i < regex.length(); i++) {
+      char c = regex.charAt(i);
+      if (c == '\\') {
+        i++;
+      } else if (inClass) {
+        if (c == '[') {
+          return null;  // nested or intersected character class
+        } else if (c == ']') {
+          inClass = false;
+        }
+      } else if (c == '[') {
+        if (regex.startsWith("[]", i) || regex.startsWith("[^]", i)) {
+          return null;
+        }
+        inClass = true;
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')') {
+        depth--;
+      } else if (c == '|' && depth == 0) {
+        result.add(regex.substring(start, i));
+        start = i + 1;
+      }
+    }
+    if (depth != 0 || inClass) {
+      return null;
+    }
+    result.add(regex.substring(start));
+    return result;
+  }
+
+  // the position of the ')' that closes the group starting at position 0, or -1
+  private static int findGroupEnd(String regex) {
+    int depth = 0;
+    boolean inClass = false;
+    for (int i = 0; i < regex.length(); i++) {
+      char c = regex.charAt(i);
+      if (c == '\\') {
+        i++;
+      } else if (inClass) {
+        if (c == ']') {
+          inClass = false;
+        }
+      } else if (c == '[') {
+        inClass = true;
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')') {
+        depth--;
+        if (depth == 0) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private static <T> Set<T> unmodifiable(Set<T> set) {
+    return set.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(set);
+  }
+
+  private static <T> List<T> unmodifiable(List<T> list) {
+    return list.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(list);
+  }
+
+}
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.jetbrains.annotations.Nullable;
 import org.languagetool.AnalyzedSentence;
@@ -53,6 +54,12 @@ public class DisambiguationPatternRule extends AbstractPatternRule {
   private List<DisambiguatedExample> examples = new ArrayList<>();
   private List<String> untouchedExamples = new ArrayList<>();
 
+  private final DisambiguationAnchors anchors;
+  // A replacer keeps state while matching, so a thread takes the idle replacer and puts it back when
+  // it's done (or creates a new one if another thread is using it). Not a ThreadLocal, as the replacer
+  // refers to this rule, which then could never be garbage collected while the thread is alive:
+  private final AtomicReference<DisambiguationPatternRuleReplacer> idleReplacer = new AtomicReference<>();
+
   /**
    * @param id Id of the Rule
    * @param language Language of the Rule
@@ -78,6 +85,7 @@ public class DisambiguationPatternRule extends AbstractPatternRule {
     this.disambiguatedPOS = disambiguatedPOS;
     this.matchElement = posSelect;
     this.disAction = Objects.requireNonNull(disambAction);
+    this.anchors = DisambiguationAnchors.of(this.patternTokens);
   }
 
   /**
@@ -97,8 +105,21 @@ public class DisambiguationPatternRule extends AbstractPatternRule {
    * @return {@link AnalyzedSentence} Disambiguated sentence (might be unchanged).
    */
   public final AnalyzedSentence replace(AnalyzedSentence sentence) throws IOException {
-    DisambiguationPatternRuleReplacer replacer = new DisambiguationPatternRuleReplacer(this);
-    return replacer.replace(sentence);
+    DisambiguationPatternRuleReplacer replacer = idleReplacer.getAndSet(null);
+    if (replacer == null) {
+      replacer = new DisambiguationPatternRuleReplacer(this);
+    }
+    AnalyzedSentence result = replacer.replace(sentence);
+    idleReplacer.set(replacer);
+    return result;
+  }
+
+  /**
+   * The tokens, lemmas, and POS tags a sentence must contain for this rule to match.
+   * @since 3.4
+   */
+  DisambiguationAnchors getAnchors() {
+    return anchors;
   }
 
   public void setExamples(List<DisambiguatedExample> examples) {
@@ -35,20 +35,29 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
+ * Applies a disambiguation rule to a sentence. An instance keeps state while matching
+ * and can be re-used for many sentences, but must not be used by more than one
+ * thread at the same time.
  * @since 2.3
  */
 class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
 
   private final List<Boolean> pTokensMatched;
+  private final List<PatternTokenMatcher> patternTokenMatchers;
+  private final int minOccurCorrection;
 
   DisambiguationPatternRuleReplacer(DisambiguationPatternRule rule) {
     super(rule, rule.getLanguage().getDisambiguationUnifier());
     pTokensMatched = new ArrayList<>(rule.getPatternTokens().size());
+    patternTokenMatchers = createElementMatchers();
+    minOccurCorrection = getMinOccurrenceCorrection();
   }
 
   public final AnalyzedSentence replace(AnalyzedSentence sentence)
       throws IOException {
-    List<PatternTokenMatcher> patternTokenMatchers = createElementMatchers();
+    for (PatternTokenMatcher patternTokenMatcher : patternTokenMatchers) {
+      patternTokenMatcher.reset();
+    }
 
     AnalyzedTokenReadings[] tokens = sentence.getTokensWithoutWhitespace();
     AnalyzedTokenReadings[] whTokens = sentence.getTokens();
@@ -65,7 +74,6 @@ class DisambiguationPatternRuleReplacer extends AbstractPatternRulePerformer {
     }
 
     int i = 0;
-    int minOccurCorrection = getMinOccurrenceCorrection();
     while (i < limit + minOccurCorrection && !(rule.isSentStart() && i > 0)) {
       int skipShiftTotal = 0;
       boolean allElementsMatch = false;
@@ -34,6 +34,8 @@ import org.xml.sax.SAXException;
 /**
  * Rule-based disambiguator.
  * Implements an idea by Agnes Souque.
+ * Rules whose tokens, lemmas, or POS tags don't occur in a sentence are skipped
+ * for that sentence without changing the result, see {@link DisambiguationAnchors}.
  * 
  * @author Marcin Miłkowski
  */
@@ -56,8 +58,23 @@ public class XmlRuleDisambiguator implements Disambiguator {
   @Override
   public AnalyzedSentence disambiguate(AnalyzedSentence input) throws IOException {
     AnalyzedSentence sentence = input;
+    DisambiguationAnchors sentenceAnchors = null;
     for (DisambiguationPatternRule patternRule : disambiguationRules) {
-      sentence = patternRule.replace(sentence);
+      DisambiguationAnchors ruleAnchors = patternRule.getAnchors();
+      if (!ruleAnchors.isEmpty()) {
+        if (sentenceAnchors == null) {
+          sentenceAnchors = DisambiguationAnchors.of(sentence);
+        }
+        if (!ruleAnchors.isContainedIn(sentenceAnchors)) {
+          continue;  // the rule cannot match, skip it
+        }
+      }
+      AnalyzedSentence disambiguated = patternRule.replace(sentence);
+      if (disambiguated != sentence) {
+        // readings have been added or removed, so the anchors need to be collected again:
+        sentenceAnchors = null;
+        sentence = disambiguated;
+      }
     }
     return sentence;
   }
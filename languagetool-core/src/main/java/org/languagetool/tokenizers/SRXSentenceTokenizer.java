@@ -50,7 +50,7 @@ public class SRXSentenceTokenizer implements SentenceTokenizer {
    */
   public SRXSentenceTokenizer(Language language, String srxInClassPath) {
     this.language = Objects.requireNonNull(language);
-    this.srxDocument = SrxTools.createSrxDocument(srxInClassPath);
+    this.srxDocument = SrxTools.getSrxDocument(srxInClassPath);
     setSingleLineBreaksMarksParagraph(false);
   }
 
@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Tools for loading an SRX tokenizer file.
@@ -37,9 +38,21 @@ import java.util.Map;
  */
 final class SrxTools {
 
+  // parsing and validating segment.srx is slow, and all languages use the same file, so
+  // the documents are shared (the rules compiled for each language are cached in the document):
+  private static final Map<String,SrxDocument> pathToDocument = new ConcurrentHashMap<>();
+
   private SrxTools() {
   }
 
+  /**
+   * Get the parsed SRX document for the given path, parsing it only once per JVM.
+   * @since 3.4
+   */
+  static SrxDocument getSrxDocument(String path) {
+    return pathToDocument.computeIfAbsent(path, SrxTools::createSrxDocument);
+  }
+
   static SrxDocument createSrxDocument(String path) {
     try {
       try (
@@ -0,0 +1,87 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.junit.Test;
+import org.languagetool.language.Demo;
+
+import java.io.IOException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class AnalyzedSentenceCacheTest {
+
+  @Test
+  public void testGetAnalyzedSentence() throws IOException {
+    JLanguageTool lt = new JLanguageTool(new Demo());
+    AnalyzedSentenceCache cache = new AnalyzedSentenceCache(10);
+    JLanguageTool cachingLt = new JLanguageTool(new Demo());
+    cachingLt.setCache(cache);
+    String sentence = "This is a test.";
+    String expected = lt.getAnalyzedSentence(sentence).toString();
+
+    AnalyzedSentence analyzedSentence1 = cachingLt.getAnalyzedSentence(sentence);
+    assertThat(analyzedSentence1.toString(), is(expected));
+    assertThat(cache.getMissCount(), is(1L));
+    assertThat(cache.getHitCount(), is(0L));
+
+    // modifying the result must not affect the cache:
+    AnalyzedTokenReadings[] tokens = analyzedSentence1.getTokens();
+    tokens[tokens.length - 1].setParagraphEnd();
+    tokens[1].immunize();
+
+    AnalyzedSentence analyzedSentence2 = cachingLt.getAnalyzedSentence(sentence);
+    assertThat(analyzedSentence2, not(sameInstance(analyzedSentence1)));
+    assertThat(analyzedSentence2.toString(), is(expected));
+    assertThat(analyzedSentence2.getTokens()[1].isImmunized(), is(false));
+    assertThat(cache.getMissCount(), is(1L));
+    assertThat(cache.getHitCount(), is(1L));
+    assertThat(cache.size(), is(1L));
+
+    // the cache can be shared:
+    JLanguageTool cachingLt2 = new JLanguageTool(new Demo());
+    cachingLt2.setCache(cache);
+    assertThat(cachingLt2.getAnalyzedSentence(sentence).toString(), is(expected));
+    assertThat(cache.getHitCount(), is(2L));
+    assertThat(cache.getHitRate(), is(2.0 / 3.0));
+
+    cache.clear();
+    assertThat(cache.size(), is(0L));
+  }
+
+  @Test
+  public void testCheck() throws IOException {
+    JLanguageTool lt = new JLanguageTool(new Demo());
+    lt.setCache(new AnalyzedSentenceCache(100));
+    String text = "A small toast. No error here. Foo go bar. First goes last there, please!";
+    assertThat(lt.check(text).toString(), is(new JLanguageTool(new Demo()).check(text).toString()));
+    // the analysis of the last sentence is modified by check(), this must not affect the cached analysis:
+    assertThat(lt.check(text).toString(), is(new JLanguageTool(new Demo()).check(text).toString()));
+    assertThat(lt.check(text + " Foo go bar.").toString(), is(new JLanguageTool(new Demo()).check(text + " Foo go bar.").toString()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new AnalyzedSentenceCache(0);
+  }
+
+}
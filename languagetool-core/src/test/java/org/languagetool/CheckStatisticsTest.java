@@ -0,0 +1,100 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.junit.Test;
+import org.languagetool.language.Demo;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CheckStatisticsTest {
+
+  private static final String TEXT = "This is a test. A foo bar here.";
+
+  @Test
+  public void testCheck() throws IOException {
+    JLanguageTool lt = new JLanguageTool(new Demo());
+    assertThat(lt.getCheckStatistics(), is(nullValue()));
+    CheckStatistics statistics = new CheckStatistics();
+    lt.setCheckStatistics(statistics);
+    assertThat(lt.check(TEXT).size(), is(new JLanguageTool(new Demo()).check(TEXT).size()));
+
+    assertThat(statistics.getStageInvocations(CheckStatistics.Stage.SENTENCE_SPLITTING), is(1L));
+    assertThat(statistics.getStageInvocations(CheckStatistics.Stage.WORD_TOKENIZATION), is(2L));
+    assertThat(statistics.getStageInvocations(CheckStatistics.Stage.TAGGING), is(2L));
+    assertThat(statistics.getStageInvocations(CheckStatistics.Stage.CHUNKING), is(2L));
+    assertThat(statistics.getStageInvocations(CheckStatistics.Stage.DISAMBIGUATION), is(2L));
+    assertTrue(statistics.getStageNanos(CheckStatistics.Stage.TAGGING) > 0);
+
+    // "foo" is only in the second sentence, so the rule is not applied to the first one:
+    CheckStatistics.RuleStatistics ruleStatistics = statistics.getRuleStatistics("DEMO_RULE");
+    assertThat(ruleStatistics, is(notNullValue()));
+    assertThat(ruleStatistics.getInvocations(), is(1L));
+    assertThat(ruleStatistics.getSkips(), is(1L));
+    assertThat(ruleStatistics.getMatches(), is(1L));
+    assertThat(statistics.getRuleStatistics("DEMO_RULE_OFF"), is(nullValue()));
+    assertThat(statistics.getRuleMatches().get("DEMO_RULE"), is(1L));
+
+    statistics.reset();
+    assertThat(statistics.getStageInvocations(CheckStatistics.Stage.TAGGING), is(0L));
+    assertThat(statistics.getRuleStatistics().size(), is(0));
+  }
+
+  @Test
+  public void testMultiThreadedCheck() throws IOException {
+    MultiThreadedJLanguageTool lt = new MultiThreadedJLanguageTool(new Demo());
+    try {
+      CheckStatistics statistics = new CheckStatistics();
+      lt.setCheckStatistics(statistics);
+      lt.check(TEXT);
+      lt.check(TEXT);
+      assertThat(statistics.getStageInvocations(CheckStatistics.Stage.DISAMBIGUATION), is(4L));
+      assertThat(statistics.getRuleStatistics("DEMO_RULE").getInvocations(), is(2L));
+      assertThat(statistics.getRuleStatistics("DEMO_RULE").getMatches(), is(2L));
+    } finally {
+      lt.shutdown();
+    }
+  }
+
+  @Test
+  public void testMBean() throws Exception {
+    JLanguageTool lt = new JLanguageTool(new Demo());
+    CheckStatistics statistics = new CheckStatistics();
+    lt.setCheckStatistics(statistics);
+    lt.check(TEXT);
+    ObjectName name = statistics.registerMBean("test");
+    try {
+      TabularData matches = (TabularData) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "RuleMatches");
+      assertThat(matches.get(new Object[]{"DEMO_RULE"}).get("value"), is(1L));
+    } finally {
+      CheckStatistics.unregisterMBean(name);
+    }
+    assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(name), is(false));
+  }
+
+}
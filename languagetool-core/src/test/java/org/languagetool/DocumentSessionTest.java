@@ -0,0 +1,85 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.junit.Test;
+import org.languagetool.language.Demo;
+import org.languagetool.rules.RuleMatch;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class DocumentSessionTest {
+
+  @Test
+  public void testCheck() throws IOException {
+    JLanguageTool lt = new JLanguageTool(new Demo());
+    DocumentSession session = new DocumentSession(lt);
+    String text = "A small toast. No error here.\nfoo go bar. First goes last there, please!\n\n";
+    assertSameMatches(lt, session, text);
+    assertThat(session.getLastAnalyzedCount(), is(5));
+
+    assertSameMatches(lt, session, text);
+    assertThat(session.getLastAnalyzedCount(), is(0));
+
+    String edited = "A small toast. No error here at all.\nfoo go bar. First goes last there, please!\n\n";
+    assertSameMatches(lt, session, edited);
+    assertThat(session.getLastAnalyzedCount(), is(1));
+
+    String inserted = "Another sentence. " + edited + "A small toast.";
+    assertSameMatches(lt, session, inserted);
+    assertThat(session.getLastAnalyzedCount(), is(2));
+
+    lt.disableRule("DEMO_RULE");
+    assertSameMatches(lt, session, inserted);
+    assertThat(session.getLastAnalyzedCount(), is(6));
+
+    assertSameMatches(lt, session, "");
+    assertThat(session.getLastAnalyzedCount(), is(0));
+  }
+
+  @Test
+  public void testCheckWithMultiThreadedJLanguageTool() throws IOException {
+    MultiThreadedJLanguageTool lt = new MultiThreadedJLanguageTool(new Demo(), 4);
+    DocumentSession session = new DocumentSession(lt);
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 50; i++) {
+      sb.append("A small toast. No error here.\nfoo go bar. First goes last there, please!\n\n");
+    }
+    String text = sb.toString();
+    assertSameMatches(lt, session, text);
+    // the same sentences occur several times, but they're only analyzed once:
+    assertThat(session.getLastAnalyzedCount(), is(5));
+
+    String edited = "Another sentence. A small toast. " + text + "No error here at all.";
+    assertSameMatches(lt, session, edited);
+    assertThat(session.getLastAnalyzedCount(), is(2));
+    lt.shutdown();
+  }
+
+  private void assertSameMatches(JLanguageTool lt, DocumentSession session, String text) throws IOException {
+    List<RuleMatch> sessionMatches = session.check(text);
+    List<RuleMatch> matches = lt.check(text);
+    assertThat(TestTools.getMatchesAsStrings(sessionMatches), is(TestTools.getMatchesAsStrings(matches)));
+  }
+
+}
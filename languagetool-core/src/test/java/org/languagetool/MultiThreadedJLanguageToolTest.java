@@ -29,10 +29,12 @@ import org.languagetool.rules.patterns.AbstractPatternRule;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 
 @SuppressWarnings("ResultOfObjectAllocationIgnored")
@@ -52,6 +54,84 @@ public class MultiThreadedJLanguageToolTest {
     assertEquals(4, lt1.getSentenceCount());
   }
   
+  @Test
+  public void testCheckLongText() throws IOException {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 30; i++) {
+      sb.append("A small toast. No error here.\nFoo go bar. First goes last there, please!\n\n");
+    }
+    String text = sb.toString();
+    MultiThreadedJLanguageTool lt1 = new MultiThreadedJLanguageTool(new Demo(), 4);
+    List<RuleMatch> matches1 = lt1.check(text);
+    lt1.shutdown();
+    List<RuleMatch> matches2 = new JLanguageTool(new Demo()).check(text);
+    assertThat(matches1.size(), is(270));
+    assertThat(TestTools.getMatchesAsStrings(matches1), is(TestTools.getMatchesAsStrings(matches2)));
+  }
+
+  @Test
+  public void testMatchOrderWithDifferentThreadCounts() throws IOException {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 50; i++) {
+      sb.append("A small toast. No error here. Foo go bar. First goes last there, please!\n\n");
+    }
+    String text = sb.toString();
+    List<String> expected = TestTools.getMatchesAsStrings(new JLanguageTool(new Demo()).check(text));
+    for (int threads : new int[]{1, 2, 8}) {
+      MultiThreadedJLanguageTool lt = new MultiThreadedJLanguageTool(new Demo(), threads);
+      assertThat("with " + threads + " threads", TestTools.getMatchesAsStrings(lt.check(text)), is(expected));
+      lt.shutdown();
+    }
+  }
+
+  @Test
+  public void testParagraphEndOfLastSentence() throws IOException {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      sb.append("This is sentence number ").append(i).append(". ");
+    }
+    MultiThreadedJLanguageTool lt = new MultiThreadedJLanguageTool(new Demo(), 2);
+    ParagraphEndRule rule = new ParagraphEndRule();
+    lt.addRule(rule);
+    lt.check(sb.toString());
+    lt.shutdown();
+    assertThat(rule.sentenceCount.get(), is(100));
+    assertThat(rule.paragraphEnds, is(Collections.singletonList(99)));
+  }
+
+  @Test
+  public void testAnalysisException() throws IOException {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      sb.append("This is sentence number ").append(i).append(". ");
+    }
+    MultiThreadedJLanguageTool lt = new MultiThreadedJLanguageTool(new Demo(), 2) {
+      @Override
+      public AnalyzedSentence getAnalyzedSentence(String sentence) throws IOException {
+        if (sentence.startsWith("This is sentence number 50.")) {
+          throw new IOException("Test exception");
+        }
+        return super.getAnalyzedSentence(sentence);
+      }
+    };
+    try {
+      lt.check(sb.toString());
+      fail();
+    } catch (RuntimeException e) {
+      Throwable cause = e;
+      while (cause != null && !(cause instanceof IOException)) {
+        cause = cause.getCause();
+      }
+      assertNotNull("expected the exception of the analysis as a cause: " + e, cause);
+      assertThat(cause.getMessage(), is("Test exception"));
+    }
+    // the failed check leaves no tasks behind that keep the threads busy:
+    String text = "A small toast. Foo go bar.";
+    List<String> expected = TestTools.getMatchesAsStrings(new JLanguageTool(new Demo()).check(text));
+    assertThat(TestTools.getMatchesAsStrings(lt.check(text)), is(expected));
+    lt.shutdown();
+  }
+
   @Test
   public void testShutdownException() throws IOException {
     MultiThreadedJLanguageTool tool = new MultiThreadedJLanguageTool(new Demo());
@@ -113,6 +193,35 @@ public class MultiThreadedJLanguageToolTest {
     lt.shutdown();
   }
 
+  /**
+   * Remembers the indexes of the sentences whose last token is the end of a paragraph.
+   * Not a pattern rule, so the sentences are checked in order.
+   */
+  private static class ParagraphEndRule extends Rule {
+    private final AtomicInteger sentenceCount = new AtomicInteger();
+    private final List<Integer> paragraphEnds = Collections.synchronizedList(new ArrayList<>());
+    @Override
+    public String getId() {
+      return "PARAGRAPH_END_TEST_RULE";
+    }
+    @Override
+    public String getDescription() {
+      return "test rule";
+    }
+    @Override
+    public RuleMatch[] match(AnalyzedSentence sentence) throws IOException {
+      int index = sentenceCount.getAndIncrement();
+      AnalyzedTokenReadings[] tokens = sentence.getTokens();
+      if (tokens[tokens.length - 1].isParagraphEnd()) {
+        paragraphEnds.add(index);
+      }
+      return new RuleMatch[0];
+    }
+    @Override
+    public void reset() {
+    }
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testIllegalThreadPoolSize1() throws IOException {
     new MultiThreadedJLanguageTool(new Demo(), 0);
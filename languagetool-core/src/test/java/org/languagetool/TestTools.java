@@ -33,6 +33,7 @@ import morfologik.stemming.DictionaryLookup;
 import morfologik.stemming.WordData;
 
 import org.languagetool.language.Demo;
+import org.languagetool.rules.RuleMatch;
 import org.languagetool.tagging.BaseTagger;
 import org.languagetool.tagging.Tagger;
 import org.languagetool.tagging.disambiguation.Disambiguator;
@@ -167,6 +168,18 @@ public final class TestTools {
     return false;
   }
 
+  /**
+   * The rule id and the positions of each match, so the matches of two checks can be compared.
+   */
+  public static List<String> getMatchesAsStrings(List<RuleMatch> matches) {
+    List<String> result = new ArrayList<>();
+    for (RuleMatch match : matches) {
+      result.add(match.getRule().getId() + ":" + match.getFromPos() + "-" + match.getToPos() + ":" +
+              match.getLine() + "/" + match.getColumn() + "-" + match.getEndLine() + "/" + match.getEndColumn());
+    }
+    return result;
+  }
+
   public static void testDictionary(BaseTagger tagger, Language language) throws IOException {
     Dictionary dictionary = Dictionary.read(JLanguageTool.getDataBroker().getFromResourceDirAsUrl(tagger.getDictionaryPath()));
     DictionaryLookup lookup = new DictionaryLookup(dictionary);
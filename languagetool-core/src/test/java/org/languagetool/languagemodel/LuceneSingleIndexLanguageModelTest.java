@@ -21,10 +21,11 @@ package org.languagetool.languagemodel;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.languagetool.JLanguageTool;
+import org.languagetool.rules.ngrams.Probability;
 
 import java.io.File;
 import java.net.URL;
-import java.util.Arrays;
+import java.util.*;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -43,6 +44,35 @@ public class LuceneSingleIndexLanguageModelTest extends LanguageModelTest {
     }
   }
 
+  @Test
+  public void testGetCounts() throws Exception {
+    URL ngramUrl = JLanguageTool.getDataBroker().getFromResourceDirAsUrl("/yy/ngram-index");
+    LuceneSingleIndexLanguageModel.clearCaches();
+    // clearCaches() doesn't reset the statistics, so only their changes are checked:
+    long hits = LuceneSingleIndexLanguageModel.getCountCacheHitCount();
+    long misses = LuceneSingleIndexLanguageModel.getCountCacheMissCount();
+    try (LuceneLanguageModel model = new LuceneLanguageModel(new File(ngramUrl.getFile()))) {
+      List<String> the = Collections.singletonList("the");
+      List<String> theNice = Arrays.asList("the", "nice");
+      List<String> unknown = Arrays.asList("the", "not-in-here");
+      Map<List<String>,Long> counts = model.getCounts(Arrays.asList(theNice, the, unknown, new ArrayList<>(theNice)));
+      assertThat(counts.size(), is(3));
+      assertThat(counts.get(the), is(55L));
+      assertThat(counts.get(theNice), is(3L));
+      assertThat(counts.get(unknown), is(0L));
+      assertThat(LuceneSingleIndexLanguageModel.getCountCacheHitCount() - hits, is(0L));
+      assertThat(LuceneSingleIndexLanguageModel.getCountCacheMissCount() - misses, is(3L));
+      assertThat(model.getCount(theNice), is(3L));
+      assertThat(model.getCount(unknown), is(0L));
+      assertThat(LuceneSingleIndexLanguageModel.getCountCacheHitCount() - hits, is(2L));
+      List<Probability> probabilities = model.getPseudoProbabilities(Arrays.asList(theNice, Arrays.asList("the", "nice", "building")));
+      assertThat(probabilities.get(0).getProb(), is(model.getPseudoProbability(theNice).getProb()));
+      assertThat(probabilities.get(1).getCoverage(), is(1.0f));
+    } finally {
+      LuceneSingleIndexLanguageModel.clearCaches();
+    }
+  }
+
   /**
    * Some values for average time per lookup on 2grams on a 3.7GB Lucene 4.8.1 index with 118,941,740 docs:
    * -no data in OS cache, index on external USB disk: 17626µs = 17ms
@@ -0,0 +1,94 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.languagemodel;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class MappedLanguageModelTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testMappedFilesInIndexDir() throws Exception {
+    File dir = tempFolder.newFolder();
+    try (MappedNgramCountsWriter writer = new MappedNgramCountsWriter(new File(dir, "1grams.bin"), 1, 2, 57)) {
+      writer.add(new byte[] {'a'}, 0, 1, 2);
+      writer.add("the".getBytes(StandardCharsets.UTF_8), 0, 3, 55);
+    }
+    try (LuceneLanguageModel model = new LuceneLanguageModel(dir)) {
+      assertThat(model.toString(), startsWith("[[" + new File(dir, "1grams.bin")));
+      assertThat(model.getCount("the"), is(55L));
+      assertThat(model.getCount("not-in-here"), is(0L));
+      assertThat(model.getTotalTokenCount(), is(57L));
+      try {
+        model.getCount(Arrays.asList("the", "nice"));
+        fail();
+      } catch (RuntimeException ignored) {}
+    }
+    MappedLanguageModel.clearCaches();
+  }
+
+  @Test
+  public void testNonAsciiKeys() throws Exception {
+    File file = tempFolder.newFile("1grams.bin");
+    // in UTF-8 byte order, which is different from the UTF-16 order for the last two keys:
+    String[] keys = {"Zoo", "a b", "ab", "straße", "zoo", "\uFFFD", "\uD83D\uDE00"};
+    try (MappedNgramCountsWriter writer = new MappedNgramCountsWriter(file, 1, keys.length, 100)) {
+      for (String key : keys) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        writer.add(bytes, 0, bytes.length, key.length());
+      }
+    }
+    MappedNgramCounts counts = new MappedNgramCounts(file);
+    assertThat(counts.getEntryCount(), is(7L));
+    assertThat(counts.getTotalTokenCount(), is(100L));
+    assertThat(counts.getCount(Collections.singletonList("straße")), is(6L));
+    assertThat(counts.getCount(Collections.singletonList("zoo")), is(3L));
+    assertThat(counts.getCount(Collections.singletonList("Zoo")), is(3L));
+    assertThat(counts.getCount(Collections.singletonList("\uD83D\uDE00")), is(2L));
+    assertThat(counts.getCount(Collections.singletonList("\uFFFD")), is(1L));
+    assertThat(counts.getCount(Collections.singletonList("\uD83D")), is(1L));  // unpaired surrogate, like Lucene
+    assertThat(counts.getCount(Arrays.asList("a", "b")), is(3L));
+    assertThat(counts.getCount(Collections.singletonList("a")), is(0L));
+    assertThat(counts.getCount(Collections.singletonList("strasse")), is(0L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsortedKeys() throws Exception {
+    File file = tempFolder.newFile();
+    try (MappedNgramCountsWriter writer = new MappedNgramCountsWriter(file, 1, 2, 0)) {
+      writer.add(new byte[] {'b'}, 0, 1, 1);
+      writer.add(new byte[] {'a'}, 0, 1, 1);
+    }
+  }
+
+}
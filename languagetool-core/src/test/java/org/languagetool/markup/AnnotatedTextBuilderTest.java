@@ -0,0 +1,64 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.markup;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class AnnotatedTextBuilderTest {
+
+  @Test
+  public void testGetOriginalTextPositionFor() {
+    AnnotatedText text = new AnnotatedTextBuilder()
+        .addText("Here is ").addMarkup("<b>").addText("some text").addMarkup("</b>").addMarkup("<br/>").addText("and more")
+        .build();
+    assertThat(text.getPlainText(), is("Here is some textand more"));
+    assertThat(text.toString(), is("Here is <b>some text</b><br/>and more"));
+    assertThat(text.getOriginalTextPositionFor(0), is(0));
+    assertThat(text.getOriginalTextPositionFor(7), is(7));
+    assertThat(text.getOriginalTextPositionFor(8), is(11));   // "some"
+    assertThat(text.getOriginalTextPositionFor(12), is(15));
+    assertThat(text.getOriginalTextPositionFor(16), is(19));  // last char of "text"
+    assertThat(text.getOriginalTextPositionFor(17), is(29));  // "and"
+    assertThat(text.getOriginalTextPositionFor(24), is(36));
+    assertThat(text.getOriginalTextPositionFor(30), is(42));  // beyond the end, still one-to-one
+    assertThat(Arrays.toString(text.getOriginalTextPositionsFor(new int[]{17, 0, 8})), is("[29, 0, 11]"));
+  }
+
+  @Test
+  public void testMarkupAtStart() {
+    AnnotatedText text = new AnnotatedTextBuilder()
+        .addMarkup("<p>").addMarkup("<b>").addText("foo").addText("").addText("bar")
+        .build();
+    assertThat(text.getOriginalTextPositionFor(0), is(6));
+    assertThat(text.getOriginalTextPositionFor(2), is(8));
+    assertThat(text.getOriginalTextPositionFor(3), is(9));
+    assertThat(text.getOriginalTextPositionFor(5), is(11));
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testNegativePosition() {
+    new AnnotatedTextBuilder().addText("foo").build().getOriginalTextPositionFor(-1);
+  }
+
+}
@@ -0,0 +1,96 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules;
+
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.TestTools;
+import org.languagetool.rules.patterns.PatternRule;
+import org.languagetool.rules.patterns.PatternToken;
+
+import java.util.*;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.*;
+
+public class CompiledRuleSetTest {
+
+  private static final Language language = TestTools.getDemoLanguage();
+  private static final Category CAT1 = new Category(new CategoryId("CAT1"), "Category 1");
+  private static final Category CAT_OFF = new Category(new CategoryId("CAT_OFF"), "Category Off", Category.Location.INTERNAL, false);
+
+  @Test
+  public void testGetActiveRules() {
+    Rule rule1a = makeRule("ID1", CAT1);
+    Rule rule1b = makeRule("ID1", CAT1);
+    Rule rule2 = makeRule("ID2", CAT1);
+    Rule rule3 = makeRule("ID3", CAT_OFF);
+    Rule rule4 = makeRule("ID4", CAT1);
+    rule4.setDefaultOff();
+    CompiledRuleSet ruleSet = new CompiledRuleSet(Arrays.asList(rule1a, rule1b, rule2, rule3, rule4));
+    assertEquals(5, ruleSet.size());
+    assertEquals(bits(0, 1), ruleSet.getRulesById("ID1"));
+    assertEquals(bits(0, 1, 2, 4), ruleSet.getRulesByCategory(CAT1.getId()));
+    assertEquals(bits(), ruleSet.getRulesById("FOO"));
+
+    assertEquals(bits(0, 1, 2), ruleSet.getActiveRules(emptySet(), emptySet(), emptySet(), emptySet(), emptySet()));
+    assertEquals(bits(2), ruleSet.getActiveRules(singleton("ID1"), emptySet(), emptySet(), emptySet(), emptySet()));
+    assertEquals(bits(0, 1, 2, 4), ruleSet.getActiveRules(emptySet(), singleton("ID4"), emptySet(), emptySet(), emptySet()));
+    assertEquals(bits(0, 1, 2, 3), ruleSet.getActiveRules(emptySet(), emptySet(), emptySet(), emptySet(), singleton(CAT_OFF.getId())));
+    assertEquals(bits(), ruleSet.getActiveRules(emptySet(), singleton("ID4"), singleton(CAT1.getId()), emptySet(), emptySet()));
+    assertEquals(bits(), ruleSet.getActiveRules(emptySet(), emptySet(), emptySet(), singleton(CAT1.getName()), emptySet()));
+
+    rule4.setDefaultOn();
+    assertEquals(bits(0, 1, 2, 4), ruleSet.getActiveRules(emptySet(), emptySet(), emptySet(), emptySet(), emptySet()));
+    assertEquals(Arrays.asList(rule1a, rule1b, rule2, rule4), ruleSet.getRules(bits(0, 1, 2, 4)));
+  }
+
+  @Test
+  public void testGetCandidateRules() throws Exception {
+    PatternToken lemmaToken = new PatternToken("foobar", false, false, true);
+    Rule rule1 = new PatternRule("ID1", language, Arrays.asList(new PatternToken("this", false, false, false),
+            new PatternToken("is", false, false, false)), "desc", "msg", "shortMsg");
+    Rule rule2 = new PatternRule("ID2", language, Arrays.asList(new PatternToken("test", false, false, false)), "desc", "msg", "shortMsg");
+    Rule rule3 = new PatternRule("ID3", language, Arrays.asList(new PatternToken("t.*", false, true, false)), "desc", "msg", "shortMsg");
+    Rule rule4 = new PatternRule("ID4", language, Collections.singletonList(lemmaToken), "desc", "msg", "shortMsg");
+    Rule rule5 = new WordRepeatRule(TestTools.getEnglishMessages(), language);
+    CompiledRuleSet ruleSet = new CompiledRuleSet(Arrays.asList(rule1, rule2, rule3, rule4, rule5));
+    JLanguageTool lt = new JLanguageTool(language);
+    assertEquals(bits(0, 2, 4), ruleSet.getCandidateRules(lt.getAnalyzedSentence("This is a sentence.")));
+    assertEquals(bits(1, 2, 4), ruleSet.getCandidateRules(lt.getAnalyzedSentence("A test")));
+    assertEquals(bits(2, 3, 4), ruleSet.getCandidateRules(lt.getAnalyzedSentence("Foobar")));
+  }
+
+  private Rule makeRule(String id, Category category) {
+    PatternRule rule = new PatternRule(id, language, Collections.<PatternToken>emptyList(), "desc", "msg", "shortMsg");
+    rule.setCategory(category);
+    return rule;
+  }
+
+  private BitSet bits(int... indexes) {
+    BitSet bits = new BitSet();
+    for (int index : indexes) {
+      bits.set(index);
+    }
+    return bits;
+  }
+
+}
@@ -24,7 +24,11 @@ import org.languagetool.chunking.ChunkTag;
 import org.languagetool.rules.ITSIssueType;
 import org.languagetool.rules.IncorrectExample;
 import org.languagetool.rules.Rule;
+import org.xml.sax.SAXException;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -94,6 +98,32 @@ public class PatternRuleLoaderTest {
     assertNull("http://fake-server.org/rule-group-url", nextRule.getUrl());
   }
 
+  @Test
+  public void testInvalidTokenRegex() throws Exception {
+    assertInvalidRegex("<token regexp='yes'>fo(o</token>", "<token> of rule 'INVALID_REGEX'");
+    assertInvalidRegex("<token postag='NN(' postag_regexp='yes'/>", "<token> of rule 'INVALID_REGEX'");
+  }
+
+  @Test
+  public void testInvalidExceptionRegex() throws Exception {
+    assertInvalidRegex("<token>foo<exception regexp='yes'>ba[r</exception></token>", "<exception> of rule 'INVALID_REGEX'");
+  }
+
+  private void assertInvalidRegex(String token, String expectedMessage) {
+    String xml = "<rules lang='xx'><category id='MISC' name='misc'>" +
+            "<rule id='INVALID_REGEX' name='invalid regex'>" +
+            "<pattern>" + token + "</pattern>" +
+            "<message>msg</message><example>foo</example>" +
+            "</rule></category></rules>";
+    try {
+      new PatternRuleLoader().getRules(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), "test.xml");
+      fail("Loading a rule with an invalid regular expression should fail: " + token);
+    } catch (IOException e) {
+      assertTrue(e.getCause() instanceof SAXException);
+      assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains(expectedMessage));
+    }
+  }
+
   private Set<String> getCategoryNames(List<AbstractPatternRule> rules) {
     Set<String> categories = new HashSet<>();
     for (AbstractPatternRule rule : rules) {
@@ -30,6 +30,7 @@ import java.util.List;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.languagetool.AnalyzedSentence;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Languages;
 import org.languagetool.language.Demo;
@@ -449,6 +450,34 @@ public class PatternRuleMatcherTest {
     assertPosition(matches2[0], 3, 16);
   }
 
+  @Test
+  public void testMatchFromSeveralThreads() throws Exception {
+    PatternToken patternTokenB = makeElement("b");
+    patternTokenB.setMinOccurrence(0);
+    PatternRule rule = getPatternRule(Arrays.asList(makeElement("a"), patternTokenB, makeElement("c")));
+    AnalyzedSentence sentence = langTool.getAnalyzedSentence("a b c FOO a b c FOO a c a b c");
+    List<Thread> threads = new ArrayList<>();
+    List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+    for (int i = 0; i < 4; i++) {
+      Thread thread = new Thread(() -> {
+        try {
+          for (int j = 0; j < 100; j++) {
+            assertThat(rule.match(sentence).length, is(4));
+            assertThat(rule.match(langTool.getAnalyzedSentence("a b b c")).length, is(0));
+          }
+        } catch (Throwable t) {
+          errors.add(t);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertThat(errors.toString(), errors.size(), is(0));
+  }
+
   @Test
   public void testEquals() throws Exception {
     PatternRule patternRule1 = new PatternRule("id1", Languages.getLanguageForShortName("xx"),
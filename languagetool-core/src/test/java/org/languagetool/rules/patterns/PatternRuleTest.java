@@ -176,6 +176,10 @@ public class PatternRuleTest {
       }*/
       PatternTestTools.warnIfRegexpSyntaxNotKosher(rule.getPatternTokens(),
               rule.getId(), rule.getSubId(), lang);
+      PatternTestTools.failIfMatchRegexpInvalid(rule.getSuggestionMatches(),
+              rule.getId(), rule.getSubId(), lang);
+      PatternTestTools.failIfMatchRegexpInvalid(rule.getSuggestionMatchesOutMsg(),
+              rule.getId(), rule.getSubId(), lang);
 
       // Test the rule antipatterns.
       List<DisambiguationPatternRule> antiPatterns = rule.getAntiPatterns();
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.languagetool.Language;
 
@@ -50,6 +51,27 @@ public final class PatternTestTools {
   private PatternTestTools() {
   }
 
+  /**
+   * Fails if a regular expression of the given {@code <match>} elements is invalid. {@link Match}
+   * only compiles them when they are first used, so otherwise they might only fail when checking a text.
+   */
+  public static void failIfMatchRegexpInvalid(List<Match> matches,
+          String ruleId, String ruleSubId, Language lang) {
+    for (Match match : matches) {
+      failIfMatchRegexpInvalid(match, ruleId + "[" + ruleSubId + "]", lang);
+    }
+  }
+
+  private static void failIfMatchRegexpInvalid(Match match, String ruleDescription, Language lang) {
+    try {
+      match.getRegexMatch();
+      match.getPosRegexMatch();
+    } catch (PatternSyntaxException e) {
+      throw new RuntimeException("The " + lang + " rule: " + ruleDescription
+              + " contains an invalid regular expression in a <match> element", e);
+    }
+  }
+
   // TODO: probably this would be more useful for exceptions
   // instead of adding next methods to PatternRule
   // we can probably validate using XSD and specify regexes straight there
@@ -62,6 +84,11 @@ public final class PatternTestTools {
     for (PatternToken pToken : patternTokens) {
       i++;
 
+      if (pToken.getMatch() != null) {
+        failIfMatchRegexpInvalid(pToken.getMatch(),
+                ruleId + "[" + ruleSubId + "] (match in token [" + i + "])", lang);
+      }
+
       if (pToken.isReferenceElement()) {
         continue;
       }
@@ -298,6 +325,18 @@ public final class PatternTestTools {
           String ruleId,
           int tokenIndex) {
 
+    // Regular expressions are only compiled when they are first used for matching,
+    // so make sure here that they are valid:
+    if (isRegularExpression && !stringValue.isEmpty() && !"\\0".equals(stringValue)) {
+      try {
+        Pattern.compile(stringValue);
+      } catch (PatternSyntaxException e) {
+        throw new RuntimeException("The " + lang + " rule: "
+                + ruleId + ", token [" + tokenIndex + "], contains an invalid regular expression \""
+                + stringValue + "\"", e);
+      }
+    }
+
     // Check that the string value does not contain token separator.
     if (!isPos && !isRegularExpression && stringValue.length() > 1) {
       // Example: <token>foo bar</token> can't be valid because
@@ -26,6 +26,7 @@ import org.languagetool.AnalyzedTokenReadings;
 import java.util.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class UnifierTest {
@@ -598,4 +599,36 @@ public class UnifierTest {
     uni.reset();
   }
 
+  @Test
+  public void testUnifiersFromSameConfiguration() {
+    UnifierConfiguration unifierConfig = new UnifierConfiguration();
+    unifierConfig.setEquivalence("case-sensitivity", "lowercase", new PatternToken("\\p{Ll}+", true, true, false));
+    Unifier uni1 = unifierConfig.createUnifier();
+    // equivalences added later are used by unifiers created later:
+    unifierConfig.setEquivalence("case-sensitivity", "uppercase", new PatternToken("\\p{Lu}\\p{Ll}+", true, true, false));
+    Unifier uni2 = unifierConfig.createUnifier();
+    Map<String, List<String>> upperEquiv = new HashMap<>();
+    upperEquiv.put("case-sensitivity", Collections.singletonList("uppercase"));
+    Map<String, List<String>> lowerEquiv = new HashMap<>();
+    lowerEquiv.put("case-sensitivity", Collections.singletonList("lowercase"));
+    AnalyzedToken upper1 = new AnalyzedToken("John", "NNP", "John");
+    AnalyzedToken upper2 = new AnalyzedToken("Mary", "NNP", "Mary");
+    AnalyzedToken lower1 = new AnalyzedToken("lower", "JJR", "lower");
+    AnalyzedToken lower2 = new AnalyzedToken("lowercase", "JJ", "lowercase");
+
+    // interleaved use of the unifiers must not interfere:
+    boolean satisfied2 = uni2.isSatisfied(upper1, upperEquiv);
+    assertFalse(uni1.isSatisfied(upper1, upperEquiv));
+    uni1.reset();
+    boolean satisfied1 = uni1.isSatisfied(lower1, lowerEquiv);
+    uni2.startUnify();
+    uni1.startUnify();
+    satisfied2 &= uni2.isSatisfied(upper2, upperEquiv);
+    satisfied1 &= uni1.isSatisfied(lower2, lowerEquiv);
+    satisfied2 &= uni2.getFinalUnificationValue(upperEquiv);
+    satisfied1 &= uni1.getFinalUnificationValue(lowerEquiv);
+    assertTrue(satisfied1);
+    assertTrue(satisfied2);
+  }
+
 }
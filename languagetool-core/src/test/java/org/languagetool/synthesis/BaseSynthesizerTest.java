@@ -0,0 +1,77 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.synthesis;
+
+import morfologik.stemming.IStemmer;
+import org.junit.Test;
+import org.languagetool.AnalyzedToken;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class BaseSynthesizerTest {
+
+  @Test
+  public void testSynthesizeWithRegex() throws IOException {
+    BaseSynthesizer synthesizer = getSynthesizer();
+    AnalyzedToken token = new AnalyzedToken("foo", "POS1", "lemma1");
+    assertThat(Arrays.toString(synthesizer.synthesize(token, "POS.", true)), is("[InflectedForm11, InflectedForm121, InflectedForm122]"));
+    assertThat(Arrays.toString(synthesizer.synthesize(token, "POS2", true)), is("[InflectedForm121, InflectedForm122]"));
+    assertThat(Arrays.toString(synthesizer.synthesize(token, "POS.", true)), is("[InflectedForm11, InflectedForm121, InflectedForm122]"));
+    assertThat(Arrays.toString(synthesizer.synthesize(token, "X.*", true)), is("[]"));
+  }
+
+  @Test
+  public void testGetMatchingTags() throws IOException {
+    BaseSynthesizer synthesizer = getSynthesizer();
+    assertThat(synthesizer.getMatchingTags("POS.").size(), is(2));
+    assertThat(synthesizer.getMatchingTags("POS1").toString(), is("[POS1]"));
+    assertThat(synthesizer.getMatchingTags("POS.*"), sameInstance(synthesizer.getMatchingTags("POS.*")));
+  }
+
+  @Test
+  public void testStemmerPerThread() throws Exception {
+    BaseSynthesizer synthesizer = new BaseSynthesizer(null, null) {
+      @Override
+      protected IStemmer createStemmer() {
+        return word -> Collections.emptyList();
+      }
+    };
+    IStemmer stemmer = synthesizer.getStemmer();
+    assertThat(synthesizer.getStemmer(), sameInstance(stemmer));
+    IStemmer otherThreadStemmer = CompletableFuture.supplyAsync(synthesizer::getStemmer).get();
+    assertThat(otherThreadStemmer, not(sameInstance(stemmer)));
+  }
+
+  private BaseSynthesizer getSynthesizer() throws IOException {
+    String data =
+      "InflectedForm11\tlemma1\tPOS1\n" +
+      "InflectedForm121\tlemma1\tPOS2\n" +
+      "InflectedForm122\tlemma1\tPOS2\n" +
+      "InflectedForm2\tlemma2\tPOS1\n";
+    return new ManualSynthesizerAdapter(new ManualSynthesizer(new ByteArrayInputStream(data.getBytes("UTF-8"))));
+  }
+
+}
@@ -0,0 +1,128 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging.disambiguation.rules;
+
+import org.junit.Test;
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.AnalyzedToken;
+import org.languagetool.AnalyzedTokenReadings;
+import org.languagetool.rules.patterns.PatternToken;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class DisambiguationAnchorsTest {
+
+  @Test
+  public void testNormalize() {
+    assertThat(DisambiguationAnchors.normalize("FooBär"), is("foobär"));
+    assertThat(DisambiguationAnchors.normalize("İ"), is(DisambiguationAnchors.normalize("i")));
+    assertTrue("İ".equalsIgnoreCase("i"));
+  }
+
+  @Test
+  public void testGetLiteralAlternatives() {
+    assertThat(DisambiguationAnchors.getLiteralAlternatives("foo").toString(), is("[foo]"));
+    assertThat(DisambiguationAnchors.getLiteralAlternatives("De|del|l'").size(), is(3));
+    assertThat(DisambiguationAnchors.getLiteralAlternatives("foos?"), is(nullValue()));
+    assertThat(DisambiguationAnchors.getLiteralAlternatives("foo|"), is(nullValue()));
+    assertThat(DisambiguationAnchors.getLiteralAlternatives("(foo|bar)"), is(nullValue()));
+    assertThat(DisambiguationAnchors.getLiteralAlternatives("\\d+"), is(nullValue()));
+  }
+
+  @Test
+  public void testGetPrefixes() {
+    assertThat(DisambiguationAnchors.getPrefixes("NC.*").toString(), is("[NC]"));
+    assertThat(DisambiguationAnchors.getPrefixes("adv.*|qub").toString(), is("[adv, qub]"));
+    assertThat(DisambiguationAnchors.getPrefixes("(?:subst|ger|depr).*").toString(), is("[subst, ger, depr]"));
+    assertThat(DisambiguationAnchors.getPrefixes("(?:ppron[1-3]|subst):sg:acc.*").toString(), is("[ppron, subst]"));
+    assertThat(DisambiguationAnchors.getPrefixes("verb:(?:praet|pot):.*").toString(), is("[verb:]"));
+    assertThat(DisambiguationAnchors.getPrefixes("NCs?").toString(), is("[NC]"));
+    assertThat(DisambiguationAnchors.getPrefixes("adj|(?:subst|ger):.*").toString(), is("[adj, subst, ger]"));
+    assertThat(DisambiguationAnchors.getPrefixes("N?C.*"), is(nullValue()));
+    assertThat(DisambiguationAnchors.getPrefixes(".*LOC_ADV.*"), is(nullValue()));
+    assertThat(DisambiguationAnchors.getPrefixes("(?:adj|pact)?:.*"), is(nullValue()));
+    assertThat(DisambiguationAnchors.getPrefixes("(?i)nc.*"), is(nullValue()));
+    assertThat(DisambiguationAnchors.getPrefixes("(?=N)N.*"), is(nullValue()));
+    assertThat(DisambiguationAnchors.getPrefixes("NC.*|.*"), is(nullValue()));
+  }
+
+  @Test
+  public void testIsContainedIn() {
+    AnalyzedSentence sentence = new AnalyzedSentence(new AnalyzedTokenReadings[] {
+      new AnalyzedTokenReadings(new AnalyzedToken("", "SENT_START", null), 0),
+      new AnalyzedTokenReadings(Arrays.asList(new AnalyzedToken("Houses", "NNS", "house"), new AnalyzedToken("Houses", "VBZ", "house")), 0),
+      new AnalyzedTokenReadings(new AnalyzedToken("are", "VBP", "be"), 7),
+      new AnalyzedTokenReadings(new AnalyzedToken("red", null, null), 11)
+    });
+    DisambiguationAnchors sentenceAnchors = DisambiguationAnchors.of(sentence);
+    assertTrue(canMatch(sentenceAnchors, token("houses", false, false)));
+    assertTrue(canMatch(sentenceAnchors, token("house", false, true)));
+    assertTrue(canMatch(sentenceAnchors, token("red", false, true)));  // no lemma, so the token is used
+    assertTrue(canMatch(sentenceAnchors, token("car|be|tree", true, true)));
+    assertTrue(canMatch(sentenceAnchors, posToken("VB.*", true)));
+    assertTrue(canMatch(sentenceAnchors, posToken("SENT_START", false)));
+    assertTrue(canMatch(sentenceAnchors, token("houses", false, false), token("are", false, false)));
+    assertTrue(canMatch(sentenceAnchors, token("cars?", true, false)));  // no anchor
+    assertTrue(canMatch(sentenceAnchors, posToken("UNKNOWN", false)));  // no anchor
+    assertTrue(canMatch(sentenceAnchors, posToken("U.*", true)));  // no anchor, as it matches UNKNOWN
+
+    assertFalse(canMatch(sentenceAnchors, token("house", false, false)));
+    assertFalse(canMatch(sentenceAnchors, token("houses", false, true)));
+    assertFalse(canMatch(sentenceAnchors, token("car|tree", true, false)));
+    assertFalse(canMatch(sentenceAnchors, posToken("JJ", false)));
+    assertFalse(canMatch(sentenceAnchors, posToken("JJ.*|RB", true)));
+    assertFalse(canMatch(sentenceAnchors, token("houses", false, false), token("car", false, false)));
+
+    PatternToken optional = token("car", false, false);
+    optional.setMinOccurrence(0);
+    assertTrue(canMatch(sentenceAnchors, optional));
+    PatternToken negated = token("car", false, false);
+    negated.setNegation(true);
+    assertTrue(canMatch(sentenceAnchors, negated));
+  }
+
+  @Test
+  public void testEmpty() {
+    assertTrue(DisambiguationAnchors.of(Collections.emptyList()).isEmpty());
+    assertTrue(DisambiguationAnchors.of(Collections.singletonList(token("\\d+", true, false))).isEmpty());
+    assertFalse(DisambiguationAnchors.of(Collections.singletonList(token("foo", false, false))).isEmpty());
+  }
+
+  private boolean canMatch(DisambiguationAnchors sentenceAnchors, PatternToken... patternTokens) {
+    return DisambiguationAnchors.of(Arrays.asList(patternTokens)).isContainedIn(sentenceAnchors);
+  }
+
+  private PatternToken token(String token, boolean regex, boolean inflected) {
+    return new PatternToken(token, false, regex, inflected);
+  }
+
+  private PatternToken posToken(String posTag, boolean regex) {
+    PatternToken patternToken = new PatternToken(null, false, false, false);
+    patternToken.setPosToken(new PatternToken.PosToken(posTag, regex, false));
+    return patternToken;
+  }
+
+}
@@ -29,6 +29,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -68,6 +69,10 @@ public class DisambiguationRuleTest {
         for (DisambiguationPatternRule rule : rules) {
           PatternTestTools.warnIfRegexpSyntaxNotKosher(rule.getPatternTokens(),
               rule.getId(), rule.getSubId(), lang);
+          if (rule.getMatchElement() != null) {
+            PatternTestTools.failIfMatchRegexpInvalid(Collections.singletonList(rule.getMatchElement()),
+                rule.getId(), rule.getSubId(), lang);
+          }
         }
         testDisambiguationRulesFromXML(rules, languageTool, lang);
         long endTime = System.currentTimeMillis();
@@ -0,0 +1,128 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.dev.bigdata;
+
+import org.apache.lucene.index.*;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.RegexpQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+import org.languagetool.languagemodel.LuceneLanguageModel;
+import org.languagetool.languagemodel.LuceneSingleIndexLanguageModel;
+import org.languagetool.languagemodel.MappedLanguageModel;
+import org.languagetool.languagemodel.MappedNgramCountsWriter;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Converts the Lucene ngram indexes ({@code 1grams}, {@code 2grams}, ...) used by
+ * {@link LuceneSingleIndexLanguageModel} to the files used by {@link MappedLanguageModel}.
+ * Counts of ngrams that occur in more than one document are summed up, just like
+ * {@link LuceneSingleIndexLanguageModel} does at lookup time.
+ * @since 3.4
+ */
+public final class LuceneNgramIndexConverter {
+
+  private LuceneNgramIndexConverter() {
+  }
+
+  /**
+   * @param topIndexDir a directory with sub directories {@code 1grams}, {@code 2grams} etc.
+   * @param outputDir the directory to write {@code 1grams.bin}, {@code 2grams.bin} etc. to - may be
+   *                  the same as {@code topIndexDir}, {@link LuceneLanguageModel} will then use the new files
+   */
+  public static void convert(File topIndexDir, File outputDir) throws IOException {
+    LuceneSingleIndexLanguageModel.validateDirectory(topIndexDir);
+    if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+      throw new IOException("Could not create directory " + outputDir);
+    }
+    for (int ngramSize = 1; new File(topIndexDir, ngramSize + "grams").isDirectory(); ngramSize++) {
+      File indexDir = new File(topIndexDir, ngramSize + "grams");
+      File outputFile = new File(outputDir, ngramSize + MappedLanguageModel.FILE_SUFFIX);
+      System.out.println("Converting " + indexDir + " to " + outputFile);
+      long count = convert(indexDir, outputFile, ngramSize);
+      System.out.println(count + " ngrams written to " + outputFile);
+    }
+  }
+
+  private static long convert(File indexDir, File outputFile, int ngramSize) throws IOException {
+    try (FSDirectory directory = FSDirectory.open(indexDir.toPath());
+         IndexReader reader = DirectoryReader.open(directory)) {
+      Terms terms = MultiFields.getTerms(reader, "ngram");
+      long entryCount = 0;
+      if (terms != null) {
+        TermsEnum termsEnum = terms.iterator();
+        while (termsEnum.next() != null) {
+          entryCount++;
+        }
+      }
+      long totalTokenCount = ngramSize == 1 ? getTotalTokenCount(reader) : 0;
+      File tempFile = new File(outputFile.getPath() + ".tmp");
+      try (MappedNgramCountsWriter writer = new MappedNgramCountsWriter(tempFile, ngramSize, entryCount, totalTokenCount)) {
+        if (terms != null) {
+          Bits liveDocs = MultiFields.getLiveDocs(reader);
+          TermsEnum termsEnum = terms.iterator();
+          PostingsEnum postings = null;
+          BytesRef term;
+          while ((term = termsEnum.next()) != null) {
+            postings = termsEnum.postings(liveDocs, postings, PostingsEnum.NONE);
+            long count = 0;
+            int doc;
+            while ((doc = postings.nextDoc()) != DocIdSetIterator.NO_MORE_DOCS) {
+              count += Long.parseLong(reader.document(doc).get("count"));
+            }
+            writer.add(term.bytes, term.offset, term.length, count);
+          }
+        }
+      }
+      if (outputFile.exists() && !outputFile.delete() || !tempFile.renameTo(outputFile)) {
+        throw new IOException("Could not rename " + tempFile + " to " + outputFile);
+      }
+      return entryCount;
+    }
+  }
+
+  private static long getTotalTokenCount(IndexReader reader) throws IOException {
+    IndexSearcher searcher = new IndexSearcher(reader);
+    TopDocs docs = searcher.search(new RegexpQuery(new Term("totalTokenCount", ".*")), 1000);
+    if (docs.totalHits == 0) {
+      throw new RuntimeException("Expected 'totalTokenCount' meta documents not found in 1grams index");
+    }
+    long result = 0;
+    for (ScoreDoc scoreDoc : docs.scoreDocs) {
+      result += Long.parseLong(reader.document(scoreDoc.doc).get("totalTokenCount"));
+    }
+    return result;
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.out.println("Usage: " + LuceneNgramIndexConverter.class.getSimpleName() + " <topIndexDir> <outputDir>");
+      System.out.println("  <topIndexDir> is a directory with the sub directories '1grams', '2grams' etc.");
+      System.exit(1);
+    }
+    convert(new File(args[0]), new File(args[1]));
+  }
+
+}
@@ -0,0 +1,88 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.dev.bigdata;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.languagetool.languagemodel.LuceneLanguageModel;
+import org.languagetool.languagemodel.MappedLanguageModel;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+public class LuceneNgramIndexConverterTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testConvert() throws IOException {
+    File indexDir = tempFolder.newFolder();
+    writeIndex(new File(indexDir, "1grams"), 58, "the", "55", "nice", "3", "the", "1");
+    writeIndex(new File(indexDir, "2grams"), -1, "the nice", "3");
+    writeIndex(new File(indexDir, "3grams"), -1, "the nice building", "1");
+    File outputDir = tempFolder.newFolder();
+    LuceneNgramIndexConverter.convert(indexDir, outputDir);
+    try (LuceneLanguageModel model = new LuceneLanguageModel(outputDir)) {
+      assertThat(model.toString(), startsWith("[[" + new File(outputDir, "1grams.bin")));
+      assertThat(model.getCount("the"), is(56L));  // counts of the same ngram in several documents are summed up
+      assertThat(model.getCount("nice"), is(3L));
+      assertThat(model.getCount(Arrays.asList("the", "nice")), is(3L));
+      assertThat(model.getCount(Arrays.asList("the", "nice", "building")), is(1L));
+      assertThat(model.getCount(Arrays.asList("the", "nice", "buildings")), is(0L));
+      assertThat(model.getCount("not-in-here"), is(0L));
+      assertThat(model.getTotalTokenCount(), is(58L));
+    } finally {
+      MappedLanguageModel.clearCaches();
+    }
+  }
+
+  // writes the ngrams and counts from the ngramsAndCounts pairs in the format of AggregatedNgramToLucene:
+  private void writeIndex(File dir, long totalTokenCount, String... ngramsAndCounts) throws IOException {
+    try (FSDirectory directory = FSDirectory.open(dir.toPath());
+         IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+      for (int i = 0; i < ngramsAndCounts.length; i += 2) {
+        Document doc = new Document();
+        doc.add(new Field("ngram", ngramsAndCounts[i], StringField.TYPE_NOT_STORED));
+        doc.add(new StoredField("count", ngramsAndCounts[i + 1]));
+        writer.addDocument(doc);
+      }
+      if (totalTokenCount >= 0) {
+        Document doc = new Document();
+        doc.add(new StringField("totalTokenCount", String.valueOf(totalTokenCount), Field.Store.YES));
+        writer.addDocument(doc);
+      }
+    }
+  }
+
+}
@@ -21,24 +21,37 @@ package org.languagetool.tokenizers.de;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import de.danielnaber.jwordsplitter.GermanWordSplitter;
+import org.languagetool.Experimental;
 import org.languagetool.tokenizers.Tokenizer;
 
 /**
  * Split German nouns using the jWordSplitter library.
+ * The results are cached, as the same (often novel) compounds are split again and again
+ * by the tagger and the spell checker. The cache is shared by all instances.
  * 
  * @author Daniel Naber
  */
 public class GermanCompoundTokenizer implements Tokenizer {
 
+  private static final long DEFAULT_CACHE_SIZE = 50_000;
+
+  // static, as all instances with the same strict mode split words the same way:
+  private static volatile Cache<CacheKey,List<String>> cache = createCache(DEFAULT_CACHE_SIZE);
+
   private final GermanWordSplitter wordSplitter;
+  private final boolean strictMode;
   
   public GermanCompoundTokenizer() throws IOException {
     this(true);
   }
   
   public GermanCompoundTokenizer(boolean strictMode) throws IOException {
+    this.strictMode = strictMode;
     wordSplitter = new GermanWordSplitter(false);
     // add exceptions here so we don't need to update JWordSplitter for every exception we find:  
     wordSplitter.addException("Maskerade", Collections.singletonList("Maskerade"));
@@ -46,9 +59,63 @@ public class GermanCompoundTokenizer implements Tokenizer {
     wordSplitter.setMinimumWordLength(3);
   }
 
+  /**
+   * @return the parts of {@code word}, or just {@code word} if it cannot be split - the list must not be modified
+   */
   @Override
   public List<String> tokenize(String word) {
-    return wordSplitter.splitWord(word);
+    CacheKey key = new CacheKey(strictMode, word);
+    List<String> parts = cache.getIfPresent(key);
+    if (parts == null) {
+      parts = Collections.unmodifiableList(wordSplitter.splitWord(word));
+      cache.put(key, parts);
+    }
+    return parts;
+  }
+
+  /**
+   * Set the maximum number of words whose parts are cached, use {@code 0} to disable
+   * the cache. The default is 50,000. This also clears the cache.
+   * @since 3.4
+   */
+  @Experimental
+  public static void setCacheSize(long maxSize) {
+    cache = createCache(maxSize);
+  }
+
+  /**
+   * @since 3.4
+   */
+  @Experimental
+  public static long getCacheHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  /**
+   * @since 3.4
+   */
+  @Experimental
+  public static long getCacheMissCount() {
+    return cache.stats().missCount();
+  }
+
+  /**
+   * The ratio of cache hits to all requests, or {@code 1.0} if there hasn't been a request yet.
+   * @since 3.4
+   */
+  @Experimental
+  public static double getCacheHitRate() {
+    return cache.stats().hitRate();
+  }
+
+  private static Cache<CacheKey,List<String>> createCache(long maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxSize must be >= 0: " + maxSize);
+    }
+    return CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .recordStats()
+            .build();
   }
 
   public static void main(String[] args) throws IOException {
@@ -60,5 +127,29 @@ public class GermanCompoundTokenizer implements Tokenizer {
     System.out.println(tokenizer.tokenize(args[0]));
   }
 
+  private static class CacheKey {
+
+    private final boolean strictMode;
+    private final String word;
+
+    private CacheKey(boolean strictMode, String word) {
+      this.strictMode = strictMode;
+      this.word = Objects.requireNonNull(word);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      CacheKey other = (CacheKey) o;
+      return strictMode == other.strictMode && word.equals(other.word);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * word.hashCode() + (strictMode ? 1 : 0);
+    }
+  }
+
 }
 
@@ -0,0 +1,50 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tokenizers.de;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class GermanCompoundTokenizerTest {
+
+  @After
+  public void tearDown() {
+    GermanCompoundTokenizer.setCacheSize(50_000);
+  }
+
+  @Test
+  public void testTokenize() throws Exception {
+    GermanCompoundTokenizer.setCacheSize(50_000);
+    GermanCompoundTokenizer tokenizer = new GermanCompoundTokenizer();
+    assertThat(tokenizer.tokenize("Haustür").toString(), is("[Haus, tür]"));
+    assertThat(tokenizer.tokenize("Haus").toString(), is("[Haus]"));
+    assertThat(tokenizer.tokenize("Maskerade").toString(), is("[Maskerade]"));
+    assertThat(GermanCompoundTokenizer.getCacheMissCount(), is(3L));
+    assertThat(tokenizer.tokenize("Haustür").toString(), is("[Haus, tür]"));
+    assertThat(new GermanCompoundTokenizer().tokenize("Haustür").toString(), is("[Haus, tür]"));
+    assertThat(GermanCompoundTokenizer.getCacheHitCount(), is(2L));
+    // the non-strict tokenizer is cached separately:
+    new GermanCompoundTokenizer(false).tokenize("Haustür");
+    assertThat(GermanCompoundTokenizer.getCacheMissCount(), is(4L));
+  }
+
+}
@@ -53,6 +53,14 @@ public class EnglishChunker implements Chunker {
   private static volatile POSModel posModel;
   private static volatile ChunkerModel chunkerModel;
 
+  /**
+   * The OpenNLP tools are not thread-safe, but creating them for every sentence is expensive,
+   * so every thread gets its own instances:
+   */
+  private static final ThreadLocal<TokenizerME> tokenizers = ThreadLocal.withInitial(() -> new TokenizerME(tokenModel));
+  private static final ThreadLocal<POSTaggerME> posTaggers = ThreadLocal.withInitial(() -> new POSTaggerME(posModel));
+  private static final ThreadLocal<ChunkerME> chunkers = ThreadLocal.withInitial(() -> new ChunkerME(chunkerModel));
+
   private final EnglishChunkFilter chunkFilter;
 
   public EnglishChunker() {
@@ -80,7 +88,6 @@ public class EnglishChunker implements Chunker {
   }
 
   private List<ChunkTaggedToken> getChunkTagsForReadings(List<AnalyzedTokenReadings> tokenReadings) {
-    // these are not thread-safe, so create them here, not as members:
     String sentence = getSentence(tokenReadings);
     String[] tokens = tokenize(sentence);
     String[] posTags = posTag(tokens);
@@ -93,19 +100,16 @@ public class EnglishChunker implements Chunker {
 
   // non-private for test cases
   String[] tokenize(String sentence) {
-    TokenizerME tokenizer = new TokenizerME(tokenModel);
     String cleanString = sentence.replace('’', '\'');  // this is the type of apostrophe that OpenNLP expects
-    return tokenizer.tokenize(cleanString);
+    return tokenizers.get().tokenize(cleanString);
   }
 
   private String[] posTag(String[] tokens) {
-    POSTaggerME posTagger = new POSTaggerME(posModel);
-    return posTagger.tag(tokens);
+    return posTaggers.get().tag(tokens);
   }
 
   private String[] chunk(String[] tokens, String[] posTags) {
-    ChunkerME chunker = new ChunkerME(chunkerModel);
-    return chunker.chunk(tokens, posTags);
+    return chunkers.get().chunk(tokens, posTags);
   }
 
   private List<ChunkTaggedToken> getTokensWithTokenReadings(List<AnalyzedTokenReadings> tokenReadings, String[] tokens, String[] chunkTags) {
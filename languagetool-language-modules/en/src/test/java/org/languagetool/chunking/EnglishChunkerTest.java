@@ -29,6 +29,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -67,6 +70,29 @@ public class EnglishChunkerTest {
     assertThat(readingsList.get(9).getChunkTags().toString(), is("[B-NP-plural, E-NP-plural]"));
   }
 
+  @Test
+  public void testReuseInSeveralThreads() throws Exception {
+    EnglishChunker chunker = new EnglishChunker();
+    String expected = Arrays.toString(chunker.tokenize("The abacus shows how numbers can be stored"));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<String>> futures = new ArrayList<>();
+      for (int i = 0; i < 50; i++) {
+        futures.add(executor.submit(() -> {
+          List<AnalyzedTokenReadings> readingsList = createReadingsList("A short test of the bicycle is needed");
+          chunker.addChunkTags(readingsList);
+          assertThat(readingsList.get(4).getChunkTags().toString(), is("[E-NP-singular]"));
+          return Arrays.toString(chunker.tokenize("The abacus shows how numbers can be stored"));
+        }));
+      }
+      for (Future<String> future : futures) {
+        assertThat(future.get(), is(expected));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void testContractions() throws Exception {
     JLanguageTool langTool = new JLanguageTool(new English());
@@ -26,8 +26,10 @@ import org.languagetool.TestTools;
 import org.languagetool.language.AmericanEnglish;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.spelling.SuggestionsCache;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -54,6 +56,23 @@ public class MorfologikAmericanSpellerRuleTest extends AbstractEnglishSpellerRul
     super.testNonVariantSpecificSuggestions(rule, language);
   }
 
+  @Test
+  public void testSuggestionsCache() throws IOException {
+    long hitCount = SuggestionsCache.getHitCount();
+    RuleMatch[] matches1 = rule.match(langTool.getAnalyzedSentence("I recieved it."));
+    RuleMatch[] matches2 = rule.match(langTool.getAnalyzedSentence("We recieved it."));
+    assertThat(SuggestionsCache.getHitCount(), is(hitCount + 1));
+    assertThat(matches2.length, is(1));
+    assertThat(matches2[0].getFromPos(), is(3));
+    assertThat(matches2[0].getSuggestedReplacements(), is(matches1[0].getSuggestedReplacements()));
+    assertThat(matches2[0].getSuggestedReplacements().get(0), is("received"));
+    // a rule with its own ignore words doesn't share the cache:
+    MorfologikAmericanSpellerRule ruleWithIgnoreWords = new MorfologikAmericanSpellerRule(TestTools.getMessages("en"), language);
+    ruleWithIgnoreWords.addIgnoreTokens(Collections.singletonList("foo"));
+    assertThat(ruleWithIgnoreWords.match(langTool.getAnalyzedSentence("I recieved it.")).length, is(1));
+    assertThat(SuggestionsCache.getHitCount(), is(hitCount + 1));
+  }
+
   @Test
   public void testMorfologikSpeller() throws IOException {
 
@@ -22,10 +22,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import morfologik.stemming.Dictionary;
@@ -54,8 +57,14 @@ public class PolishSynthesizer implements Synthesizer {
   private static final String COMP_TAG = "com";
   private static final String SUP_TAG = "sup";
 
+  // the stemmer is not thread-safe, so every thread uses its own. Not a ThreadLocal per synthesizer, so
+  // the stemmers of a synthesizer that's no longer used don't stay reachable from long-lived threads:
+  private static final ThreadLocal<Map<PolishSynthesizer, IStemmer>> stemmers = ThreadLocal.withInitial(WeakHashMap::new);
+  // the number of different regular expressions is limited, as they come from the rules:
+  private final Map<String, List<String>> tagsByRegex = new ConcurrentHashMap<>();
+
   private volatile Dictionary dictionary;
-  private List<String> possibleTags;
+  private volatile List<String> possibleTags;
 
   private Dictionary getDictionary() throws IOException {
     Dictionary result = this.dictionary;
@@ -70,6 +79,53 @@ public class PolishSynthesizer implements Synthesizer {
     }
     return result;
   }
+
+  private IStemmer getStemmer() {
+    return stemmers.get().computeIfAbsent(this, k -> createStemmer());
+  }
+
+  private IStemmer createStemmer() {
+    try {
+      return new DictionaryLookup(getDictionary());
+    } catch (IOException e) {
+      throw new RuntimeException("Could not load dictionary", e);
+    }
+  }
+
+  private List<String> getPossibleTags() throws IOException {
+    List<String> tags = possibleTags;
+    if (tags == null) {
+      synchronized (this) {
+        tags = possibleTags;
+        if (tags == null) {
+          try (InputStream stream = JLanguageTool.getDataBroker().getFromResourceDirAsStream(TAGS_FILE_NAME)) {
+            possibleTags = tags = SynthesizerTools.loadWords(stream);
+          }
+        }
+      }
+    }
+    return tags;
+  }
+
+  /**
+   * The possible tags that match the regular expression, cached so the expression only
+   * needs to be compiled and matched against all tags once.
+   */
+  private List<String> getMatchingTags(String posTagRegExp) throws IOException {
+    List<String> tags = tagsByRegex.get(posTagRegExp);
+    if (tags == null) {
+      Pattern p = Pattern.compile(posTagRegExp);
+      tags = new ArrayList<>();
+      for (String tag : getPossibleTags()) {
+        if (p.matcher(tag).matches()) {
+          tags.add(tag);
+        }
+      }
+      tags = Collections.unmodifiableList(tags);
+      tagsByRegex.put(posTagRegExp, tags);
+    }
+    return tags;
+  }
   
   @Override
   public final String[] synthesize(final AnalyzedToken token,
@@ -77,7 +133,7 @@ public class PolishSynthesizer implements Synthesizer {
     if (posTag == null) {
       return null;
     }
-    final IStemmer synthesizer = new DictionaryLookup(getDictionary());
+    final IStemmer synthesizer = getStemmer();
     boolean isNegated = false;
     if (token.getPOSTag() != null) {
       isNegated = posTag.indexOf(NEGATION_TAG) > 0
@@ -99,12 +155,7 @@ public class PolishSynthesizer implements Synthesizer {
     }
     String posTag = pos;
     if (posTagRegExp) {
-      if (possibleTags == null) {
-        try (InputStream stream = JLanguageTool.getDataBroker().getFromResourceDirAsStream(TAGS_FILE_NAME)) {
-          possibleTags = SynthesizerTools.loadWords(stream);
-        }
-      }
-      final IStemmer synthesizer = new DictionaryLookup(getDictionary());
+      final IStemmer synthesizer = getStemmer();
       final List<String> results = new ArrayList<>();
 
       boolean isNegated = false;
@@ -119,14 +170,10 @@ public class PolishSynthesizer implements Synthesizer {
         posTag = posTag.replaceAll(NEGATION_TAG, POTENTIAL_NEGATION_TAG + "?");
       }
 
-      final Pattern p = Pattern.compile(posTag.replace('+', '|'));
-      for (final String tag : possibleTags) {
-        final Matcher m = p.matcher(tag);
-        if (m.matches()) {
-          final List<String> wordForms = getWordForms(token, tag, isNegated, synthesizer);
-          if (wordForms != null) {
-            results.addAll(wordForms);
-          }
+      for (final String tag : getMatchingTags(posTag.replace('+', '|'))) {
+        final List<String> wordForms = getWordForms(token, tag, isNegated, synthesizer);
+        if (wordForms != null) {
+          results.addAll(wordForms);
         }
       }
       //remove duplicates
@@ -20,6 +20,7 @@ package org.languagetool.synthesis.ro;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
 
 import org.languagetool.JLanguageTool;
@@ -55,15 +56,10 @@ public class RomanianSynthesizer extends BaseSynthesizer {
   }
 
   @Override
-  protected void initPossibleTags() throws IOException {
-    super.initPossibleTags();
+  protected Collection<String> getAdditionalPossibleTags() {
     initSynth();
     // add any possible tag from manual synthesiser
-    for (String tag : manualSynthesizer.getPossibleTags()) {
-      if (!possibleTags.contains(tag)) {
-        possibleTags.add(tag);
-      }
-    }
+    return manualSynthesizer.getPossibleTags();
   }
 
   private synchronized void initSynth() {
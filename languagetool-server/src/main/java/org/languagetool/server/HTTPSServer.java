@@ -81,6 +81,11 @@ public class HTTPSServer extends Server {
       httpHandler.setLanguageModel(config.getLanguageModelDir());
       httpHandler.setMaxWorkQueueSize(config.getMaxWorkQueueSize());
       httpHandler.setRulesConfigurationFile(config.getRulesConfigFile());
+      httpHandler.setCacheSize(config.getCacheSize());
+      if (config.getCollectStatistics()) {
+        httpHandler.setCollectStatistics("https-" + port);
+      }
+      configurePipelineCaching(config, runInternally);
       server.createContext("/", httpHandler);
       executorService = getExecutorService(workQueue, config);
       server.setExecutor(executorService);
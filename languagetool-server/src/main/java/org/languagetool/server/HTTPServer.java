@@ -107,6 +107,11 @@ public class HTTPServer extends Server {
       httpHandler.setLanguageModel(config.getLanguageModelDir());
       httpHandler.setMaxWorkQueueSize(config.getMaxWorkQueueSize());
       httpHandler.setRulesConfigurationFile(config.getRulesConfigFile());
+      httpHandler.setCacheSize(config.getCacheSize());
+      if (config.getCollectStatistics()) {
+        httpHandler.setCollectStatistics("http-" + port);
+      }
+      configurePipelineCaching(config, runInternally);
       server.createContext("/", httpHandler);
       executorService = getExecutorService(workQueue, config);
       server.setExecutor(executorService);
@@ -25,6 +25,9 @@ import org.languagetool.Languages;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -54,6 +57,13 @@ public class HTTPServerConfig {
   protected boolean trustXForwardForHeader;
   protected int maxWorkQueueSize;
   protected File rulesConfigFile = null;
+  protected boolean pipelineCaching = false;
+  protected int maxPipelinePoolSize = 0;
+  protected int maxPipelinePoolKeys = 50;
+  protected int pipelineExpireTimeInSeconds = 3600;
+  protected List<Language> preloadLanguages = Collections.emptyList();
+  protected int cacheSize = 0;
+  protected boolean collectStatistics = false;
 
   /**
    * Create a server configuration for the default port ({@link #DEFAULT_PORT}).
@@ -142,6 +152,31 @@ public class HTTPServerConfig {
             throw new RuntimeException("Rules Configuration file can not be found: " + rulesConfigFile);
           }
         }
+        pipelineCaching = Boolean.valueOf(getOptionalProperty(props, "pipelineCaching", "false"));
+        maxPipelinePoolSize = Integer.parseInt(getOptionalProperty(props, "maxPipelinePoolSize", "0"));
+        if (maxPipelinePoolSize < 0) {
+          throw new IllegalArgumentException("Invalid value for maxPipelinePoolSize: " + maxPipelinePoolSize);
+        }
+        maxPipelinePoolKeys = Integer.parseInt(getOptionalProperty(props, "maxPipelinePoolKeys", "50"));
+        if (maxPipelinePoolKeys < 1) {
+          throw new IllegalArgumentException("Invalid value for maxPipelinePoolKeys: " + maxPipelinePoolKeys);
+        }
+        pipelineExpireTimeInSeconds = Integer.parseInt(getOptionalProperty(props, "pipelineExpireTimeInSeconds", "3600"));
+        if (pipelineExpireTimeInSeconds < 0) {
+          throw new IllegalArgumentException("Invalid value for pipelineExpireTimeInSeconds: " + pipelineExpireTimeInSeconds);
+        }
+        cacheSize = Integer.parseInt(getOptionalProperty(props, "cacheSize", "0"));
+        if (cacheSize < 0) {
+          throw new IllegalArgumentException("Invalid value for cacheSize: " + cacheSize);
+        }
+        collectStatistics = Boolean.valueOf(getOptionalProperty(props, "collectStatistics", "false"));
+        String preloadLanguagesStr = getOptionalProperty(props, "preloadLanguages", null);
+        if (preloadLanguagesStr != null) {
+          preloadLanguages = new ArrayList<>();
+          for (String langCode : preloadLanguagesStr.split(",\\s*")) {
+            preloadLanguages.add(Languages.getLanguageForShortName(langCode));
+          }
+        }
       }
     } catch (IOException e) {
       throw new RuntimeException("Could not load properties from '" + file + "'", e);
@@ -266,6 +301,102 @@ public class HTTPServerConfig {
     return rulesConfigFile;
   }
 
+  /**
+   * @param pipelineCaching whether configured {@link org.languagetool.JLanguageTool} instances are
+   *                        kept in a pool and re-used for requests with the same language and rule settings
+   *                        (default: {@code false}). Pooled instances keep the state of their rules between
+   *                        requests, and the rules configuration is only applied when an instance is created.
+   * @since 3.4
+   */
+  void setPipelineCaching(boolean pipelineCaching) {
+    this.pipelineCaching = pipelineCaching;
+  }
+
+  /** @since 3.4 */
+  boolean getPipelineCaching() {
+    return pipelineCaching;
+  }
+
+  /**
+   * @param maxPipelinePoolSize the maximum number of unused instances kept per language and rule settings,
+   *                            or {@code 0} to use the value of {@link #getMaxCheckThreads()}
+   * @since 3.4
+   */
+  void setMaxPipelinePoolSize(int maxPipelinePoolSize) {
+    this.maxPipelinePoolSize = maxPipelinePoolSize;
+  }
+
+  /** @since 3.4 */
+  int getMaxPipelinePoolSize() {
+    return maxPipelinePoolSize > 0 ? maxPipelinePoolSize : maxCheckThreads;
+  }
+
+  /**
+   * @param maxPipelinePoolKeys the maximum number of language and rule settings for which unused
+   *                            instances are kept, the least recently used settings are removed first
+   * @since 3.4
+   */
+  void setMaxPipelinePoolKeys(int maxPipelinePoolKeys) {
+    this.maxPipelinePoolKeys = maxPipelinePoolKeys;
+  }
+
+  /** @since 3.4 */
+  int getMaxPipelinePoolKeys() {
+    return maxPipelinePoolKeys;
+  }
+
+  /**
+   * @param pipelineExpireTimeInSeconds time after which unused pooled instances get removed
+   * @since 3.4
+   */
+  void setPipelineExpireTimeInSeconds(int pipelineExpireTimeInSeconds) {
+    this.pipelineExpireTimeInSeconds = pipelineExpireTimeInSeconds;
+  }
+
+  /** @since 3.4 */
+  int getPipelineExpireTimeInSeconds() {
+    return pipelineExpireTimeInSeconds;
+  }
+
+  /**
+   * @param preloadLanguages languages for which pooled instances are created when the server starts
+   * @since 3.4
+   */
+  void setPreloadLanguages(List<Language> preloadLanguages) {
+    this.preloadLanguages = preloadLanguages;
+  }
+
+  /** @since 3.4 */
+  List<Language> getPreloadLanguages() {
+    return preloadLanguages;
+  }
+
+  /**
+   * @param cacheSize the number of sentences whose analysis is cached, or {@code 0} to use no cache
+   * @since 3.4
+   */
+  void setCacheSize(int cacheSize) {
+    this.cacheSize = cacheSize;
+  }
+
+  /** @since 3.4 */
+  int getCacheSize() {
+    return cacheSize;
+  }
+
+  /**
+   * @param collectStatistics whether the time spent in the analysis stages and in each rule is recorded
+   * @since 3.4
+   */
+  void setCollectStatistics(boolean collectStatistics) {
+    this.collectStatistics = collectStatistics;
+  }
+
+  /** @since 3.4 */
+  boolean getCollectStatistics() {
+    return collectStatistics;
+  }
+
   /**
    * @throws IllegalConfigurationException if property is not set 
    */
@@ -27,6 +27,8 @@ import java.util.concurrent.*;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.languagetool.AnalyzedSentenceCache;
+import org.languagetool.CheckStatistics;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 import org.languagetool.Languages;
@@ -42,6 +44,9 @@ import org.languagetool.tools.Tools;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+
 import static org.languagetool.tools.StringTools.escapeForXmlContent;
 
 class LanguageToolHttpHandler implements HttpHandler {
@@ -70,6 +75,10 @@ class LanguageToolHttpHandler implements HttpHandler {
   private boolean trustXForwardForHeader = false;
   private Set<String> ownIps;
   private File rulesConfigurationFile = null;
+  private PipelinePool pipelinePool = null;
+  private AnalyzedSentenceCache cache = null;
+  private CheckStatistics statistics = null;
+  private ObjectName statisticsMBeanName = null;
   
   /**
    * Create an instance. Call {@link #shutdown()} when done.
@@ -90,6 +99,13 @@ class LanguageToolHttpHandler implements HttpHandler {
   /** @since 2.6 */
   void shutdown() {
     executorService.shutdownNow();
+    if (statisticsMBeanName != null) {
+      try {
+        CheckStatistics.unregisterMBean(statisticsMBeanName);
+      } catch (JMException e) {
+        print("Could not unregister statistics from JMX: " + e, System.err);
+      }
+    }
   }
 
   void setMaxTextLength(int maxTextLength) {
@@ -157,6 +173,70 @@ class LanguageToolHttpHandler implements HttpHandler {
     this.rulesConfigurationFile = configFile;
   }
 
+  /**
+   * Cache the analysis of sentences, shared by all requests.
+   * @param cacheSize the maximum number of cached sentences, {@code 0} to use no cache
+   * @since 3.4
+   */
+  void setCacheSize(int cacheSize) {
+    this.cache = cacheSize > 0 ? new AnalyzedSentenceCache(cacheSize) : null;
+  }
+
+  /**
+   * Record how much time the checks spend in the analysis stages and in each rule, shared by
+   * all requests. The statistics are available at {@code /Statistics} and via JMX under the given name.
+   * Needs to be called before {@link #setPipelineCaching(int, int, long)}.
+   * @since 3.4
+   */
+  void setCollectStatistics(String name) {
+    this.statistics = new CheckStatistics();
+    try {
+      this.statisticsMBeanName = statistics.registerMBean(name);
+    } catch (JMException e) {
+      print("Could not register statistics with JMX, they are only available at /Statistics: " + e, System.err);
+    }
+  }
+
+  @Nullable
+  CheckStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * Keep configured {@link JLanguageTool} instances in a pool and re-use them for
+   * requests with the same language and rule settings.
+   * @param maxKeys the maximum number of language and rule settings for which unused instances are kept
+   * @param maxIdlePerKey the maximum number of unused instances kept per language and rule settings
+   * @param maxIdleTimeMillis time after which unused instances get removed from the pool
+   * @since 3.4
+   */
+  void setPipelineCaching(int maxKeys, int maxIdlePerKey, long maxIdleTimeMillis) {
+    this.pipelinePool = new PipelinePool(maxKeys, maxIdlePerKey, maxIdleTimeMillis, this::createLanguageToolInstance);
+  }
+
+  /**
+   * Create instances for the given languages (with default rule settings and no mother tongue)
+   * and put them into the pool, so the first requests don't need to wait for initialization.
+   * Does nothing if pipeline caching is not enabled.
+   * @since 3.4
+   */
+  void prewarmPipelines(List<Language> languages, int instancesPerLanguage) throws Exception {
+    if (pipelinePool == null) {
+      return;
+    }
+    for (Language lang : languages) {
+      long startTime = System.currentTimeMillis();
+      pipelinePool.prewarm(new PipelinePool.Key(lang, null, QueryParams.DEFAULT), instancesPerLanguage);
+      print("Prepared " + instancesPerLanguage + " instance(s) for " + lang.getShortNameWithCountryAndVariant() +
+            " in " + (System.currentTimeMillis() - startTime) + "ms");
+    }
+  }
+
+  @Nullable
+  PipelinePool getPipelinePool() {
+    return pipelinePool;
+  }
+
   @Override
   public void handle(HttpExchange httpExchange) throws IOException {
     synchronized (this) {
@@ -192,6 +272,9 @@ class LanguageToolHttpHandler implements HttpHandler {
         if (requestedUri.getRawPath().endsWith("/Languages")) {
           // request type: list known languages
           printListOfLanguages(httpExchange);
+        } else if (requestedUri.getRawPath().endsWith("/Statistics")) {
+          // request type: time spent in analysis stages and rules
+          printStatistics(httpExchange);
         } else {
           // request type: text checking
           if (afterTheDeadlineMode) {
@@ -367,6 +450,16 @@ class LanguageToolHttpHandler implements HttpHandler {
     httpExchange.getResponseBody().write(response.getBytes(ENCODING));
   }
 
+  private void printStatistics(HttpExchange httpExchange) throws IOException {
+    if (statistics == null) {
+      throw new IllegalArgumentException("Statistics are not enabled, use the 'collectStatistics' option to enable them");
+    }
+    setCommonHeaders(httpExchange);
+    String response = getStatisticsAsXML(statistics);
+    httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, response.getBytes(ENCODING).length);
+    httpExchange.getResponseBody().write(response.getBytes(ENCODING));
+  }
+
   private void setCommonHeaders(HttpExchange httpExchange) {
     httpExchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE_VALUE);
     setAllowOrigin(httpExchange);
@@ -549,8 +642,13 @@ class LanguageToolHttpHandler implements HttpHandler {
                                          Language motherTongue, QueryParams params) throws Exception {
     String sourceText = parameters.get("srctext");
     if (sourceText == null) {
-      JLanguageTool lt = getLanguageToolInstance(lang, motherTongue, params);
-      return lt.check(text);
+      PipelinePool.Key key = new PipelinePool.Key(lang, motherTongue, params);
+      JLanguageTool lt = getLanguageToolInstance(key);
+      try {
+        return lt.check(text);
+      } finally {
+        returnLanguageToolInstance(key, lt);
+      }
     } else {
       if (parameters.get("motherTongue") == null) {
         throw new IllegalArgumentException("Missing 'motherTongue' parameter for bilingual checks");
@@ -558,11 +656,18 @@ class LanguageToolHttpHandler implements HttpHandler {
       print("Checking bilingual text, with source length " + sourceText.length() +
           " and target length " + text.length() + " (characters), source language " +
           motherTongue + " and target language " + lang.getShortNameWithCountryAndVariant());
-      JLanguageTool sourceLt = getLanguageToolInstance(motherTongue, null, params);
-      JLanguageTool targetLt = getLanguageToolInstance(lang, null, params);
-      List<BitextRule> bRules = Tools.selectBitextRules(Tools.getBitextRules(motherTongue, lang),
-          params.disabledRules, params.enabledRules, params.useEnabledOnly);
-      return Tools.checkBitext(sourceText, text, sourceLt, targetLt, bRules);
+      PipelinePool.Key sourceKey = new PipelinePool.Key(motherTongue, null, params);
+      PipelinePool.Key targetKey = new PipelinePool.Key(lang, null, params);
+      JLanguageTool sourceLt = getLanguageToolInstance(sourceKey);
+      JLanguageTool targetLt = getLanguageToolInstance(targetKey);
+      try {
+        List<BitextRule> bRules = Tools.selectBitextRules(Tools.getBitextRules(motherTongue, lang),
+            params.disabledRules, params.enabledRules, params.useEnabledOnly);
+        return Tools.checkBitext(sourceText, text, sourceLt, targetLt, bRules);
+      } finally {
+        returnLanguageToolInstance(sourceKey, sourceLt);
+        returnLanguageToolInstance(targetKey, targetLt);
+      }
     }
   }
 
@@ -610,14 +715,33 @@ class LanguageToolHttpHandler implements HttpHandler {
     outputStream.println(now + " " + s);
   }
 
+  /**
+   * Get a JLanguageTool instance for a specific language, mother tongue, and rule configuration,
+   * either from the pool or newly created. Call {@link #returnLanguageToolInstance(PipelinePool.Key, JLanguageTool)}
+   * when done.
+   */
+  private JLanguageTool getLanguageToolInstance(PipelinePool.Key key) throws Exception {
+    if (pipelinePool != null) {
+      return pipelinePool.borrowPipeline(key);
+    }
+    return createLanguageToolInstance(key);
+  }
+
+  private void returnLanguageToolInstance(PipelinePool.Key key, JLanguageTool lt) {
+    if (pipelinePool != null) {
+      pipelinePool.returnPipeline(key, lt);
+    }
+  }
+
   /**
    * Create a JLanguageTool instance for a specific language, mother tongue, and rule configuration.
-   *
-   * @param lang the language to be used
-   * @param motherTongue the user's mother tongue or {@code null}
    */
-  private JLanguageTool getLanguageToolInstance(Language lang, Language motherTongue, QueryParams params) throws Exception {
-    JLanguageTool lt = new JLanguageTool(lang, motherTongue);
+  private JLanguageTool createLanguageToolInstance(PipelinePool.Key key) throws Exception {
+    Language lang = key.getLanguage();
+    QueryParams params = key.getQueryParams();
+    JLanguageTool lt = new JLanguageTool(lang, key.getMotherTongue());
+    lt.setCache(cache);
+    lt.setCheckStatistics(statistics);
     if (languageModelDir != null) {
       lt.activateLanguageModelRules(languageModelDir);
     }
@@ -671,7 +795,35 @@ class LanguageToolHttpHandler implements HttpHandler {
     return xmlBuffer.toString();
   }
 
-  private static class QueryParams {
+  /**
+   * Construct an XML string with the time spent in the analysis stages and in the rules, the slowest rules first:<br/><br/>
+   * &lt;statistics&gt;<br/>
+   *    &nbsp;&nbsp;&lt;stage name="TAGGING" millis="120" invocations="310"/&gt;<br/>
+   *    &nbsp;&nbsp;&lt;rule id="UPPERCASE_SENTENCE_START" millis="20" invocations="310" skips="0" matches="4"/&gt;<br/>
+   *  &lt;/statistics&gt;<br/>
+   * @since 3.4
+   */
+  static String getStatisticsAsXML(CheckStatistics statistics) {
+    StringBuilder xmlBuffer = new StringBuilder("<?xml version='1.0' encoding='" + ENCODING + "'?>\n<statistics>\n");
+    for (CheckStatistics.Stage stage : CheckStatistics.Stage.values()) {
+      xmlBuffer.append(String.format("\t<stage name=\"%s\" millis=\"%d\" invocations=\"%d\"/>\n", stage,
+              TimeUnit.NANOSECONDS.toMillis(statistics.getStageNanos(stage)), statistics.getStageInvocations(stage)));
+    }
+    for (CheckStatistics.RuleStatistics rule : statistics.getRuleStatistics()) {
+      xmlBuffer.append(String.format("\t<rule id=\"%s\" millis=\"%d\" invocations=\"%d\" skips=\"%d\" matches=\"%d\"/>\n",
+              StringTools.escapeXML(rule.getRuleId()), TimeUnit.NANOSECONDS.toMillis(rule.getNanos()),
+              rule.getInvocations(), rule.getSkips(), rule.getMatches()));
+    }
+    xmlBuffer.append("</statistics>\n");
+    return xmlBuffer.toString();
+  }
+
+  static class QueryParams {
+
+    /** Parameters of a request that doesn't specify any rule settings. */
+    static final QueryParams DEFAULT = new QueryParams(Collections.emptyList(), Collections.emptyList(),
+            Collections.emptyList(), Collections.emptyList(), false, false);
+
     final List<String> enabledRules;
     final List<String> disabledRules;
     final List<CategoryId> enabledCategories;
@@ -688,6 +840,26 @@ class LanguageToolHttpHandler implements HttpHandler {
       this.useEnabledOnly = useEnabledOnly;
       this.useQuerySettings = useQuerySettings;
     }
+
+    // the order of rules and categories doesn't matter for the result, so compare them as sets:
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      QueryParams other = (QueryParams) o;
+      return useEnabledOnly == other.useEnabledOnly
+              && useQuerySettings == other.useQuerySettings
+              && new HashSet<>(enabledRules).equals(new HashSet<>(other.enabledRules))
+              && new HashSet<>(disabledRules).equals(new HashSet<>(other.disabledRules))
+              && new HashSet<>(enabledCategories).equals(new HashSet<>(other.enabledCategories))
+              && new HashSet<>(disabledCategories).equals(new HashSet<>(other.disabledCategories));
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(new HashSet<>(enabledRules), new HashSet<>(disabledRules), new HashSet<>(enabledCategories),
+              new HashSet<>(disabledCategories), useEnabledOnly, useQuerySettings);
+    }
   }
 
 }
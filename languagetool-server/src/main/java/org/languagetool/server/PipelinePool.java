@@ -0,0 +1,255 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of configured {@link JLanguageTool} instances, so that not every request
+ * needs to create and configure its own instance. Instances are keyed by language,
+ * mother tongue and rule selection. A borrowed instance is used by one thread only
+ * and must be given back with {@link #returnPipeline(Key, JLanguageTool)} when the
+ * check is done. As the rule selection is controlled by the clients, the number of keys
+ * for which instances are kept is limited, the least recently used keys are removed first.
+ * @since 3.4
+ */
+class PipelinePool {
+
+  private final Cache<Key, Deque<PooledPipeline>> pool;
+  private final AtomicLong createdCount = new AtomicLong();
+  private final AtomicLong borrowedCount = new AtomicLong();
+  private final int maxIdlePerKey;
+  private final long maxIdleTimeMillis;
+  private final PipelineFactory factory;
+
+  private volatile long lastEviction = System.currentTimeMillis();
+
+  /**
+   * @param maxKeys the maximum number of keys for which unused instances are kept, so at most
+   *                {@code maxKeys * maxIdlePerKey} unused instances are kept overall
+   * @param maxIdlePerKey the maximum number of unused instances kept per key, additional instances
+   *                      are discarded after use
+   * @param maxIdleTimeMillis unused instances are removed from the pool after this time
+   * @param factory used to create and configure new instances
+   */
+  PipelinePool(int maxKeys, int maxIdlePerKey, long maxIdleTimeMillis, PipelineFactory factory) {
+    if (maxKeys < 1) {
+      throw new IllegalArgumentException("maxKeys must be >= 1: " + maxKeys);
+    }
+    if (maxIdlePerKey < 1) {
+      throw new IllegalArgumentException("maxIdlePerKey must be >= 1: " + maxIdlePerKey);
+    }
+    if (maxIdleTimeMillis < 0) {
+      throw new IllegalArgumentException("maxIdleTimeMillis must be >= 0: " + maxIdleTimeMillis);
+    }
+    this.maxIdlePerKey = maxIdlePerKey;
+    this.maxIdleTimeMillis = maxIdleTimeMillis;
+    this.factory = Objects.requireNonNull(factory);
+    this.pool = CacheBuilder.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterAccess(maxIdleTimeMillis, TimeUnit.MILLISECONDS)
+            .build();
+  }
+
+  /**
+   * Get an unused instance for the given key, creating a new one if there's none in the pool.
+   */
+  JLanguageTool borrowPipeline(Key key) throws Exception {
+    borrowedCount.incrementAndGet();
+    evictIdlePipelines(System.currentTimeMillis());
+    Deque<PooledPipeline> deque = pool.getIfPresent(key);
+    PooledPipeline pooled = deque != null ? deque.pollFirst() : null;
+    if (pooled != null) {
+      return pooled.lt;
+    }
+    return createPipeline(key);
+  }
+
+  /**
+   * Give back an instance that was borrowed with {@link #borrowPipeline(Key)}.
+   * The instance must not be used by the caller afterwards.
+   */
+  void returnPipeline(Key key, JLanguageTool lt) {
+    long now = System.currentTimeMillis();
+    Deque<PooledPipeline> deque = getDeque(key);
+    if (deque.size() < maxIdlePerKey) {
+      // LIFO, so the instances that are not needed anymore end up at the end and expire:
+      deque.offerFirst(new PooledPipeline(lt, now));
+    }
+    evictIdlePipelines(now);
+  }
+
+  /**
+   * Create {@code count} instances for the given key and put them into the pool,
+   * so that the first requests don't need to wait for initialization.
+   */
+  void prewarm(Key key, int count) throws Exception {
+    Deque<PooledPipeline> deque = getDeque(key);
+    long now = System.currentTimeMillis();
+    for (int i = 0; i < Math.min(count, maxIdlePerKey); i++) {
+      JLanguageTool lt = createPipeline(key);
+      // check a short text so lazily initialized resources (dictionaries etc.) get loaded:
+      lt.check("This is a test.");
+      deque.offerLast(new PooledPipeline(lt, now));
+    }
+  }
+
+  /** Number of {@link JLanguageTool} instances created by this pool so far. */
+  long getCreatedCount() {
+    return createdCount.get();
+  }
+
+  /** Number of calls to {@link #borrowPipeline(Key)} so far. */
+  long getBorrowedCount() {
+    return borrowedCount.get();
+  }
+
+  /** Number of unused instances currently in the pool. */
+  int getIdleCount() {
+    int count = 0;
+    for (Deque<PooledPipeline> deque : pool.asMap().values()) {
+      count += deque.size();
+    }
+    return count;
+  }
+
+  /** Number of keys for which unused instances are currently kept. */
+  int getKeyCount() {
+    return pool.asMap().size();
+  }
+
+  private Deque<PooledPipeline> getDeque(Key key) {
+    return pool.asMap().computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+  }
+
+  private JLanguageTool createPipeline(Key key) throws Exception {
+    createdCount.incrementAndGet();
+    return factory.create(key);
+  }
+
+  private void evictIdlePipelines(long now) {
+    // no need to do this for every request:
+    if (now - lastEviction < Math.min(maxIdleTimeMillis, 1000)) {
+      return;
+    }
+    lastEviction = now;
+    for (Map.Entry<Key, Deque<PooledPipeline>> entry : pool.asMap().entrySet()) {
+      Deque<PooledPipeline> deque = entry.getValue();
+      Iterator<PooledPipeline> iterator = deque.descendingIterator();
+      while (iterator.hasNext()) {
+        PooledPipeline pooled = iterator.next();
+        if (now - pooled.lastUsed > maxIdleTimeMillis) {
+          iterator.remove();
+        } else {
+          break;
+        }
+      }
+      if (deque.isEmpty()) {
+        // an instance given back at the same time might get lost here, it will just not be re-used:
+        pool.asMap().remove(entry.getKey(), deque);
+      }
+    }
+    pool.cleanUp();
+  }
+
+  /**
+   * Creates and configures a {@link JLanguageTool} for the given key.
+   */
+  interface PipelineFactory {
+    JLanguageTool create(Key key) throws Exception;
+  }
+
+  /**
+   * The settings that a pooled instance was configured with. Two requests with
+   * equal keys can use the same instance (not at the same time).
+   */
+  static class Key {
+
+    private final Language lang;
+    private final Language motherTongue;
+    private final LanguageToolHttpHandler.QueryParams params;
+
+    Key(Language lang, @Nullable Language motherTongue, LanguageToolHttpHandler.QueryParams params) {
+      this.lang = Objects.requireNonNull(lang);
+      this.motherTongue = motherTongue;
+      this.params = Objects.requireNonNull(params);
+    }
+
+    Language getLanguage() {
+      return lang;
+    }
+
+    @Nullable
+    Language getMotherTongue() {
+      return motherTongue;
+    }
+
+    LanguageToolHttpHandler.QueryParams getQueryParams() {
+      return params;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Key other = (Key) o;
+      return lang.getShortNameWithCountryAndVariant().equals(other.lang.getShortNameWithCountryAndVariant())
+              && lang.getClass() == other.lang.getClass()
+              && Objects.equals(getCode(motherTongue), getCode(other.motherTongue))
+              && params.equals(other.params);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(lang.getShortNameWithCountryAndVariant(), getCode(motherTongue), params);
+    }
+
+    @Nullable
+    private static String getCode(@Nullable Language lang) {
+      return lang != null ? lang.getShortNameWithCountryAndVariant() : null;
+    }
+
+    @Override
+    public String toString() {
+      return lang.getShortNameWithCountryAndVariant() + "/" + getCode(motherTongue);
+    }
+  }
+
+  private static class PooledPipeline {
+    private final JLanguageTool lt;
+    private final long lastUsed;
+    private PooledPipeline(JLanguageTool lt, long lastUsed) {
+      this.lt = lt;
+      this.lastUsed = lastUsed;
+    }
+  }
+
+}
@@ -98,6 +98,18 @@ abstract class Server {
     return null;
   }
 
+  /**
+   * Set up the pool of {@link JLanguageTool} instances, if enabled in the configuration. Not
+   * used when running inside the GUI, as the GUI's rule configuration can change at any time.
+   */
+  protected void configurePipelineCaching(HTTPServerConfig config, boolean runInternally) throws Exception {
+    if (config.getPipelineCaching() && !runInternally) {
+      int poolSize = config.getMaxPipelinePoolSize();
+      httpHandler.setPipelineCaching(config.getMaxPipelinePoolKeys(), poolSize, TimeUnit.SECONDS.toMillis(config.getPipelineExpireTimeInSeconds()));
+      httpHandler.prewarmPipelines(config.getPreloadLanguages(), poolSize);
+    }
+  }
+
   protected static boolean usageRequested(String[] args) {
     return args.length == 1 && (args[0].equals("-h") || args[0].equals("--help"));
   }
@@ -114,6 +126,20 @@ abstract class Server {
     System.out.println("                  each with ngram occurrence counts; activates the confusion rule if supported (optional)");
     System.out.println("                 'maxWorkQueueSize' - reject request if request queue gets larger than this (optional)");
     System.out.println("                 'rulesFile' - a file containing rules configuration, such as .langugagetool.cfg (optional)");
+    System.out.println("                 'pipelineCaching' - set to 'true' to re-use LanguageTool instances for requests with the same");
+    System.out.println("                  language and rule settings instead of creating a new one for every request, defaults to 'false'.");
+    System.out.println("                  Changes to 'rulesFile' are then only used by new instances (optional)");
+    System.out.println("                 'maxPipelinePoolSize' - maximum number of unused LanguageTool instances kept per language and");
+    System.out.println("                  rule settings, defaults to 'maxCheckThreads' (optional)");
+    System.out.println("                 'maxPipelinePoolKeys' - maximum number of language and rule settings for which unused");
+    System.out.println("                  LanguageTool instances are kept, defaults to 50 (optional)");
+    System.out.println("                 'pipelineExpireTimeInSeconds' - time after which unused LanguageTool instances get removed (optional)");
+    System.out.println("                 'preloadLanguages' - comma-separated language codes like 'en-US,de-DE' for which LanguageTool");
+    System.out.println("                  instances are prepared when the server starts, only with 'pipelineCaching' (optional)");
+    System.out.println("                 'cacheSize' - number of sentences whose analysis is cached and shared by all requests,");
+    System.out.println("                  defaults to 0, i.e. no cache (optional)");
+    System.out.println("                 'collectStatistics' - set to 'true' to record the time spent in each rule, available");
+    System.out.println("                  at /Statistics and via JMX (optional)");
   }
   
   protected static void printCommonOptions() {
@@ -243,6 +243,23 @@ public class HTTPServerTest {
     }
   }
 
+  @Test
+  public void testStatistics() throws Exception {
+    HTTPServerConfig config = new HTTPServerConfig(HTTPTools.getDefaultPort());
+    config.setCollectStatistics(true);
+    HTTPServer server = new HTTPServer(config, false);
+    try {
+      server.run();
+      assertTrue(check(new English(), "This is an test.").contains("EN_A_VS_AN"));
+      URL url = new URL("http://localhost:" + HTTPTools.getDefaultPort() + "/Statistics");
+      String statisticsXML = StringTools.streamToString((InputStream) url.getContent(), "UTF-8");
+      assertTrue(statisticsXML, statisticsXML.contains("<stage name=\"TAGGING\""));
+      assertTrue(statisticsXML, statisticsXML.matches("(?s).*<rule id=\"EN_A_VS_AN\" millis=\"\\d+\" invocations=\"1\" skips=\"0\" matches=\"1\"/>.*"));
+    } finally {
+      server.stop();
+    }
+  }
+
   private String bitextCheck(Language lang, Language motherTongue, String sourceText, String text) throws IOException {
     String urlOptions = "/?language=" + lang.getShortName();
     urlOptions += "&srctext=" + URLEncoder.encode(sourceText, "UTF-8");
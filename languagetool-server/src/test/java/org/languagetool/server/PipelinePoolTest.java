@@ -0,0 +1,98 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.Languages;
+import org.languagetool.rules.CategoryId;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+public class PipelinePoolTest {
+
+  @Test
+  public void testBorrowAndReturn() throws Exception {
+    PipelinePool pool = new PipelinePool(10, 2, 60_000, key -> new JLanguageTool(key.getLanguage(), key.getMotherTongue()));
+    Language lang = Languages.getLanguageForShortName("en-US");
+    PipelinePool.Key key = new PipelinePool.Key(lang, null, LanguageToolHttpHandler.QueryParams.DEFAULT);
+    JLanguageTool lt1 = pool.borrowPipeline(key);
+    JLanguageTool lt2 = pool.borrowPipeline(key);
+    assertNotSame(lt1, lt2);
+    assertThat(pool.getCreatedCount(), is(2L));
+    pool.returnPipeline(key, lt1);
+    assertThat(pool.getIdleCount(), is(1));
+    assertSame(lt1, pool.borrowPipeline(key));
+    assertThat(pool.getCreatedCount(), is(2L));
+    pool.returnPipeline(key, lt1);
+    pool.returnPipeline(key, lt2);
+    pool.returnPipeline(key, new JLanguageTool(lang));  // more than the maximum, will be discarded
+    assertThat(pool.getIdleCount(), is(2));
+    assertThat(pool.getBorrowedCount(), is(3L));
+  }
+
+  @Test
+  public void testMaxKeys() throws Exception {
+    PipelinePool pool = new PipelinePool(2, 2, 60_000, key -> new JLanguageTool(key.getLanguage()));
+    PipelinePool.Key key1 = new PipelinePool.Key(Languages.getLanguageForShortName("en-US"), null, LanguageToolHttpHandler.QueryParams.DEFAULT);
+    PipelinePool.Key key2 = new PipelinePool.Key(Languages.getLanguageForShortName("en-GB"), null, LanguageToolHttpHandler.QueryParams.DEFAULT);
+    PipelinePool.Key key3 = new PipelinePool.Key(Languages.getLanguageForShortName("de-DE"), null, LanguageToolHttpHandler.QueryParams.DEFAULT);
+    JLanguageTool lt1 = pool.borrowPipeline(key1);
+    pool.returnPipeline(key1, lt1);
+    pool.returnPipeline(key2, pool.borrowPipeline(key2));
+    assertSame(lt1, pool.borrowPipeline(key1));  // key1 is now used more recently than key2
+    pool.returnPipeline(key1, lt1);
+    pool.returnPipeline(key3, pool.borrowPipeline(key3));
+    assertThat(pool.getKeyCount(), is(2));
+    assertThat(pool.getIdleCount(), is(2));
+    assertSame(lt1, pool.borrowPipeline(key1));
+    assertThat(pool.getCreatedCount(), is(3L));
+  }
+
+  @Test
+  public void testEviction() throws Exception {
+    PipelinePool pool = new PipelinePool(10, 2, 1, key -> new JLanguageTool(key.getLanguage()));
+    PipelinePool.Key key = new PipelinePool.Key(Languages.getLanguageForShortName("en-US"), null, LanguageToolHttpHandler.QueryParams.DEFAULT);
+    pool.returnPipeline(key, pool.borrowPipeline(key));
+    Thread.sleep(5);
+    pool.borrowPipeline(new PipelinePool.Key(Languages.getLanguageForShortName("en-GB"), null, LanguageToolHttpHandler.QueryParams.DEFAULT));
+    assertThat(pool.getIdleCount(), is(0));
+    assertThat(pool.getKeyCount(), is(0));
+  }
+
+  @Test
+  public void testKey() {
+    Language lang = Languages.getLanguageForShortName("en-US");
+    LanguageToolHttpHandler.QueryParams params1 = new LanguageToolHttpHandler.QueryParams(Arrays.asList("A", "B"),
+            Collections.emptyList(), Collections.emptyList(), Collections.singletonList(new CategoryId("C")), false, true);
+    LanguageToolHttpHandler.QueryParams params2 = new LanguageToolHttpHandler.QueryParams(Arrays.asList("B", "A"),
+            Collections.emptyList(), Collections.emptyList(), Collections.singletonList(new CategoryId("C")), false, true);
+    assertEquals(new PipelinePool.Key(lang, null, params1), new PipelinePool.Key(lang, null, params2));
+    assertEquals(new PipelinePool.Key(lang, null, params1).hashCode(), new PipelinePool.Key(lang, null, params2).hashCode());
+    assertNotEquals(new PipelinePool.Key(lang, null, params1), new PipelinePool.Key(lang, lang, params1));
+    assertNotEquals(new PipelinePool.Key(lang, null, params1), new PipelinePool.Key(lang, null, LanguageToolHttpHandler.QueryParams.DEFAULT));
+    assertNotEquals(new PipelinePool.Key(lang, null, params1), new PipelinePool.Key(Languages.getLanguageForShortName("en-GB"), null, params1));
+  }
+
+}
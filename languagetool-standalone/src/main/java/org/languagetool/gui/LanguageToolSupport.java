@@ -20,6 +20,7 @@ package org.languagetool.gui;
 
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.Nullable;
+import org.languagetool.DocumentSession;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 import org.languagetool.Languages;
@@ -77,6 +78,7 @@ class LanguageToolSupport {
   private final List<Span> documentSpans;
 
   private MultiThreadedJLanguageTool languageTool;
+  private DocumentSession documentSession;  // re-uses the results for unchanged sentences
   private ScheduledExecutorService checkExecutor;
   private MouseListener mouseListener;
   private ActionListener actionListener;
@@ -229,6 +231,7 @@ class LanguageToolSupport {
       //}
       languageTool = new MultiThreadedJLanguageTool(language, config.getMotherTongue());
       Tools.configureFromRules(languageTool, config);
+      documentSession = new DocumentSession(languageTool);
       if (config.getNgramDirectory() != null) {
         File ngramLangDir = new File(config.getNgramDirectory(), language.getShortName());
         if (ngramLangDir.exists()) {
@@ -734,7 +737,7 @@ class LanguageToolSupport {
     }
 
     long startTime = System.currentTimeMillis();
-    List<RuleMatch> matches = this.languageTool.check(this.textComponent.getText());
+    List<RuleMatch> matches = this.documentSession.check(this.textComponent.getText());
     long elapsedTime = System.currentTimeMillis() - startTime;
 
     int v = check.get();
@@ -29,7 +29,9 @@ import org.languagetool.rules.CategoryId;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
 
+import java.io.FilterReader;
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
@@ -104,6 +106,78 @@ public class JLanguageToolTest {
     assertThat(bundle3.getString("de"), is("German"));
   }
 
+  @Test
+  public void testCheckReader() throws IOException {
+    JLanguageTool lt = new JLanguageTool(english);
+    String text = "This is an test. This is a sentence with an error.\n\n" +
+            "Here's is another paragraph. It has a second line\nwith an mistake.\n\n\n" +
+            "A third paragraph is is here. And a fourth sentence with a error.";
+    List<String> expected = TestTools.getMatchesAsStrings(lt.check(text));
+    assertThat(expected.size(), is(4));
+    for (int maxChunkSize : new int[] {1, 20, 60, 1000}) {
+      List<RuleMatch> matches = new ArrayList<>();
+      lt.check(new StringReader(text), matches::add, maxChunkSize);
+      assertThat("maxChunkSize " + maxChunkSize, TestTools.getMatchesAsStrings(matches), is(expected));
+    }
+  }
+
+  @Test
+  public void testCheckReaderWithSmallReads() throws IOException {
+    JLanguageTool lt = new JLanguageTool(english);
+    String text = "This is an test. This is a sentence with an error.\r\n\r\n" +
+            "Here's is another paragraph. It has a second line\r\nwith an mistake.\r\n\r\n\r\n" +
+            "A third paragraph is is here. And a fourth sentence with a error.\r\n";
+    List<String> expected = TestTools.getMatchesAsStrings(lt.check(text));
+    assertThat(expected.size(), is(4));
+    for (int maxChunkSize : new int[] {1, 20, 60, 1000}) {
+      List<RuleMatch> matches = new ArrayList<>();
+      lt.check(new SmallReadsReader(text), matches::add, maxChunkSize);
+      assertThat("maxChunkSize " + maxChunkSize, TestTools.getMatchesAsStrings(matches), is(expected));
+    }
+  }
+
+  @Test
+  public void testCheckReaderWithoutSentenceBoundary() throws IOException {
+    JLanguageTool lt = new JLanguageTool(english);
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      sb.append("this is a long text without punctuation ");
+    }
+    sb.append("and and here");
+    CheckStatistics statistics = new CheckStatistics();
+    lt.setCheckStatistics(statistics);
+    List<RuleMatch> matches = new ArrayList<>();
+    lt.check(new SmallReadsReader(sb.toString()), matches::add, 1000);
+    // the text gets cut into chunks of at most 1000 characters:
+    assertTrue(statistics.getStageInvocations(CheckStatistics.Stage.WORD_TOKENIZATION) >= sb.length() / 1000);
+    List<String> repetitions = new ArrayList<>();
+    for (RuleMatch match : matches) {
+      if (match.getRule().getId().equals("ENGLISH_WORD_REPEAT_RULE")) {
+        repetitions.add(sb.substring(match.getFromPos(), match.getToPos()));
+      }
+    }
+    assertThat(repetitions.toString(), is("[and and]"));
+  }
+
+  @Test
+  public void testCheckReaderParagraphEnd() throws IOException {
+    JLanguageTool lt = new JLanguageTool(english);
+    lt.addRule(new ParagraphEndRule());
+    String text = "First sentence. Second sentence.\n\nThird sentence. Fourth sentence. Fifth sentence.";
+    List<RuleMatch> matches = new ArrayList<>();
+    lt.check(new SmallReadsReader(text), matches::add, 10);
+    List<Integer> paragraphEnds = new ArrayList<>();
+    for (RuleMatch match : matches) {
+      if (match.getRule().getId().equals("PARAGRAPH_END_TEST")) {
+        paragraphEnds.add(match.getFromPos());
+      }
+    }
+    // only the ends of real paragraphs, not the ends of the chunks:
+    assertThat(paragraphEnds.size(), is(2));
+    assertTrue(paragraphEnds.get(0) >= text.indexOf(".\n") && paragraphEnds.get(0) < text.indexOf("Third"));
+    assertThat(paragraphEnds.get(1), is(text.length() - 1));
+  }
+
   @Test
   public void testCountLines() {
     assertEquals(0, JLanguageTool.countLineBreaks(""));
@@ -196,4 +270,40 @@ public class JLanguageToolTest {
     assertThat(matches.size(), is(0));
   }
 
+  /** Returns at most a few characters per read. */
+  private static class SmallReadsReader extends FilterReader {
+    SmallReadsReader(String text) {
+      super(new StringReader(text));
+    }
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+      return super.read(cbuf, off, Math.min(len, 7));
+    }
+  }
+
+  /** Finds the last token of paragraphs. */
+  private static class ParagraphEndRule extends Rule {
+    @Override
+    public String getId() {
+      return "PARAGRAPH_END_TEST";
+    }
+    @Override
+    public String getDescription() {
+      return "test rule";
+    }
+    @Override
+    public RuleMatch[] match(AnalyzedSentence sentence) {
+      List<RuleMatch> matches = new ArrayList<>();
+      for (AnalyzedTokenReadings token : sentence.getTokens()) {
+        if (token.isParagraphEnd()) {
+          matches.add(new RuleMatch(this, token.getStartPos(), token.getEndPos(), "paragraph end"));
+        }
+      }
+      return toRuleMatchArray(matches);
+    }
+    @Override
+    public void reset() {
+    }
+  }
+
 }
@@ -0,0 +1,86 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling;
+
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.Languages;
+import org.languagetool.databroker.ResourceDataBroker;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.spelling.morfologik.MorfologikMultiSpeller;
+import org.languagetool.rules.spelling.morfologik.MorfologikSpellerRule;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Makes sure that the precompiled versions of the plain text spelling files, which
+ * {@link MorfologikMultiSpeller} uses instead of the plain text files, exist and are up-to-date.
+ */
+public class PrecompiledSpellingDictionaryTest {
+
+  @Test
+  public void testPrecompiledDictionariesAreUpToDate() throws IOException {
+    ResourceDataBroker dataBroker = JLanguageTool.getDataBroker();
+    for (Language language : Languages.get()) {
+      for (Rule rule : new JLanguageTool(language).getAllRules()) {
+        if (!(rule instanceof MorfologikSpellerRule)) {
+          continue;
+        }
+        String plainTextPath = ((SpellingCheckRule) rule).getSpellingFileName();
+        String precompiledPath = MorfologikMultiSpeller.getPrecompiledPath(plainTextPath);
+        if (!dataBroker.resourceExists(plainTextPath)) {
+          continue;
+        }
+        byte[] expected;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                dataBroker.getFromResourceDirAsStream(plainTextPath), StandardCharsets.UTF_8))) {
+          expected = MorfologikMultiSpeller.buildPlainTextFsa(reader);
+        } catch (IllegalArgumentException e) {
+          continue;  // no words, so there's nothing to precompile
+        }
+        assertTrue(precompiledPath + " is missing, it's created from " + plainTextPath +
+                " by SpellingDictionaryPrecompiler during the Maven build", dataBroker.resourceExists(precompiledPath));
+        try (InputStream stream = dataBroker.getFromResourceDirAsStream(precompiledPath)) {
+          assertArrayEquals(precompiledPath + " is outdated, re-create it from " + plainTextPath +
+                  " by running the Maven build", expected, toByteArray(stream));
+        }
+      }
+    }
+  }
+
+  private byte[] toByteArray(InputStream stream) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int length;
+    while ((length = stream.read(buffer)) != -1) {
+      out.write(buffer, 0, length);
+    }
+    return out.toByteArray();
+  }
+
+}
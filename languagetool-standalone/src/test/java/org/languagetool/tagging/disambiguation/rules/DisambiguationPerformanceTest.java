@@ -0,0 +1,107 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging.disambiguation.rules;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.Languages;
+import org.languagetool.tools.StringTools;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compare the time the {@link XmlRuleDisambiguator} takes with the time it takes to apply
+ * all disambiguation rules to every sentence, and make sure both give the same result.
+ * Only the disambiguation is measured, not the tokenization and tagging.
+ * Not a unit test, for interactive use only.
+ */
+final class DisambiguationPerformanceTest {
+
+  private static final int RUNS = 5;
+  private static final int SKIP = 1;
+
+  private void run(String languageCode, File textFile) throws Exception {
+    String text = StringTools.readStream(new FileInputStream(textFile), "utf-8");
+    Language language = Languages.getLanguageForShortName(languageCode);
+    JLanguageTool lt = new JLanguageTool(language);
+    List<String> sentences = lt.sentenceTokenize(text);
+    XmlRuleDisambiguator disambiguator = new XmlRuleDisambiguator(language);
+    String filename = language.getShortName() + "/disambiguation.xml";
+    List<DisambiguationPatternRule> rules = new DisambiguationRuleLoader().getRules(JLanguageTool.getDataBroker().getFromResourceDirAsStream(filename));
+    System.out.println(language + ": " + sentences.size() + " sentences, " + rules.size() + " disambiguation rules");
+    long allRulesTime = 0;
+    long disambiguatorTime = 0;
+    for (int i = 0; i < RUNS; i++) {
+      // disambiguation modifies the readings, so each run needs a new analysis:
+      List<AnalyzedSentence> input1 = analyze(lt, sentences);
+      List<AnalyzedSentence> input2 = analyze(lt, sentences);
+      List<String> result1 = new ArrayList<>();
+      List<String> result2 = new ArrayList<>();
+      long startTime = System.nanoTime();
+      for (AnalyzedSentence sentence : input1) {
+        for (DisambiguationPatternRule rule : rules) {
+          sentence = rule.replace(sentence);
+        }
+        result1.add(sentence.toString() + sentence.getAnnotations());
+      }
+      long time1 = (System.nanoTime() - startTime) / 1_000_000;
+      startTime = System.nanoTime();
+      for (AnalyzedSentence sentence : input2) {
+        AnalyzedSentence disambiguated = disambiguator.disambiguate(sentence);
+        result2.add(disambiguated.toString() + disambiguated.getAnnotations());
+      }
+      long time2 = (System.nanoTime() - startTime) / 1_000_000;
+      if (!result1.equals(result2)) {
+        throw new RuntimeException("Results differ for " + language);
+      }
+      if (i >= SKIP) {
+        allRulesTime += time1;
+        disambiguatorTime += time2;
+        System.out.println("All rules: " + time1 + "ms, XmlRuleDisambiguator: " + time2 + "ms");
+      } else {
+        System.out.println("All rules: " + time1 + "ms, XmlRuleDisambiguator: " + time2 + "ms - skipped because of warm-up");
+      }
+    }
+    int count = RUNS - SKIP;
+    System.out.println("Avg. time: all rules: " + allRulesTime / count + "ms, XmlRuleDisambiguator: " + disambiguatorTime / count + "ms");
+  }
+
+  private List<AnalyzedSentence> analyze(JLanguageTool lt, List<String> sentences) throws IOException {
+    List<AnalyzedSentence> result = new ArrayList<>();
+    for (String sentence : sentences) {
+      result.add(lt.getRawAnalyzedSentence(sentence));
+    }
+    return result;
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length != 2) {
+      System.out.println("Usage: " + DisambiguationPerformanceTest.class.getSimpleName() + " <languageCode> <text_file>");
+      System.exit(1);
+    }
+    DisambiguationPerformanceTest test = new DisambiguationPerformanceTest();
+    test.run(args[0], new File(args[1]));
+  }
+
+}
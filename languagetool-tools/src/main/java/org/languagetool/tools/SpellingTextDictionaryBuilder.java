@@ -0,0 +1,82 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tools;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import morfologik.stemming.Dictionary;
+import org.apache.commons.cli.CommandLine;
+import org.languagetool.rules.spelling.morfologik.MorfologikMultiSpeller;
+
+/**
+ * Create the binary version of a plain text spelling file like {@code spelling.txt}, so
+ * that {@link MorfologikMultiSpeller} doesn't need to build it at runtime. To be used,
+ * the result needs to be saved next to the plain text file, with the suffix {@code .dict}
+ * instead of {@code .txt}. The Maven build of the language modules does this for their
+ * {@code spelling.txt} files with {@link org.languagetool.rules.spelling.morfologik.SpellingDictionaryPrecompiler}.
+ * @since 3.4
+ */
+final class SpellingTextDictionaryBuilder extends DictionaryBuilder {
+
+  private final File infoFile;
+
+  SpellingTextDictionaryBuilder(File infoFile) throws IOException {
+    super(infoFile);
+    this.infoFile = infoFile;
+  }
+
+  public static void main(String[] args) throws Exception {
+    BuilderOptions builderOptions = new BuilderOptions();
+    builderOptions.addOption(BuilderOptions.INPUT_OPTION, true,
+        "plain text file with one word per line, e.g. spelling.txt", true);
+    builderOptions.addOption(BuilderOptions.INFO_OPTION, true,
+        "*.info properties file of the binary spelling dictionary the plain text file is used with, e.g. en_US.info", true);
+    CommandLine cmdLine = builderOptions.parseArguments(args, SpellingTextDictionaryBuilder.class);
+
+    String plainTextFile = cmdLine.getOptionValue(BuilderOptions.INPUT_OPTION);
+    String infoFile = cmdLine.getOptionValue(BuilderOptions.INFO_OPTION);
+
+    SpellingTextDictionaryBuilder builder = new SpellingTextDictionaryBuilder(new File(infoFile));
+    builder.setOutputFilename(cmdLine.getOptionValue(BuilderOptions.OUTPUT_OPTION));
+    builder.build(new File(plainTextFile));
+  }
+
+  File build(File plainTextFile) throws IOException {
+    byte[] fsa;
+    try (BufferedReader reader = Files.newBufferedReader(plainTextFile.toPath(), StandardCharsets.UTF_8)) {
+      fsa = MorfologikMultiSpeller.buildPlainTextFsa(reader);
+    }
+    // make sure the result can be read the same way MorfologikMultiSpeller will read it:
+    try (InputStream infoStream = new FileInputStream(infoFile)) {
+      Dictionary.read(new ByteArrayInputStream(fsa), infoStream);
+    }
+    File outputFile = new File(getOutputFilename());
+    Files.write(outputFile.toPath(), fsa);
+    System.out.println("Done. The binary dictionary has been written to " + outputFile.getAbsolutePath());
+    return outputFile;
+  }
+
+}
@@ -0,0 +1,71 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2016 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tools;
+
+import morfologik.speller.Speller;
+import morfologik.stemming.Dictionary;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SpellingTextDictionaryBuilderTest {
+
+  private static final String INFO =
+      "fsa.dict.separator=+\n" +
+      "fsa.dict.encoding=utf-8\n" +
+      "fsa.dict.speller.ignore-all-uppercase=false\n" +
+      "fsa.dict.encoder=SUFFIX";
+
+  @Test
+  public void testBuilder() throws Exception {
+    Path inputFile = Files.createTempFile("spelling", ".txt");
+    Path infoFile = Files.createTempFile("spelling", ".info");
+    Path outFile = Files.createTempFile("spelling", ".dict");
+    try {
+      Files.write(inputFile, Arrays.asList("# comment", "Zürich", "foo", "bar"));
+      Files.write(infoFile, Arrays.asList(INFO));
+
+      SpellingTextDictionaryBuilder.main(new String[] {
+          "-i", inputFile.toAbsolutePath().toString(),
+          "-info", infoFile.toAbsolutePath().toString(),
+          "-o", outFile.toAbsolutePath().toString()} );
+
+      try (InputStream fsaStream = Files.newInputStream(outFile);
+           InputStream infoStream = Files.newInputStream(infoFile)) {
+        Speller speller = new Speller(Dictionary.read(fsaStream, infoStream));
+        assertFalse(speller.isMisspelled("foo"));
+        assertFalse(speller.isMisspelled("bar"));
+        assertFalse(speller.isMisspelled("Zürich"));
+        assertTrue(speller.isMisspelled("fooo"));
+        assertTrue(speller.isMisspelled("comment"));
+      }
+    } finally {
+      inputFile.toFile().deleteOnExit();
+      infoFile.toFile().deleteOnExit();
+      outFile.toFile().deleteOnExit();
+    }
+  }
+
+}